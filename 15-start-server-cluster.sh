@@ -0,0 +1,37 @@
+#!/bin/bash
+# Start a local PrefHub cluster: NODES servers on ports 8090, 8092, ... (WebSocket on port + 1)
+# Games are sharded by gameId; any node accepts any request and forwards it to the owner.
+
+# Source common functions
+source "$(dirname "$0")/00-start-server-common.sh"
+
+NODES=${NODES:-3}
+TOKEN_SECRET=${TOKEN_SECRET:-local-cluster-secret-change-me-0123456789}
+
+# Build and setup
+build_project
+setup_classpath
+
+MEMBERS=""
+for ((i = 0; i < NODES; i++)); do
+    MEMBERS="$MEMBERS${MEMBERS:+,}node$i=localhost:$((8090 + 2 * i))"
+done
+
+PIDS=()
+for ((i = 0; i < NODES; i++)); do
+    DATA_DIR="./game-data-cluster/node$i"
+    mkdir -p "$DATA_DIR/rules"
+    cp -f prefhub-server/src/main/resources/rules/*.json "$DATA_DIR/rules/"
+    echo "Starting node$i on port $((8090 + 2 * i))..."
+    java -Djava.net.preferIPv4Stack=true \
+        -Dprefhub.cluster.self="node$i" \
+        -Dprefhub.cluster.nodes="$MEMBERS" \
+        -Dprefhub.token.secret="$TOKEN_SECRET" \
+        -cp "$CLASSPATH" \
+        com.prefhub.server.ServerMain \
+        $((8090 + 2 * i)) "$DATA_DIR" &
+    PIDS+=($!)
+done
+
+trap 'kill "${PIDS[@]}" 2>/dev/null' INT TERM EXIT
+wait
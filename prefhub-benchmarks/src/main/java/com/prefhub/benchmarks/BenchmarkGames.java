@@ -0,0 +1,62 @@
+package com.prefhub.benchmarks;
+
+import com.prefhub.core.model.GamePhase;
+import com.prefhub.core.model.GameState;
+import com.prefhub.core.model.Whist;
+import com.prefhub.server.bot.SimpleBotPolicy;
+import com.prefhub.server.game.GameService;
+import com.prefhub.server.game.RulesLoader;
+import com.prefhub.server.repository.impl.InMemoryGameRepository;
+import com.prefhub.server.repository.impl.ResourceRulesRepository;
+
+/**
+ * Подготовка партий для бенчмарков: игра ботами доводится до розыгрыша с картами на столе
+ */
+final class BenchmarkGames {
+    static final String[] PLAYERS = {"bench-1", "bench-2", "bench-3"};
+
+    private BenchmarkGames() {
+    }
+
+    static GameService newGameService() {
+        return new GameService(new InMemoryGameRepository(), new RulesLoader(new ResourceRulesRepository("/rules")));
+    }
+
+    /**
+     * Создать партию и сыграть её до {@code cardsPlayed}-й карты розыгрыша
+     */
+    static GameState playingGame(final GameService gameService, final String gameId, final int cardsPlayed) {
+        gameService.createGame(gameId);
+        for (final var player : PLAYERS) {
+            gameService.joinGame(gameId, player);
+        }
+        final var policy = new SimpleBotPolicy();
+        final var gameState = gameService.getGame(gameId);
+        int played = 0;
+        while (gameState.getPhase() != GamePhase.PLAYING || played < cardsPlayed) {
+            switch (gameState.getPhase()) {
+                case BIDDING -> {
+                    final var bidder = gameState.getCurrentPlayer().getUsername();
+                    final var view = gameService.getPlayerView(gameId, bidder);
+                    gameService.placeBid(gameId, bidder, policy.chooseBid(view, gameService.getAvailableBids(gameId)));
+                }
+                case WIDOW_EXCHANGE -> {
+                    final var declarer = gameState.getDeclarer().getUsername();
+                    gameService.exchangeWidow(gameId, declarer,
+                            policy.chooseDiscard(gameService.getPlayerView(gameId, declarer)));
+                }
+                case WHISTING -> {
+                    // Оба защитника вистуют, чтобы раздача дошла до розыгрыша
+                    gameService.whist(gameId, gameState.getCurrentPlayer().getUsername(), Whist.WHIST);
+                }
+                case PLAYING -> {
+                    final var player = gameState.getActingPlayer().getUsername();
+                    gameService.playCard(gameId, player, policy.chooseCard(gameService.getPlayerView(gameId, player)));
+                    played++;
+                }
+                default -> throw new IllegalStateException("Unexpected phase: " + gameState.getPhase());
+            }
+        }
+        return gameState;
+    }
+}
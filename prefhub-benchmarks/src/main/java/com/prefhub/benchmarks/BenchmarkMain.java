@@ -0,0 +1,24 @@
+package com.prefhub.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Точка входа benchmarks.jar: обычные опции JMH плюс профилировщик аллокаций ({@code -prof gc}) по умолчанию.
+ * <p>
+ * Пример: {@code java -jar prefhub-benchmarks/target/benchmarks.jar GameServiceBenchmark -f 1}
+ */
+public class BenchmarkMain {
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        final var commandLine = new CommandLineOptions(args);
+        final var options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,29 @@
+package com.prefhub.benchmarks;
+
+import com.prefhub.core.model.Contract;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение заявок: все 27 × 27 пар за вызов
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContractBenchmark {
+    private final Contract[] contracts = Contract.values();
+
+    @Benchmark
+    public void isHigherThanAllPairs(final Blackhole blackhole) {
+        for (final var first : contracts) {
+            for (final var second : contracts) {
+                blackhole.consume(first.isHigherThan(second));
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.prefhub.benchmarks;
+
+import com.prefhub.core.model.Card;
+import com.prefhub.core.model.Deck;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Тасовка и раздача колоды
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    @Benchmark
+    public Deck shuffle() {
+        final var deck = new Deck();
+        deck.shuffle();
+        return deck;
+    }
+
+    @Benchmark
+    public List<Card> shuffleAndDeal() {
+        final var deck = new Deck();
+        deck.shuffle();
+        deck.dealCards(10);
+        deck.dealCards(10);
+        deck.dealCards(10);
+        return deck.dealCards(2);
+    }
+}
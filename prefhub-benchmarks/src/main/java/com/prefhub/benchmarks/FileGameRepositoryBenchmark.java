@@ -0,0 +1,61 @@
+package com.prefhub.benchmarks;
+
+import com.prefhub.core.model.GameState;
+import com.prefhub.server.repository.impl.FileGameRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Файловое хранилище партий: запись одной партии и загрузка всех при старте сервера
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileGameRepositoryBenchmark {
+    @Param({"100"})
+    private int games;
+
+    private Path directory;
+    private FileGameRepository repository;
+    private GameState gameState;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("prefhub-bench");
+        repository = new FileGameRepository(directory.toString());
+        final var gameService = BenchmarkGames.newGameService();
+        for (int i = 0; i < games; i++) {
+            repository.save(BenchmarkGames.playingGame(gameService, "bench-" + i, 4));
+        }
+        gameState = gameService.getGame("bench-0");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            for (final var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void save() {
+        repository.save(gameState);
+    }
+
+    @Benchmark
+    public List<GameState> findAll() {
+        return repository.findAll();
+    }
+}
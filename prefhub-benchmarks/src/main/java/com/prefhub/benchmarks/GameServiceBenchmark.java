@@ -0,0 +1,46 @@
+package com.prefhub.benchmarks;
+
+import com.prefhub.core.model.PlayerView;
+import com.prefhub.server.game.GameService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Построение {@link PlayerView} посреди розыгрыша — самый частый запрос клиентов
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameServiceBenchmark {
+    private static final String GAME_ID = "bench";
+
+    private GameService gameService;
+    private String currentPlayer;
+    private String waitingPlayer;
+
+    @Setup
+    public void setUp() {
+        gameService = BenchmarkGames.newGameService();
+        final var gameState = BenchmarkGames.playingGame(gameService, GAME_ID, 4);
+        currentPlayer = gameState.getCurrentPlayer().getUsername();
+        waitingPlayer = gameState.getPlayers().stream()
+                .map(p -> p.getUsername())
+                .filter(name -> !name.equals(currentPlayer))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public PlayerView viewOnTurn() {
+        return gameService.getPlayerView(GAME_ID, currentPlayer);
+    }
+
+    @Benchmark
+    public PlayerView viewWaiting() {
+        return gameService.getPlayerView(GAME_ID, waitingPlayer);
+    }
+}
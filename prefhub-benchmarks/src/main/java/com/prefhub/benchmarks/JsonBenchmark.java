@@ -0,0 +1,48 @@
+package com.prefhub.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prefhub.core.model.GameState;
+import com.prefhub.core.model.PlayerView;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация Jackson: состояние игры пишется в хранилище, вид игрока — клиентам
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GameState gameState;
+    private PlayerView playerView;
+    private byte[] gameStateJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        final var gameService = BenchmarkGames.newGameService();
+        gameState = BenchmarkGames.playingGame(gameService, "bench", 4);
+        playerView = gameService.getPlayerView("bench", gameState.getCurrentPlayer().getUsername());
+        gameStateJson = objectMapper.writeValueAsBytes(gameState);
+    }
+
+    @Benchmark
+    public byte[] writeGameState() throws IOException {
+        return objectMapper.writeValueAsBytes(gameState);
+    }
+
+    @Benchmark
+    public GameState readGameState() throws IOException {
+        return objectMapper.readValue(gameStateJson, GameState.class);
+    }
+
+    @Benchmark
+    public byte[] writePlayerView() throws IOException {
+        return objectMapper.writeValueAsBytes(playerView);
+    }
+}
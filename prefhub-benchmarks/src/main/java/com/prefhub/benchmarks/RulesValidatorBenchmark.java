@@ -0,0 +1,47 @@
+package com.prefhub.benchmarks;
+
+import com.prefhub.core.model.Contract;
+import com.prefhub.core.model.GameState;
+import com.prefhub.server.game.RulesValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Список доступных заявок: в начале торговли и после первой заявки
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RulesValidatorBenchmark {
+    private GameState opening;
+    private GameState afterBid;
+
+    @Setup
+    public void setUp() {
+        final var gameService = BenchmarkGames.newGameService();
+        for (final var gameId : List.of("opening", "after-bid")) {
+            gameService.createGame(gameId);
+            for (final var player : BenchmarkGames.PLAYERS) {
+                gameService.joinGame(gameId, player);
+            }
+        }
+        opening = gameService.getGame("opening");
+        afterBid = gameService.getGame("after-bid");
+        gameService.placeBid("after-bid", afterBid.getCurrentPlayer().getUsername(), Contract.SEVEN_CLUBS);
+    }
+
+    @Benchmark
+    public List<Contract> openingBids() {
+        return RulesValidator.getAvailableBids(opening);
+    }
+
+    @Benchmark
+    public List<Contract> bidsAfterSevenClubs() {
+        return RulesValidator.getAvailableBids(afterBid);
+    }
+}
@@ -0,0 +1,66 @@
+package com.prefhub.benchmarks;
+
+import com.prefhub.core.model.CompiledRules;
+import com.prefhub.core.model.Contract;
+import com.prefhub.core.model.GameRules;
+import com.prefhub.core.model.Whist;
+import com.prefhub.core.scoring.ScoreSheet;
+import com.prefhub.core.scoring.ScoreTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Подсчёт очков: запись одной игры в лист и расчёт пули по таблице правил
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+    private static final int OUTCOMES = 1024;
+
+    private final ScoreSheet sheet = new ScoreSheet();
+    private final int[] balances = new int[3];
+    private ScoreTable table;
+    private Contract[] contracts;
+    private int[] declarerTricks;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        final var rules = new GameRules();
+        rules.setPoolEnabled(true);
+        rules.setPoolSize(20);
+        table = CompiledRules.compile("benchmark", rules).getScoreTable();
+
+        final var random = new SplittableRandom(42);
+        final var all = Contract.values();
+        contracts = new Contract[OUTCOMES];
+        declarerTricks = new int[OUTCOMES];
+        for (int i = 0; i < OUTCOMES; i++) {
+            contracts[i] = all[random.nextInt(all.length - 1)]; // без паса
+            declarerTricks[i] = random.nextInt(11);
+        }
+    }
+
+    @Benchmark
+    public int scoreGame() {
+        final int i = next++ & (OUTCOMES - 1);
+        if (i == 0) {
+            sheet.clear();
+        }
+        final int defenders = 10 - declarerTricks[i];
+        table.scoreGame(sheet, i % 3, contracts[i], declarerTricks[i], defenders / 2, defenders - defenders / 2,
+                Whist.WHIST, Whist.WHIST);
+        return sheet.getBullet(0);
+    }
+
+    @Benchmark
+    public int[] settle() {
+        return table.settle(sheet, balances);
+    }
+}
@@ -0,0 +1,47 @@
+package com.prefhub.benchmarks;
+
+import com.prefhub.core.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Определение победителя взятки
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrickBenchmark {
+    private Trick followed;
+    private Trick trumped;
+
+    @Setup
+    public void setUp() {
+        final var west = new Player("west");
+        final var north = new Player("north");
+        final var east = new Player("east");
+
+        followed = new Trick();
+        followed.playCard(west, new Card(Suit.HEARTS, Rank.TEN));
+        followed.playCard(north, new Card(Suit.HEARTS, Rank.ACE));
+        followed.playCard(east, new Card(Suit.HEARTS, Rank.SEVEN));
+
+        trumped = new Trick();
+        trumped.playCard(west, new Card(Suit.HEARTS, Rank.TEN));
+        trumped.playCard(north, new Card(Suit.CLUBS, Rank.ACE));
+        trumped.playCard(east, new Card(Suit.SPADES, Rank.SEVEN));
+    }
+
+    @Benchmark
+    public Player followedSuit() {
+        return followed.getWinner(null);
+    }
+
+    @Benchmark
+    public Player trumped() {
+        return trumped.getWinner(Suit.SPADES);
+    }
+}
@@ -0,0 +1,58 @@
+package com.prefhub.benchmarks.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограммы задержек по операциям (REST-эндпоинт или тип сообщения WebSocket), в микросекундах
+ */
+public class LatencyRecorder {
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(final String operation, final long nanos) {
+        final long micros = Math.min(MAX_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        histograms.computeIfAbsent(operation, name -> new ConcurrentHistogram(MAX_MICROS, 3)).recordValue(micros);
+    }
+
+    public void error(final String operation) {
+        errors.computeIfAbsent(operation, name -> new LongAdder()).increment();
+    }
+
+    /**
+     * Таблица по операциям: число вызовов, ошибки, пропускная способность и перцентили
+     */
+    public String report(final long elapsedMillis) {
+        final var text = new StringBuilder(String.format("%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms"));
+        final var names = new TreeMap<String, Histogram>(histograms);
+        errors.keySet().forEach(name -> names.putIfAbsent(name, null));
+        names.forEach((name, histogram) -> {
+            final long failed = errors.containsKey(name) ? errors.get(name).sum() : 0;
+            if (histogram == null) {
+                text.append(String.format("%-28s %9d %7d%n", name, 0, failed));
+                return;
+            }
+            final var copy = histogram.copy();
+            text.append(String.format("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                    copy.getTotalCount(), failed,
+                    elapsedMillis > 0 ? copy.getTotalCount() * 1000.0 / elapsedMillis : 0,
+                    millis(copy.getValueAtPercentile(50)), millis(copy.getValueAtPercentile(90)),
+                    millis(copy.getValueAtPercentile(99)), millis(copy.getValueAtPercentile(99.9)),
+                    millis(copy.getMaxValue())));
+        });
+        return text.toString();
+    }
+
+    private static double millis(final long micros) {
+        return micros / 1000.0;
+    }
+}
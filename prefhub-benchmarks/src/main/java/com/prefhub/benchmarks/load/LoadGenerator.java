@@ -0,0 +1,116 @@
+package com.prefhub.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Нагрузочный генератор для запущенного сервера.
+ * <p>
+ * Пользователи рассаживаются по столам из трёх игроков: регистрируются, входят, создают и занимают игру через REST,
+ * затем играют легальными ходами — часть столов через REST с опросом состояния, часть через WebSocket.
+ * Каждый пользователь живёт в своём виртуальном потоке. В конце печатаются перцентили задержек по каждому
+ * REST-эндпоинту и типу сообщения WebSocket.
+ * <p>
+ * Запуск: {@code java -cp prefhub-benchmarks/target/benchmarks.jar com.prefhub.benchmarks.load.LoadGenerator
+ * --users=3000 --ws-share=0.5 --think=200ms --duration=120s}
+ */
+public class LoadGenerator {
+    private static final String PASSWORD = "load-test";
+
+    private final LoadSettings settings;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final RestClient restClient;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    public LoadGenerator(final LoadSettings settings) {
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.restClient = new RestClient(httpClient, settings.apiUri(), objectMapper, recorder);
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        final var settings = LoadSettings.parse(args);
+        System.out.printf("Load: %d tables (%d users), %.0f%% over WebSocket, ramp-up %s, duration %s, think %s%n",
+                settings.tables(), settings.tables() * 3, settings.webSocketShare() * 100, settings.rampUp(),
+                settings.duration(), settings.thinkTime());
+        final var generator = new LoadGenerator(settings);
+        final long elapsedMillis = generator.run();
+        System.out.print(generator.recorder.report(elapsedMillis));
+    }
+
+    /**
+     * @return длительность нагрузки в миллисекундах
+     */
+    public long run() throws InterruptedException {
+        final long start = System.nanoTime();
+        final long deadline = start + settings.rampUp().toNanos() + settings.duration().toNanos();
+        final int tables = settings.tables();
+        final int webSocketTables = (int) Math.round(tables * settings.webSocketShare());
+        final var scheduler = Executors.newScheduledThreadPool(2);
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int table = 0; table < tables; table++) {
+                final int tableId = table;
+                final long delayNanos = settings.rampUp().toNanos() * table / tables;
+                // Столы WebSocket перемешаны с REST, чтобы оба вида нагрузки росли вместе
+                final boolean webSocket = (long) table * webSocketTables / tables != (long) (table + 1) * webSocketTables / tables;
+                executor.submit(() -> {
+                    try {
+                        Thread.sleep(Duration.ofNanos(delayNanos));
+                        runTable(tableId, webSocket, deadline, scheduler);
+                    } catch (Exception e) {
+                        recorder.error("table setup");
+                    }
+                });
+            }
+        } finally {
+            scheduler.shutdownNow();
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private void runTable(final int table, final boolean webSocket, final long deadline,
+                          final ScheduledExecutorService scheduler) throws Exception {
+        final var gameId = "load-" + runId + "-" + table;
+        final var tokens = new String[3];
+        for (int seat = 0; seat < 3; seat++) {
+            final var username = "load-" + runId + "-" + table + "-" + seat;
+            restClient.post("auth/register", Map.of("username", username, "password", PASSWORD), null);
+            tokens[seat] = restClient.post("auth/login", Map.of("username", username, "password", PASSWORD), null)
+                    .path("token").asText();
+        }
+        restClient.post("games/create", Map.of("gameId", gameId), tokens[0]);
+        restClient.post("games/join", Map.of("gameId", gameId), tokens[1]);
+        restClient.post("games/join", Map.of("gameId", gameId), tokens[2]);
+
+        final long seed = runId.hashCode() * 31L + table;
+        if (webSocket) {
+            final var players = new ArrayList<WebSocketPlayer>(3);
+            for (int seat = 0; seat < 3; seat++) {
+                final var player = new WebSocketPlayer(objectMapper, recorder, settings, scheduler, tokens[seat],
+                        gameId, seat == 0, seed * 3 + seat);
+                player.connect(httpClient);
+                players.add(player);
+            }
+            Thread.sleep(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+            players.forEach(WebSocketPlayer::close);
+        } else {
+            try (final var seats = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int seat = 0; seat < 3; seat++) {
+                    seats.submit(new RestPlayer(restClient, settings, tokens[seat], gameId, seat == 0, deadline,
+                            seed * 3 + seat));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.prefhub.benchmarks.load;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Параметры нагрузки
+ *
+ * @param apiUri        базовый адрес REST API, например {@code http://localhost:8090/api/}
+ * @param webSocketUri  адрес WebSocket-сервера, например {@code ws://localhost:8091/}
+ * @param users         число пользователей; округляется вверх до полных столов по три игрока
+ * @param webSocketShare доля столов, играющих через WebSocket (остальные опрашивают REST)
+ * @param rampUp        за какое время запускаются все столы
+ * @param duration      длительность нагрузки после запуска
+ * @param thinkTime     пауза перед каждым действием; задаёт темп игры
+ * @param pollInterval  пауза между опросами состояния, когда REST-игрок ждёт хода
+ * @param bidRate       вероятность заявки вместо паса в торговле
+ */
+public record LoadSettings(
+    URI apiUri,
+    URI webSocketUri,
+    int users,
+    double webSocketShare,
+    Duration rampUp,
+    Duration duration,
+    Duration thinkTime,
+    Duration pollInterval,
+    double bidRate
+) {
+    public LoadSettings {
+        if (users <= 0) {
+            throw new IllegalArgumentException("User count must be positive");
+        }
+        if (webSocketShare < 0 || webSocketShare > 1 || bidRate < 0 || bidRate > 1) {
+            throw new IllegalArgumentException("Shares must be between 0 and 1");
+        }
+    }
+
+    public int tables() {
+        return (users + 2) / 3;
+    }
+
+    /**
+     * Разбор аргументов вида {@code --users=300 --duration=60s --ws-share=0.5}
+     */
+    public static LoadSettings parse(final String[] args) {
+        var apiUri = URI.create("http://localhost:8090/api/");
+        var webSocketUri = URI.create("ws://localhost:8091/");
+        int users = 300;
+        double webSocketShare = 0.5;
+        var rampUp = Duration.ofSeconds(10);
+        var duration = Duration.ofSeconds(60);
+        var thinkTime = Duration.ofMillis(200);
+        var pollInterval = Duration.ofMillis(250);
+        double bidRate = 0.3;
+
+        for (final var arg : args) {
+            final int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            final var value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "api" -> apiUri = URI.create(value.endsWith("/") ? value : value + "/");
+                case "ws" -> webSocketUri = URI.create(value);
+                case "users" -> users = Integer.parseInt(value);
+                case "ws-share" -> webSocketShare = Double.parseDouble(value);
+                case "ramp-up" -> rampUp = duration(value);
+                case "duration" -> duration = duration(value);
+                case "think" -> thinkTime = duration(value);
+                case "poll" -> pollInterval = duration(value);
+                case "bid-rate" -> bidRate = Double.parseDouble(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return new LoadSettings(apiUri, webSocketUri, users, webSocketShare, rampUp, duration, thinkTime,
+                pollInterval, bidRate);
+    }
+
+    /**
+     * {@code 250ms}, {@code 30s}, {@code 5m}
+     */
+    private static Duration duration(final String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        final long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unknown duration: " + value);
+        };
+    }
+}
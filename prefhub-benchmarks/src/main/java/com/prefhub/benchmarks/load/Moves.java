@@ -0,0 +1,101 @@
+package com.prefhub.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.prefhub.core.model.Contract;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Выбор хода по {@code PlayerView} в JSON: легальный, но без стратегии — задача только нагрузить сервер
+ */
+final class Moves {
+
+    /**
+     * Действие игрока
+     *
+     * @param type    тип сообщения WebSocket ({@code placeBid}, {@code exchangeWidow}, {@code whist}, {@code playCard}, {@code startNextRound})
+     * @param payload поля запроса без {@code gameId}
+     */
+    record Move(String type, Map<String, Object> payload) {
+    }
+
+    private Moves() {
+    }
+
+    /**
+     * Ход для игрока или {@code null}, если сейчас ходит не он
+     *
+     * @param startsRounds игрок, создавший стол, начинает следующие раунды
+     */
+    static Move choose(final JsonNode view, final Random random, final double bidRate, final boolean startsRounds) {
+        final boolean yourTurn = view.path("isYourTurn").asBoolean();
+        switch (view.path("phase").asText()) {
+            case "BIDDING" -> {
+                return yourTurn ? new Move("placeBid", Map.of("contract", bid(view, random, bidRate).name())) : null;
+            }
+            case "WIDOW_EXCHANGE" -> {
+                if (!contains(view.path("allowedActions"), "EXCHANGE_WIDOW")) {
+                    return null;
+                }
+                // Сносим прикуп обратно
+                final var widow = view.path("widow");
+                return new Move("exchangeWidow", Map.of("cards", List.of(card(widow.get(0)), card(widow.get(1)))));
+            }
+            case "WHISTING" -> {
+                return yourTurn ? new Move("whist", Map.of("whist", "WHIST")) : null;
+            }
+            case "PLAYING" -> {
+                final var legal = view.path("legalCards");
+                if (!yourTurn || legal.isEmpty()) {
+                    return null;
+                }
+                return new Move("playCard", Map.of("card", card(legal.get(random.nextInt(legal.size())))));
+            }
+            case "ROUND_COMPLETE" -> {
+                return startsRounds ? new Move("startNextRound", Map.of()) : null;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Пас или самая дешёвая заявка выше текущей (без мизера)
+     */
+    private static Contract bid(final JsonNode view, final Random random, final double bidRate) {
+        if (random.nextDouble() >= bidRate) {
+            return Contract.PASS;
+        }
+        final var highest = view.path("highestBid").isTextual() ? Contract.valueOf(view.path("highestBid").asText()) : null;
+        final int minimum = view.path("minimumBid").asInt(6);
+        for (final var contract : Contract.values()) {
+            if (contract.isPass() || contract.isMiser()) {
+                continue;
+            }
+            if (highest == null ? contract.getTricks() >= minimum : contract.isHigherThan(highest)) {
+                return contract;
+            }
+        }
+        return Contract.PASS;
+    }
+
+    private static Map<String, String> card(final JsonNode card) {
+        final var result = new HashMap<String, String>();
+        result.put("suit", card.path("suit").asText());
+        result.put("rank", card.path("rank").asText());
+        return result;
+    }
+
+    private static boolean contains(final JsonNode array, final String value) {
+        for (final var element : array) {
+            if (value.equals(element.asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
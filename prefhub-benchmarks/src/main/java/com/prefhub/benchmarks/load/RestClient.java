@@ -0,0 +1,70 @@
+package com.prefhub.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Клиент REST API с замером каждого запроса; операция в отчёте — метод и путь без параметров
+ */
+final class RestClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final URI apiUri;
+    private final ObjectMapper objectMapper;
+    private final LatencyRecorder recorder;
+
+    RestClient(final HttpClient httpClient, final URI apiUri, final ObjectMapper objectMapper,
+               final LatencyRecorder recorder) {
+        this.httpClient = httpClient;
+        this.apiUri = apiUri;
+        this.objectMapper = objectMapper;
+        this.recorder = recorder;
+    }
+
+    JsonNode get(final String path, final String query, final String token) throws IOException, InterruptedException {
+        final var request = request(path + (query != null ? "?" + query : ""), token).GET().build();
+        return send("GET " + path, request);
+    }
+
+    JsonNode post(final String path, final Object body, final String token) throws IOException, InterruptedException {
+        final var json = objectMapper.writeValueAsBytes(body);
+        final var request = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                .build();
+        return send("POST " + path, request);
+    }
+
+    private HttpRequest.Builder request(final String path, final String token) {
+        final var builder = HttpRequest.newBuilder(apiUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(final String operation, final HttpRequest request) throws IOException, InterruptedException {
+        final long start = System.nanoTime();
+        final HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            recorder.error(operation);
+            throw e;
+        }
+        recorder.record(operation, System.nanoTime() - start);
+        if (response.statusCode() / 100 != 2) {
+            recorder.error(operation);
+            throw new IOException(operation + " failed with HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,71 @@
+package com.prefhub.benchmarks.load;
+
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Игрок, который опрашивает состояние через REST и ходит через REST
+ */
+final class RestPlayer implements Runnable {
+    private final RestClient client;
+    private final LoadSettings settings;
+    private final String token;
+    private final String gameId;
+    private final boolean startsRounds;
+    private final long deadline;
+    private final Random random;
+
+    RestPlayer(final RestClient client, final LoadSettings settings, final String token, final String gameId,
+               final boolean startsRounds, final long deadline, final long seed) {
+        this.client = client;
+        this.settings = settings;
+        this.token = token;
+        this.gameId = gameId;
+        this.startsRounds = startsRounds;
+        this.deadline = deadline;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() - deadline < 0) {
+            try {
+                final var view = client.get("games/state", "gameId=" + gameId, token);
+                final var move = Moves.choose(view, random, settings.bidRate(), startsRounds);
+                if (move == null) {
+                    Thread.sleep(settings.pollInterval());
+                    continue;
+                }
+                Thread.sleep(settings.thinkTime());
+                final var body = new HashMap<String, Object>(move.payload());
+                body.put("gameId", gameId);
+                client.post(path(move.type()), body, token);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Ошибка уже учтена в отчёте; сервер мог уйти вперёд, продолжаем с нового состояния
+                sleepQuietly();
+            }
+        }
+    }
+
+    private static String path(final String moveType) {
+        return switch (moveType) {
+            case "placeBid" -> "games/bid";
+            case "exchangeWidow" -> "games/exchange";
+            case "whist" -> "games/whist";
+            case "playCard" -> "games/play";
+            case "startNextRound" -> "games/next-round";
+            default -> throw new IllegalArgumentException("Unknown move: " + moveType);
+        };
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(settings.pollInterval());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
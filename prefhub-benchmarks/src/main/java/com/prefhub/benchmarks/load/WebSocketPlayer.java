@@ -0,0 +1,142 @@
+package com.prefhub.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Игрок по протоколу {@code GameWebSocketServer}: получает рассылку состояния и отвечает ходами.
+ * Задержка сообщения — от отправки до первого ответа сервера на этом соединении (состояние или ошибка).
+ */
+final class WebSocketPlayer implements WebSocket.Listener {
+    private final ObjectMapper objectMapper;
+    private final LatencyRecorder recorder;
+    private final LoadSettings settings;
+    private final ScheduledExecutorService scheduler;
+    private final String token;
+    private final String gameId;
+    private final boolean startsRounds;
+    private final Random random;
+    private final StringBuilder frame = new StringBuilder();
+
+    private WebSocket webSocket;
+    private CompletableFuture<WebSocket> sending;
+    private String pendingOperation;
+    private long pendingStart;
+    private boolean moveScheduled;
+    private volatile boolean closed;
+
+    WebSocketPlayer(final ObjectMapper objectMapper, final LatencyRecorder recorder, final LoadSettings settings,
+                    final ScheduledExecutorService scheduler, final String token, final String gameId,
+                    final boolean startsRounds, final long seed) {
+        this.objectMapper = objectMapper;
+        this.recorder = recorder;
+        this.settings = settings;
+        this.scheduler = scheduler;
+        this.token = token;
+        this.gameId = gameId;
+        this.startsRounds = startsRounds;
+        this.random = new Random(seed);
+    }
+
+    void connect(final HttpClient httpClient) {
+        final long start = System.nanoTime();
+        webSocket = httpClient.newWebSocketBuilder().buildAsync(settings.webSocketUri(), this).join();
+        recorder.record("WS connect", System.nanoTime() - start);
+        synchronized (this) {
+            sending = CompletableFuture.completedFuture(webSocket);
+        }
+        send("auth", Map.of("token", token));
+    }
+
+    void close() {
+        closed = true;
+        webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+    }
+
+    @Override
+    public CompletionStage<?> onText(final WebSocket socket, final CharSequence data, final boolean last) {
+        frame.append(data);
+        if (last) {
+            final var text = frame.toString();
+            frame.setLength(0);
+            try {
+                onMessage(objectMapper.readTree(text));
+            } catch (IOException e) {
+                recorder.error("WS parse");
+            }
+        }
+        socket.request(1);
+        return null;
+    }
+
+    @Override
+    public void onError(final WebSocket socket, final Throwable error) {
+        if (!closed) {
+            recorder.error("WS connection");
+        }
+    }
+
+    private synchronized void onMessage(final JsonNode message) {
+        final var type = message.path("type").asText();
+        if (pendingOperation != null) {
+            final var operation = pendingOperation;
+            pendingOperation = null;
+            if ("error".equals(type)) {
+                recorder.error(operation);
+            } else {
+                recorder.record(operation, System.nanoTime() - pendingStart);
+            }
+        }
+
+        switch (type) {
+            case "authSuccess" -> send("join", Map.of("gameId", gameId));
+            case "gameState" -> {
+                if (moveScheduled || closed) {
+                    return;
+                }
+                final var move = Moves.choose(message.path("state"), random, settings.bidRate(), startsRounds);
+                if (move != null) {
+                    moveScheduled = true;
+                    scheduler.schedule(() -> {
+                        synchronized (this) {
+                            moveScheduled = false;
+                            send(move.type(), move.payload());
+                        }
+                    }, settings.thinkTime().toMillis(), TimeUnit.MILLISECONDS);
+                }
+            }
+            default -> {
+                // Ошибки уже учтены как ответ на отправленное сообщение
+            }
+        }
+    }
+
+    private synchronized void send(final String type, final Map<String, ?> payload) {
+        if (closed) {
+            return;
+        }
+        final var message = new HashMap<String, Object>(payload);
+        message.put("type", type);
+        final String json;
+        try {
+            json = objectMapper.writeValueAsString(message);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize message", e);
+        }
+        pendingOperation = "WS " + type;
+        pendingStart = System.nanoTime();
+        // Следующая отправка начинается только после завершения предыдущей
+        sending = sending.thenCompose(socket -> socket.sendText(json, true));
+    }
+}
@@ -0,0 +1,83 @@
+package com.prefhub.core.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Битовое представление набора карт.
+ * 32 карты колоды укладываются в один int: бит {@code suit.ordinal() * 8 + rank.ordinal()},
+ * так что внутри масти старшая карта всегда занимает старший бит.
+ */
+public final class CardSet {
+    public static final int EMPTY = 0;
+    public static final int FULL = 0xFFFFFFFF;
+    public static final int SUIT_SIZE = 8;
+
+    private static final Card[] CARDS = new Card[32];
+
+    static {
+        for (final var suit : Suit.values()) {
+            for (final var rank : Rank.values()) {
+                CARDS[suit.ordinal() * SUIT_SIZE + rank.ordinal()] = new Card(suit, rank);
+            }
+        }
+    }
+
+    private CardSet() {
+    }
+
+    public static int index(final Card card) {
+        return card.suit().ordinal() * SUIT_SIZE + card.rank().ordinal();
+    }
+
+    public static int bit(final Card card) {
+        return 1 << index(card);
+    }
+
+    public static Card card(final int index) {
+        return CARDS[index];
+    }
+
+    public static int of(final Collection<Card> cards) {
+        int set = EMPTY;
+        for (final var card : cards) {
+            set |= bit(card);
+        }
+        return set;
+    }
+
+    public static List<Card> toList(final int set) {
+        final var cards = new ArrayList<Card>(Integer.bitCount(set));
+        for (int rest = set; rest != 0; rest &= rest - 1) {
+            cards.add(CARDS[Integer.numberOfTrailingZeros(rest)]);
+        }
+        return cards;
+    }
+
+    public static boolean contains(final int set, final Card card) {
+        return (set & bit(card)) != 0;
+    }
+
+    public static int size(final int set) {
+        return Integer.bitCount(set);
+    }
+
+    /**
+     * Маска всех карт масти
+     */
+    public static int suitMask(final int suitIndex) {
+        return 0xFF << (suitIndex * SUIT_SIZE);
+    }
+
+    public static int suitMask(final Suit suit) {
+        return suitMask(suit.ordinal());
+    }
+
+    /**
+     * Масть карты по её индексу
+     */
+    public static int suitOf(final int index) {
+        return index >>> 3;
+    }
+}
@@ -0,0 +1,282 @@
+package com.prefhub.core.model;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prefhub.core.scoring.ScoreTable;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Скомпилированные правила: неизменяемый снимок {@link GameRules} с заранее посчитанными таблицами.
+ * <p>
+ * Один экземпляр на версию правил разделяется всеми партиями. Партии, файлы и виды игроков ссылаются
+ * на правила по паре {@code ruleId} + {@code hash}, где hash — SHA-256 содержимого правил,
+ * так что изменённый файл правил даёт новую версию, а старые партии остаются на своей.
+ */
+@JsonAutoDetect(getterVisibility = JsonAutoDetect.Visibility.NONE,
+                isGetterVisibility = JsonAutoDetect.Visibility.NONE,
+                fieldVisibility = JsonAutoDetect.Visibility.ANY)
+public final class CompiledRules {
+    private static final ObjectMapper CANONICAL = new ObjectMapper();
+    private static final int HASH_BYTES = 8;
+
+    private final String ruleId;
+    private final String hash;
+
+    private final String name;
+    private final String description;
+    private final GameRules.MizerExitType mizerExitType;
+    private final boolean mizerExitOnFailedContract;
+    private final boolean allowExitWithoutThree;
+    private final boolean mandatory6SpadesWhist;
+    private final boolean allowHalfWhist;
+    private final boolean allowRefas;
+    private final boolean allowDarkGame;
+    private final int minimumOpeningBid;
+    private final GameRules.TenGameMode tenGameMode;
+    private final GameRules.WhistType whistType;
+    private final boolean allowHalfWhistAfterPass;
+    private final boolean poolEnabled;
+    private final int poolSize;
+    private final int poolValue;
+    private final boolean sansAtoutPriority;
+    private final int trickPointsMultiplier;
+    private final int undertrickPenalty;
+    private final int exactContractBonus;
+    private final boolean usePoolRecording;
+    private final int poolRecordingThreshold;
+    private final boolean allowAgreements;
+    private final int moveTimeLimit;
+    private final int biddingTimeLimit;
+
+    /**
+     * Сколько взяток нужно заказать для выхода из распасов после 1, 2, 3 и более распасов подряд
+     */
+    @JsonIgnore
+    private final int[] mizerExitLadder;
+
+    /**
+     * Цена контракта по порядковому номеру {@link Contract}: (взятки - 5) × множитель, мизер — как десятерная
+     */
+    @JsonIgnore
+    private final int[] contractValues;
+
+    /**
+     * Таблица подсчёта очков, собранная из этих правил
+     */
+    @JsonIgnore
+    private final ScoreTable scoreTable;
+
+    private CompiledRules(final String ruleId, final String hash, final GameRules source) {
+        this.ruleId = ruleId;
+        this.hash = hash;
+        this.name = source.getName();
+        this.description = source.getDescription();
+        this.mizerExitType = source.getMizerExitType();
+        this.mizerExitOnFailedContract = source.isMizerExitOnFailedContract();
+        this.allowExitWithoutThree = source.isAllowExitWithoutThree();
+        this.mandatory6SpadesWhist = source.isMandatory6SpadesWhist();
+        this.allowHalfWhist = source.isAllowHalfWhist();
+        this.allowRefas = source.isAllowRefas();
+        this.allowDarkGame = source.isAllowDarkGame();
+        this.minimumOpeningBid = source.getMinimumOpeningBid();
+        this.tenGameMode = source.getTenGameMode();
+        this.whistType = source.getWhistType();
+        this.allowHalfWhistAfterPass = source.isAllowHalfWhistAfterPass();
+        this.poolEnabled = source.isPoolEnabled();
+        this.poolSize = source.getPoolSize();
+        this.poolValue = source.getPoolValue();
+        this.sansAtoutPriority = source.isSansAtoutPriority();
+        this.trickPointsMultiplier = source.getTrickPointsMultiplier();
+        this.undertrickPenalty = source.getUndertrickPenalty();
+        this.exactContractBonus = source.getExactContractBonus();
+        this.usePoolRecording = source.isUsePoolRecording();
+        this.poolRecordingThreshold = source.getPoolRecordingThreshold();
+        this.allowAgreements = source.isAllowAgreements();
+        this.moveTimeLimit = source.getMoveTimeLimit();
+        this.biddingTimeLimit = source.getBiddingTimeLimit();
+
+        this.mizerExitLadder = switch (mizerExitType) {
+            case FLAT_6 -> new int[]{6, 6, 6};
+            case ESCALATING_678 -> new int[]{6, 7, 8};
+            case ESCALATING_677 -> new int[]{6, 7, 7};
+        };
+        final var contracts = Contract.values();
+        this.contractValues = new int[contracts.length];
+        for (final var contract : contracts) {
+            if (contract.isMiser()) {
+                contractValues[contract.ordinal()] = 5 * trickPointsMultiplier;
+            } else if (!contract.isPass()) {
+                contractValues[contract.ordinal()] = (contract.getTricks() - 5) * trickPointsMultiplier;
+            }
+        }
+        this.scoreTable = ScoreTable.compile(this);
+    }
+
+    /**
+     * Скомпилировать правила. Источник копируется, поэтому его дальнейшие изменения на результат не влияют
+     */
+    public static CompiledRules compile(final String ruleId, final GameRules source) {
+        if (source.getMizerExitType() == null || source.getTenGameMode() == null || source.getWhistType() == null) {
+            throw new IllegalArgumentException("Incomplete rules: " + ruleId);
+        }
+        if (source.getMinimumOpeningBid() < 6 || source.getMinimumOpeningBid() > 10) {
+            throw new IllegalArgumentException("Minimum opening bid must be between 6 and 10: " + ruleId);
+        }
+        return new CompiledRules(ruleId, hash(source), source);
+    }
+
+    /**
+     * Хеш содержимого правил: первые 8 байт SHA-256 от JSON в порядке объявления полей
+     */
+    public static String hash(final GameRules source) {
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256").digest(CANONICAL.writeValueAsBytes(source));
+            return HexFormat.of().formatHex(digest, 0, HASH_BYTES);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash rules", e);
+        }
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * Сколько взяток нужно заказать для выхода после {@code raspasyInRow} распасов подряд; 0 — распасов не было
+     */
+    public int getMizerExitTricks(final int raspasyInRow) {
+        if (raspasyInRow <= 0) {
+            return 0;
+        }
+        return mizerExitLadder[Math.min(raspasyInRow, mizerExitLadder.length) - 1];
+    }
+
+    /**
+     * Цена контракта в очках; у паса 0
+     */
+    public int getContractValue(final Contract contract) {
+        return contractValues[contract.ordinal()];
+    }
+
+    public ScoreTable getScoreTable() {
+        return scoreTable;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public GameRules.MizerExitType getMizerExitType() {
+        return mizerExitType;
+    }
+
+    public boolean isMizerExitOnFailedContract() {
+        return mizerExitOnFailedContract;
+    }
+
+    public boolean isAllowExitWithoutThree() {
+        return allowExitWithoutThree;
+    }
+
+    public boolean isMandatory6SpadesWhist() {
+        return mandatory6SpadesWhist;
+    }
+
+    public boolean isAllowHalfWhist() {
+        return allowHalfWhist;
+    }
+
+    public boolean isAllowRefas() {
+        return allowRefas;
+    }
+
+    public boolean isAllowDarkGame() {
+        return allowDarkGame;
+    }
+
+    public int getMinimumOpeningBid() {
+        return minimumOpeningBid;
+    }
+
+    public GameRules.TenGameMode getTenGameMode() {
+        return tenGameMode;
+    }
+
+    public GameRules.WhistType getWhistType() {
+        return whistType;
+    }
+
+    public boolean isAllowHalfWhistAfterPass() {
+        return allowHalfWhistAfterPass;
+    }
+
+    public boolean isPoolEnabled() {
+        return poolEnabled;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getPoolValue() {
+        return poolValue;
+    }
+
+    public boolean isSansAtoutPriority() {
+        return sansAtoutPriority;
+    }
+
+    public int getTrickPointsMultiplier() {
+        return trickPointsMultiplier;
+    }
+
+    public int getUndertrickPenalty() {
+        return undertrickPenalty;
+    }
+
+    public int getExactContractBonus() {
+        return exactContractBonus;
+    }
+
+    public boolean isUsePoolRecording() {
+        return usePoolRecording;
+    }
+
+    public int getPoolRecordingThreshold() {
+        return poolRecordingThreshold;
+    }
+
+    public boolean isAllowAgreements() {
+        return allowAgreements;
+    }
+
+    public int getMoveTimeLimit() {
+        return moveTimeLimit;
+    }
+
+    public int getBiddingTimeLimit() {
+        return biddingTimeLimit;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledRules{" +
+                "ruleId='" + ruleId + '\'' +
+                ", hash='" + hash + '\'' +
+                ", name='" + name + '\'' +
+                '}';
+    }
+}
@@ -38,6 +38,38 @@ public enum Contract {
     // Пас
     PASS(26, -1, null, "Пас");
 
+    private static final Contract[] VALUES = values();
+
+    /**
+     * Место на лестнице заявок: 6♠ … 7БК, мизер, 8♠ … 10БК. У паса места нет (-1)
+     */
+    private static final int[] BID_RANK = new int[VALUES.length];
+
+    /**
+     * HIGHER[a][b] — заявка a старше заявки b
+     */
+    private static final boolean[][] HIGHER = new boolean[VALUES.length][VALUES.length];
+
+    static {
+        int rank = 0;
+        for (final var contract : VALUES) {
+            if (contract.isPass() || contract.isMiser()) {
+                continue;
+            }
+            if (contract.tricks == 8 && contract.trumpSuit == Suit.SPADES) {
+                BID_RANK[MISER.ordinal()] = rank++; // Мизер между 7 и 8
+            }
+            BID_RANK[contract.ordinal()] = rank++;
+        }
+        BID_RANK[PASS.ordinal()] = -1;
+        for (final var first : VALUES) {
+            for (final var second : VALUES) {
+                HIGHER[first.ordinal()][second.ordinal()] = !first.isPass() && !second.isPass()
+                        && BID_RANK[first.ordinal()] > BID_RANK[second.ordinal()];
+            }
+        }
+    }
+
     private final int sortOrder;
     private final int tricks;
     private final Suit trumpSuit;
@@ -78,27 +110,14 @@ public enum Contract {
         return displayName;
     }
 
-    public boolean isHigherThan(Contract other) {
-        if (this.isPass() || other.isPass()) {
-            return false;
-        }
-        if (this == other) {
-            return false;
-        }
-
-        // Мизер между 7 и 8
-        if (this.isMiser() && !other.isMiser()) {
-            return other.tricks < 7 || (other.tricks == 7);
-        }
-        if (!this.isMiser() && other.isMiser()) {
-            return this.tricks >= 8;
-        }
-
-        if (this.tricks != other.tricks) {
-            return this.tricks > other.tricks;
-        }
+    /**
+     * Место заявки на лестнице торговли (мизер между 7 и 8); у паса -1
+     */
+    public int getBidRank() {
+        return BID_RANK[ordinal()];
+    }
 
-        // Одинаковое количество взяток - сравниваем масти
-        return this.ordinal() > other.ordinal();
+    public boolean isHigherThan(Contract other) {
+        return HIGHER[ordinal()][other.ordinal()];
     }
 }
@@ -4,6 +4,7 @@ public enum GamePhase {
     WAITING_FOR_PLAYERS,
     BIDDING,
     WIDOW_EXCHANGE,
+    WHISTING,
     PLAYING,
     ROUND_COMPLETE,
     GAME_COMPLETE
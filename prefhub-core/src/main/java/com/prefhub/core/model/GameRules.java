@@ -100,7 +100,8 @@ public class GameRules implements java.io.Serializable {
     private WhistType whistType;
 
     /**
-     * Разрешать полувист после паса одного из игроков
+     * Разрешать полувист после паса одного из игроков: пасовавший защитник, узнав о полвисте партнёра,
+     * может передумать и вистовать сам. Без этого полвист сразу завершает решение о висте
      */
     private boolean allowHalfWhistAfterPass;
 
@@ -2,10 +2,14 @@ package com.prefhub.core.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.prefhub.core.scoring.ScoreSheet;
 
 import java.io.Serial;
 import java.util.*;
 
+// "rules" — правила, которые раньше хранились в файле партии целиком
+@JsonIgnoreProperties({"rules"})
 @JsonAutoDetect(getterVisibility = JsonAutoDetect.Visibility.NONE,
                 isGetterVisibility = JsonAutoDetect.Visibility.NONE,
                 fieldVisibility = JsonAutoDetect.Visibility.ANY,
@@ -13,19 +17,37 @@ import java.util.*;
 public class GameState implements java.io.Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
+
+    /**
+     * Сколько первых взяток распасов открывает прикуп: масть взятки задаёт его карта, заходит первая рука
+     */
+    public static final int WIDOW_LED_TRICKS = 2;
+
     private final String gameId;
     private final List<Player> players;
     private final List<Card> widow; // прикуп (2 карты)
     private GamePhase phase;
     private int dealerIndex;
     private int currentPlayerIndex;
-    private GameRules rules; // правила игры
+    // Правила хранятся ссылкой: идентификатор и хеш версии; сами правила подставляет сервер
+    private String ruleId;
+    private String rulesHash;
+    @JsonIgnore
+    private transient CompiledRules rules;
 
     // Торговля
     private final Map<Player, Contract> bids;
+    private Contract highestBid; // старшая заявка торговли, обновляется с каждой заявкой
     private Player declarer; // игрок взявший взятку
     private Contract contract;
 
+    // Вист
+    private final Map<Player, Whist> whists;
+    private boolean openWhist; // вист в открытую: руки защитников открыты, вистующий ходит за пасующего
+    // Открытые руки по игрокам: неизменяемые списки, после хода пересобирается только рука сходившего
+    @JsonIgnore
+    private transient Map<String, List<Card>> openHands;
+
     // Разыгрывание
     private Trick currentTrick;
     private final List<Trick> completedTricks;
@@ -35,6 +57,10 @@ public class GameState implements java.io.Serializable {
     private final Map<Player, Long> lastSeen;
 
     private int roundNumber;
+    private int raspasyInRow; // распасов подряд; сбрасывается выходом из распасов
+
+    // Запись пули по местам игроков; переживает раунды
+    private final ScoreSheet scoreSheet;
 
     // Default constructor for Jackson
     public GameState() {
@@ -43,32 +69,35 @@ public class GameState implements java.io.Serializable {
         this.widow = new ArrayList<>(2);
         this.phase = GamePhase.WAITING_FOR_PLAYERS;
         this.bids = new HashMap<>();
+        this.whists = new HashMap<>();
         this.completedTricks = new ArrayList<>();
         this.tricksWon = new HashMap<>();
         this.lastSeen = new HashMap<>();
         this.dealerIndex = 0;
         this.currentPlayerIndex = 0;
         this.roundNumber = 1;
-        this.rules = new GameRules();
+        this.scoreSheet = new ScoreSheet();
     }
 
     public GameState(String gameId) {
         this(gameId, null);
     }
 
-    public GameState(String gameId, GameRules rules) {
+    public GameState(String gameId, CompiledRules rules) {
         this.gameId = gameId;
         this.players = new ArrayList<>(3);
         this.widow = new ArrayList<>(2);
         this.phase = GamePhase.WAITING_FOR_PLAYERS;
         this.bids = new HashMap<>();
+        this.whists = new HashMap<>();
         this.completedTricks = new ArrayList<>();
         this.tricksWon = new HashMap<>();
         this.lastSeen = new HashMap<>();
         this.dealerIndex = 0;
         this.currentPlayerIndex = 0;
         this.roundNumber = 1;
-        this.rules = rules != null ? rules : new GameRules(); // default rules if null
+        this.scoreSheet = new ScoreSheet();
+        setRules(rules != null ? rules : CompiledRules.compile("default", new GameRules())); // default rules if null
     }
 
     public String getGameId() {
@@ -159,6 +188,16 @@ public class GameState implements java.io.Serializable {
 
     public void placeBid(Player player, Contract contract) {
         bids.put(player, contract);
+        if (!contract.isPass() && (highestBid == null || contract.isHigherThan(highestBid))) {
+            highestBid = contract;
+        }
+    }
+
+    /**
+     * Старшая заявка текущей торговли; {@code null}, пока все пасуют
+     */
+    public Contract getHighestBid() {
+        return highestBid;
     }
 
     public Player getDeclarer() {
@@ -177,6 +216,116 @@ public class GameState implements java.io.Serializable {
         this.contract = contract;
     }
 
+    public Map<Player, Whist> getWhists() {
+        return new HashMap<>(whists);
+    }
+
+    public void placeWhist(Player player, Whist whist) {
+        whists.put(player, whist);
+    }
+
+    public boolean isOpenWhist() {
+        return openWhist;
+    }
+
+    public void setOpenWhist(boolean openWhist) {
+        this.openWhist = openWhist;
+        this.openHands = null;
+    }
+
+    /**
+     * Кто делает текущий ход: при висте в открытую за пасующего ходит вистующий
+     */
+    public Player getActingPlayer() {
+        final var seat = getCurrentPlayer();
+        if (openWhist && phase == GamePhase.PLAYING && whists.get(seat) == Whist.PASS) {
+            for (final var player : players) {
+                if (whists.get(player) == Whist.WHIST) {
+                    return player;
+                }
+            }
+        }
+        return seat;
+    }
+
+    /**
+     * Руки, открытые всем за столом: при висте в открытую — обоих защитников, иначе пусто.
+     * Один неизменяемый снимок разделяют виды всех игроков
+     */
+    public Map<String, List<Card>> getOpenHands() {
+        if (!openWhist) {
+            return Map.of();
+        }
+        if (openHands == null) {
+            final var hands = new HashMap<String, List<Card>>();
+            for (final var player : players) {
+                if (!whists.containsKey(player)) {
+                    continue;
+                }
+                hands.put(player.getUsername(), List.copyOf(player.getHand()));
+            }
+            openHands = Map.copyOf(hands);
+        }
+        return openHands;
+    }
+
+    /**
+     * Сданные руки, восстановленные в конце раздачи (в том числе распасов и игры, которую никто не вистовал):
+     * сыгранные и оставшиеся карты; у разыгрывающего к ним добавляется снос и убирается прикуп
+     */
+    public Map<String, List<Card>> getDealtHands() {
+        final var held = heldCards();
+        if (contract != null && declarer != null) {
+            held.put(declarer.getUsername(), (held.get(declarer.getUsername()) | discarded(held)) & ~CardSet.of(widow));
+        }
+        final var hands = new LinkedHashMap<String, List<Card>>();
+        held.forEach((name, cards) -> hands.put(name, CardSet.toList(cards)));
+        return hands;
+    }
+
+    /**
+     * Снос разыгрывающего в конце раздачи — единственные карты колоды, которых нет ни в чьих руках и взятках.
+     * Без разыгрывающего пусто
+     */
+    public List<Card> getDiscards() {
+        return contract != null && declarer != null ? CardSet.toList(discarded(heldCards())) : List.of();
+    }
+
+    /**
+     * Карты каждого игрока: оставшиеся в руке и сыгранные во взятках
+     */
+    private Map<String, Integer> heldCards() {
+        final var held = new LinkedHashMap<String, Integer>();
+        for (final var player : players) {
+            held.put(player.getUsername(), CardSet.of(player.getHand()));
+        }
+        for (final var trick : completedTricks) {
+            trick.getCardsPlayed().forEach((player, card) ->
+                    held.merge(player.getUsername(), CardSet.bit(card), (a, b) -> a | b));
+        }
+        return held;
+    }
+
+    private static int discarded(final Map<String, Integer> held) {
+        int dealt = CardSet.EMPTY;
+        for (final int cards : held.values()) {
+            dealt |= cards;
+        }
+        return ~dealt;
+    }
+
+    /**
+     * Игрок сходил: если его рука открыта, пересобрать только её
+     */
+    public void refreshOpenHand(Player player) {
+        if (openHands == null || !openHands.containsKey(player.getUsername())) {
+            return;
+        }
+        final var hands = new HashMap<>(openHands);
+        hands.put(player.getUsername(), List.copyOf(player.getHand()));
+        openHands = Map.copyOf(hands);
+    }
+
     public Trick getCurrentTrick() {
         return currentTrick;
     }
@@ -211,20 +360,56 @@ public class GameState implements java.io.Serializable {
         return roundNumber;
     }
 
-    public GameRules getRules() {
+    /**
+     * Раздача разыгрывается распасами: все спасовали
+     */
+    public boolean isRaspasy() {
+        return contract != null && contract.isPass();
+    }
+
+    public int getRaspasyInRow() {
+        return raspasyInRow;
+    }
+
+    public void setRaspasyInRow(int raspasyInRow) {
+        this.raspasyInRow = raspasyInRow;
+    }
+
+    public ScoreSheet getScoreSheet() {
+        return scoreSheet;
+    }
+
+    public CompiledRules getRules() {
         return rules;
     }
 
-    public void setRules(GameRules rules) {
+    /**
+     * Подставить скомпилированные правила (при создании партии и после загрузки из хранилища)
+     */
+    public void setRules(CompiledRules rules) {
         this.rules = rules;
+        this.ruleId = rules.getRuleId();
+        this.rulesHash = rules.getHash();
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public String getRulesHash() {
+        return rulesHash;
     }
 
     public void nextRound() {
         roundNumber++;
         dealerIndex = (dealerIndex + 1) % players.size();
         bids.clear();
+        highestBid = null;
         declarer = null;
         contract = null;
+        whists.clear();
+        openWhist = false;
+        openHands = null;
         completedTricks.clear();
         resetTricksWon();
         widow.clear();
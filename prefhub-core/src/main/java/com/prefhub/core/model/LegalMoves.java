@@ -0,0 +1,53 @@
+package com.prefhub.core.model;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Допустимые ходы во взятке: в масть захода, без неё — козырем, без козырей — любой картой.
+ * Считается над масками {@link CardSet} за несколько битовых операций; общий код для движка, ботов и солвера.
+ */
+public final class LegalMoves {
+    public static final int NO_SUIT = -1;
+
+    private LegalMoves() {
+    }
+
+    /**
+     * Маска допустимых карт
+     *
+     * @param hand     карты руки
+     * @param leadSuit индекс масти захода или {@link #NO_SUIT}, если игрок заходит сам
+     * @param trump    индекс козырной масти или {@link #NO_SUIT}
+     */
+    public static int legal(final int hand, final int leadSuit, final int trump) {
+        if (leadSuit == NO_SUIT) {
+            return hand;
+        }
+        final int followed = hand & CardSet.suitMask(leadSuit);
+        if (followed != 0) {
+            return followed;
+        }
+        final int trumps = trump == NO_SUIT ? 0 : hand & CardSet.suitMask(trump);
+        return trumps != 0 ? trumps : hand;
+    }
+
+    public static int legal(final int hand, final Suit leadSuit, final Suit trump) {
+        return legal(hand, indexOf(leadSuit), indexOf(trump));
+    }
+
+    /**
+     * Допустимые карты руки, упорядоченные по масти и старшинству
+     */
+    public static List<Card> legalCards(final Collection<Card> hand, final Suit leadSuit, final Suit trump) {
+        return CardSet.toList(legal(CardSet.of(hand), leadSuit, trump));
+    }
+
+    public static boolean isLegal(final Collection<Card> hand, final Card card, final Suit leadSuit, final Suit trump) {
+        return CardSet.contains(legal(CardSet.of(hand), leadSuit, trump), card);
+    }
+
+    private static int indexOf(final Suit suit) {
+        return suit != null ? suit.ordinal() : NO_SUIT;
+    }
+}
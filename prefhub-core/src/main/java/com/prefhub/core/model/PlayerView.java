@@ -14,33 +14,44 @@ public record PlayerView(
     GamePhase phase,
     int roundNumber,
     List<Card> hand,
+    List<Card> legalCards, // cards this player may play now; empty when it is not their turn to play
     List<String> otherPlayers,
     String currentPlayerUsername,
     boolean isYourTurn,
+    String playingFor, // seat whose cards this player plays now when it is not their own (open whist), otherwise null
     List<String> allowedActions,
     String nextActionDescription,
     Map<String, String> bids,
     Contract highestBid,
+    int minimumBid, // lowest game bid this deal: the rules' minimum, raised after consecutive raspasy; misere is always allowed
+    Map<String, Whist> whists, // defenders' whist decisions by username
     List<Card> widow,
+    Map<String, List<Card>> openHands, // hands visible to everyone at the table (open whist)
     Contract contract,
     String declarerUsername,
     Suit trumpSuit,
     Map<String, Card> currentTrick,
+    Suit leadSuit,
     Map<String, Integer> tricksWon,
     Map<String, Integer> scores,
     Map<String, Integer> bullets,
     Map<String, Integer> mountains,
     Map<String, Long> lastSeenSeconds, // seconds since last ping for each player
-    GameRules rules
+    String ruleId, // rules are referenced, not embedded: GET /api/rules/{ruleId}?hash={rulesHash}
+    String rulesHash
 ) {
     public PlayerView {
         hand = hand != null ? new ArrayList<>(hand) : new ArrayList<>();
+        legalCards = legalCards != null ? new ArrayList<>(legalCards) : new ArrayList<>();
         otherPlayers = otherPlayers != null ? new ArrayList<>(otherPlayers) : new ArrayList<>();
         allowedActions = allowedActions != null ? new ArrayList<>(allowedActions) : new ArrayList<>();
         widow = widow != null ? new ArrayList<>(widow) : new ArrayList<>();
+        whists = whists != null ? whists : Map.of();
+        openHands = openHands != null ? openHands : Map.of();
     }
 
     public List<Card> getHand() { return new ArrayList<>(hand); }
+    public List<Card> getLegalCards() { return new ArrayList<>(legalCards); }
     public List<String> getOtherPlayers() { return new ArrayList<>(otherPlayers); }
     public List<String> getAllowedActions() { return new ArrayList<>(allowedActions); }
     public List<Card> getWidow() { return new ArrayList<>(widow); }
@@ -0,0 +1,37 @@
+package com.prefhub.core.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Public view of a game for spectators.
+ * Hands and the widow are hidden while the deal is being played; depending on server configuration
+ * they are revealed once the deal is over ({@code revealedHands} holds each player's cards of that deal).
+ * Hands opened at the table (open whist) are visible in {@code openHands} while the deal is played.
+ */
+public record SpectatorView(
+    String gameId,
+    long version, // grows with every change of the game; equal versions mean equal views
+    GamePhase phase,
+    int roundNumber,
+    List<String> players, // in seating order
+    String currentPlayerUsername,
+    Map<String, Integer> handSizes,
+    Map<String, List<Card>> openHands, // hands visible to the whole table (open whist)
+    Map<String, String> bids,
+    Contract highestBid,
+    Contract contract,
+    String declarerUsername,
+    Suit trumpSuit,
+    Map<String, Card> currentTrick,
+    Suit leadSuit,
+    Map<String, Integer> tricksWon,
+    Map<String, Integer> scores,
+    Map<String, Integer> bullets,
+    Map<String, Integer> mountains,
+    Map<String, List<Card>> revealedHands, // null while hidden
+    List<Card> revealedWidow, // null while hidden
+    String ruleId,
+    String rulesHash
+) {
+}
@@ -16,10 +16,20 @@ public class Trick implements java.io.Serializable {
         this.cardsPlayed = new HashMap<>();
     }
 
+    /**
+     * Взятка, масть которой задана заранее (на распасах — открытой картой прикупа)
+     */
+    public Trick(Suit leadSuit) {
+        this();
+        this.leadSuit = leadSuit;
+    }
+
     public void playCard(Player player, Card card) {
         if (cardsPlayed.isEmpty()) {
             leadPlayer = player;
-            leadSuit = card.suit();
+            if (leadSuit == null) {
+                leadSuit = card.suit();
+            }
         }
         cardsPlayed.put(player, card);
     }
@@ -40,42 +50,37 @@ public class Trick implements java.io.Serializable {
         return cardsPlayed.size() == playerCount;
     }
 
+    /**
+     * Старший козырь, иначе старшая карта масти взятки. Если ни козыря, ни масти взятки не сыграно
+     * (масть задал прикуп), взятка остаётся за первым сходившим
+     */
     public Player getWinner(Suit trumpSuit) {
         if (cardsPlayed.isEmpty()) {
             return null;
         }
 
-        Player winner = null;
-        Card winningCard = null;
-
+        Player winner = leadPlayer;
+        int winningStrength = strength(cardsPlayed.get(leadPlayer), trumpSuit);
         for (final var entry : cardsPlayed.entrySet()) {
-            final var card = entry.getValue();
-
-            if (winningCard == null) {
-                winner = entry.getKey();
-                winningCard = card;
-                continue;
-            }
-
-            // Козырь бьет некозырную
-            final var currentIsTrump = trumpSuit != null && card.suit() == trumpSuit;
-            final var winningIsTrump = trumpSuit != null && winningCard.suit() == trumpSuit;
-
-            if (currentIsTrump && !winningIsTrump) {
+            final int strength = strength(entry.getValue(), trumpSuit);
+            if (strength > winningStrength) {
                 winner = entry.getKey();
-                winningCard = card;
-            } else if (!currentIsTrump && winningIsTrump) {
-                // winningCard остается
-            } else if (card.suit() == winningCard.suit()) {
-                // Одной масти - сравниваем старшинство
-                if (card.rank().getValue() > winningCard.rank().getValue()) {
-                    winner = entry.getKey();
-                    winningCard = card;
-                }
+                winningStrength = strength;
             }
-            // Если карта не козырь и не той масти что ходили - она не бьет
         }
-
         return winner;
     }
+
+    /**
+     * Сила карты во взятке: козырь старше масти взятки, снос не берёт
+     */
+    private int strength(Card card, Suit trumpSuit) {
+        if (trumpSuit != null && card.suit() == trumpSuit) {
+            return 40 + card.rank().getValue();
+        }
+        if (card.suit() == leadSuit) {
+            return 20 + card.rank().getValue();
+        }
+        return 0;
+    }
 }
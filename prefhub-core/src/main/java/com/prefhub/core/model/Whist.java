@@ -0,0 +1,13 @@
+package com.prefhub.core.model;
+
+/**
+ * Решение защитника после сноса: пас, вист или пол-виста
+ */
+public enum Whist {
+    PASS,
+    WHIST,
+    /**
+     * Пол-виста: игра не разыгрывается, защитник пишет висты за половину обязательных взяток
+     */
+    HALF_WHIST
+}
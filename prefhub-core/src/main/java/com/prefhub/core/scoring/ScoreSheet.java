@@ -0,0 +1,89 @@
+package com.prefhub.core.scoring;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+
+import java.io.Serial;
+import java.util.Arrays;
+
+/**
+ * Запись пули одной партии: пуля, гора и висты по местам за столом.
+ * <p>
+ * Места нумеруются 0..2 в порядке игроков партии. Висты хранятся попарно: {@code whists[writer * 3 + on]} —
+ * сколько вистов место {@code writer} записало на место {@code on}. Лист изменяется только
+ * {@link ScoreTable}; сам он ничего не считает.
+ */
+@JsonAutoDetect(getterVisibility = JsonAutoDetect.Visibility.NONE,
+                isGetterVisibility = JsonAutoDetect.Visibility.NONE,
+                fieldVisibility = JsonAutoDetect.Visibility.ANY)
+public final class ScoreSheet implements java.io.Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int SEATS = 3;
+
+    private final int[] bullet = new int[SEATS];
+    private final int[] mountain = new int[SEATS];
+    private final int[] whists = new int[SEATS * SEATS];
+
+    public int getBullet(final int seat) {
+        return bullet[seat];
+    }
+
+    public int getMountain(final int seat) {
+        return mountain[seat];
+    }
+
+    /**
+     * Висты, записанные местом {@code writer} на место {@code on}
+     */
+    public int getWhists(final int writer, final int on) {
+        return whists[writer * SEATS + on];
+    }
+
+    /**
+     * Сумма вистов места на соперников за вычетом вистов соперников на него
+     */
+    public int getWhistBalance(final int seat) {
+        int balance = 0;
+        for (int other = 0; other < SEATS; other++) {
+            balance += whists[seat * SEATS + other] - whists[other * SEATS + seat];
+        }
+        return balance;
+    }
+
+    /**
+     * В листе ещё ничего не записано
+     */
+    public boolean isEmpty() {
+        return Arrays.stream(bullet).allMatch(points -> points == 0)
+                && Arrays.stream(mountain).allMatch(points -> points == 0)
+                && Arrays.stream(whists).allMatch(points -> points == 0);
+    }
+
+    void addBullet(final int seat, final int points) {
+        bullet[seat] += points;
+    }
+
+    void addMountain(final int seat, final int points) {
+        mountain[seat] += points;
+    }
+
+    void addWhists(final int writer, final int on, final int points) {
+        whists[writer * SEATS + on] += points;
+    }
+
+    public void clear() {
+        Arrays.fill(bullet, 0);
+        Arrays.fill(mountain, 0);
+        Arrays.fill(whists, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreSheet{" +
+                "bullet=" + Arrays.toString(bullet) +
+                ", mountain=" + Arrays.toString(mountain) +
+                ", whists=" + Arrays.toString(whists) +
+                '}';
+    }
+}
@@ -0,0 +1,287 @@
+package com.prefhub.core.scoring;
+
+import com.prefhub.core.model.CompiledRules;
+import com.prefhub.core.model.Contract;
+import com.prefhub.core.model.GameRules;
+import com.prefhub.core.model.Whist;
+
+/**
+ * Таблица подсчёта очков одного набора правил: пуля, гора и висты.
+ * <p>
+ * Всё, что зависит от правил, считается один раз в {@link #compile}: цена контракта, обязательные взятки
+ * вистующих, цена взятки на распасах. Подсчёт раздачи — чистая функция от исхода раздачи, которая дописывает
+ * результат в {@link ScoreSheet} и ничего не выделяет в куче, так что её можно вызывать из симуляторов и ботов.
+ * <p>
+ * Схема записи:
+ * <ul>
+ *     <li>выполненный контракт — цена контракта в пулю разыгрывающему (при точном выполнении — с премией);</li>
+ *     <li>недобор — недобранные взятки × цена × штраф за недобор в гору разыгрывающему, каждому защитнику —
+ *     недобранные взятки × цена вистов на разыгрывающего;</li>
+ *     <li>вистующий пишет на разыгрывающего свои взятки × цену контракта; единственный вистующий играет
+ *     за обоих и пишет взятки обоих защитников; полвиста — половину обязательных взяток без розыгрыша;</li>
+ *     <li>недовист при выполненном контракте — недобранные до обязательных взятки × цена в гору вистующему;</li>
+ *     <li>мизер — цена в пулю или взятки × цена × штраф в гору, без вистов;</li>
+ *     <li>распасы — каждая взятка × цена взятки в гору, не взявший ни одной взятки пишет цену взятки в пулю.</li>
+ * </ul>
+ * Если пуля ограничена, запись сверх её размера закрывает пулю соседям (с вистами на них по цене очка пули),
+ * а остаток списывает собственную гору.
+ */
+public final class ScoreTable {
+    /**
+     * Висты за очко горы или пули при расчёте, если правила его не задают
+     */
+    private static final int DEFAULT_POINT_VALUE = 10;
+    private static final int SEATS = ScoreSheet.SEATS;
+    private static final int MISER_ORDINAL = Contract.MISER.ordinal();
+
+    private final int[] values;
+    private final int[] tricksNeeded;
+    private final int[] whistObligation;
+    private final int[] raspasyPrices;
+    private final int poolSize;
+    private final int pointValue;
+    private final int undertrickPenalty;
+    private final int exactContractBonus;
+
+    private ScoreTable(final CompiledRules rules) {
+        final var contracts = Contract.values();
+        this.values = new int[contracts.length];
+        this.tricksNeeded = new int[contracts.length];
+        this.whistObligation = new int[contracts.length];
+        for (final var contract : contracts) {
+            final int ordinal = contract.ordinal();
+            values[ordinal] = rules.getContractValue(contract);
+            if (contract.isMiser() || contract.isPass()) {
+                continue;
+            }
+            tricksNeeded[ordinal] = contract.getTricks();
+            whistObligation[ordinal] = switch (contract.getTricks()) {
+                case 6 -> 4;
+                case 7 -> 2;
+                case 10 -> rules.getTenGameMode() == GameRules.TenGameMode.CHECKED ? 0 : 1;
+                default -> 1;
+            };
+        }
+        // Цена взятки на распасах растёт вместе с заказом для выхода: 6 — одно очко, 7 — два, 8 — три
+        final int trickPrice = Math.max(1, rules.getTrickPointsMultiplier() / 2);
+        this.raspasyPrices = new int[3];
+        for (int inRow = 1; inRow <= raspasyPrices.length; inRow++) {
+            raspasyPrices[inRow - 1] = (rules.getMizerExitTricks(inRow) - 5) * trickPrice;
+        }
+        this.poolSize = rules.isPoolEnabled() ? Math.max(0, rules.getPoolSize()) : 0;
+        this.pointValue = rules.getPoolValue() > 0 ? rules.getPoolValue() : DEFAULT_POINT_VALUE;
+        this.undertrickPenalty = Math.max(1, rules.getUndertrickPenalty());
+        this.exactContractBonus = Math.max(0, rules.getExactContractBonus());
+    }
+
+    public static ScoreTable compile(final CompiledRules rules) {
+        return new ScoreTable(rules);
+    }
+
+    /**
+     * Записать сыгранную (или не сыгранную после двух пасов) игру.
+     * Защитники — места слева и справа от разыгрывающего по ходу игры.
+     *
+     * @param declarer       место разыгрывающего
+     * @param declarerTricks взятки разыгрывающего; если оба защитника спасовали — не меньше заказа
+     * @param leftTricks     взятки защитника слева
+     * @param rightTricks    взятки защитника справа
+     * @param leftWhist      решение защитника слева
+     * @param rightWhist     решение защитника справа
+     */
+    public void scoreGame(final ScoreSheet sheet, final int declarer, final Contract contract,
+                          final int declarerTricks, final int leftTricks, final int rightTricks,
+                          final Whist leftWhist, final Whist rightWhist) {
+        final int ordinal = contract.ordinal();
+        final int value = values[ordinal];
+        if (ordinal == MISER_ORDINAL) {
+            if (declarerTricks == 0) {
+                addBullet(sheet, declarer, value);
+            } else {
+                sheet.addMountain(declarer, declarerTricks * value * undertrickPenalty);
+            }
+            return;
+        }
+        if (contract.isPass()) {
+            throw new IllegalArgumentException("Pass is not a game");
+        }
+
+        final int left = (declarer + 1) % SEATS;
+        final int right = (declarer + 2) % SEATS;
+        final int needed = tricksNeeded[ordinal];
+        if (declarerTricks >= needed) {
+            addBullet(sheet, declarer, declarerTricks == needed ? value + exactContractBonus : value);
+        } else {
+            final int undertricks = needed - declarerTricks;
+            sheet.addMountain(declarer, undertricks * value * undertrickPenalty);
+            sheet.addWhists(left, declarer, undertricks * value);
+            sheet.addWhists(right, declarer, undertricks * value);
+        }
+
+        final int obligation = whistObligation[ordinal];
+        final int whisters = (leftWhist == Whist.WHIST ? 1 : 0) + (rightWhist == Whist.WHIST ? 1 : 0);
+        if (whisters == 1) {
+            // Один вистующий играет за обоих защитников
+            final int whister = leftWhist == Whist.WHIST ? left : right;
+            final int defenders = leftTricks + rightTricks;
+            sheet.addWhists(whister, declarer, defenders * value);
+            if (declarerTricks >= needed && defenders < obligation) {
+                sheet.addMountain(whister, (obligation - defenders) * value);
+            }
+        } else if (whisters == 2) {
+            sheet.addWhists(left, declarer, leftTricks * value);
+            sheet.addWhists(right, declarer, rightTricks * value);
+            if (declarerTricks >= needed) {
+                chargeShortfall(sheet, left, right, leftTricks, rightTricks, obligation, value);
+            }
+        }
+        if (leftWhist == Whist.HALF_WHIST) {
+            sheet.addWhists(left, declarer, obligation / 2 * value);
+        } else if (rightWhist == Whist.HALF_WHIST) {
+            sheet.addWhists(right, declarer, obligation / 2 * value);
+        }
+    }
+
+    /**
+     * Недовист двух вистующих: каждый отвечает за половину обязательных взяток,
+     * нечётную взятку при общем недовисте добирает тот, кто взял меньше
+     */
+    private static void chargeShortfall(final ScoreSheet sheet, final int left, final int right,
+                                        final int leftTricks, final int rightTricks,
+                                        final int obligation, final int value) {
+        final int share = obligation / 2;
+        final int leftShort = Math.max(0, share - leftTricks);
+        final int rightShort = Math.max(0, share - rightTricks);
+        sheet.addMountain(left, leftShort * value);
+        sheet.addMountain(right, rightShort * value);
+        if (obligation % 2 != 0 && leftShort + rightShort == 0 && leftTricks + rightTricks < obligation) {
+            sheet.addMountain(leftTricks <= rightTricks ? left : right, value);
+        }
+    }
+
+    /**
+     * Записать распасы
+     *
+     * @param tricks       взятки по местам
+     * @param raspasyInRow номер распасов подряд, начиная с 1
+     */
+    public void scoreRaspasy(final ScoreSheet sheet, final int[] tricks, final int raspasyInRow) {
+        final int price = raspasyPrice(raspasyInRow);
+        for (int seat = 0; seat < SEATS; seat++) {
+            if (tricks[seat] == 0) {
+                addBullet(sheet, seat, price);
+            } else {
+                sheet.addMountain(seat, tricks[seat] * price);
+            }
+        }
+    }
+
+    /**
+     * Завести пустой лист по итогам, записанным до появления листа: пуля и гора переносятся как есть,
+     * висты места делятся между соперниками, нечётный вист — на соседа слева
+     *
+     * @param bullets   пуля по местам
+     * @param mountains гора по местам
+     * @param whists    висты по местам
+     */
+    public void seed(final ScoreSheet sheet, final int[] bullets, final int[] mountains, final int[] whists) {
+        if (!sheet.isEmpty()) {
+            throw new IllegalStateException("Score sheet already has entries");
+        }
+        for (int seat = 0; seat < SEATS; seat++) {
+            sheet.addBullet(seat, bullets[seat]);
+            sheet.addMountain(seat, mountains[seat]);
+            final int half = Math.floorDiv(whists[seat], 2);
+            sheet.addWhists(seat, (seat + 1) % SEATS, whists[seat] - half);
+            sheet.addWhists(seat, (seat + 2) % SEATS, half);
+        }
+    }
+
+    /**
+     * Цена взятки на распасах с данным номером подряд
+     */
+    public int raspasyPrice(final int raspasyInRow) {
+        return raspasyPrices[Math.clamp(raspasyInRow, 1, raspasyPrices.length) - 1];
+    }
+
+    /**
+     * Цена контракта в очках пули
+     */
+    public int value(final Contract contract) {
+        return values[contract.ordinal()];
+    }
+
+    /**
+     * Пуля закрыта: у всех записан её полный размер. Без ограничения пуля не закрывается
+     */
+    public boolean isPoolClosed(final ScoreSheet sheet) {
+        if (poolSize == 0) {
+            return false;
+        }
+        for (int seat = 0; seat < SEATS; seat++) {
+            if (sheet.getBullet(seat) < poolSize) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Расчёт, как если бы пуля закрылась сейчас: недописанная пуля уходит в гору, гора переводится в висты
+     * по цене очка и делится на троих, итог складывается с попарными вистами. Лист не меняется.
+     *
+     * @param balances массив на три места, в который записывается итог в вистах
+     * @return тот же массив
+     */
+    public int[] settle(final ScoreSheet sheet, final int[] balances) {
+        int total = 0;
+        for (int seat = 0; seat < SEATS; seat++) {
+            total += effectiveMountain(sheet, seat);
+        }
+        // Доли вистов за гору — в третях виста; остатки раздаются по одному висту начиная с больших,
+        // чтобы итог оставался целым и в сумме давал ноль
+        int remainders = 0;
+        for (int seat = 0; seat < SEATS; seat++) {
+            final int thirds = pointValue * (total - SEATS * effectiveMountain(sheet, seat));
+            balances[seat] = sheet.getWhistBalance(seat) + Math.floorDiv(thirds, SEATS);
+            remainders += Math.floorMod(thirds, SEATS);
+        }
+        int extra = remainders / SEATS;
+        for (int remainder = SEATS - 1; remainder > 0 && extra > 0; remainder--) {
+            for (int seat = 0; seat < SEATS && extra > 0; seat++) {
+                final int thirds = pointValue * (total - SEATS * effectiveMountain(sheet, seat));
+                if (Math.floorMod(thirds, SEATS) == remainder) {
+                    balances[seat]++;
+                    extra--;
+                }
+            }
+        }
+        return balances;
+    }
+
+    private int effectiveMountain(final ScoreSheet sheet, final int seat) {
+        final int unfinished = poolSize > 0 ? Math.max(0, poolSize - sheet.getBullet(seat)) : 0;
+        return sheet.getMountain(seat) + unfinished;
+    }
+
+    /**
+     * Запись в пулю с учётом её размера: лишнее закрывает пулю соседям, затем списывает свою гору
+     */
+    private void addBullet(final ScoreSheet sheet, final int seat, final int points) {
+        if (poolSize == 0) {
+            sheet.addBullet(seat, points);
+            return;
+        }
+        final int own = Math.min(points, Math.max(0, poolSize - sheet.getBullet(seat)));
+        sheet.addBullet(seat, own);
+        int rest = points - own;
+        for (int step = 1; step < SEATS && rest > 0; step++) {
+            final int other = (seat + step) % SEATS;
+            final int help = Math.min(rest, Math.max(0, poolSize - sheet.getBullet(other)));
+            sheet.addBullet(other, help);
+            sheet.addWhists(seat, other, help * pointValue);
+            rest -= help;
+        }
+        sheet.addMountain(seat, -Math.min(rest, sheet.getMountain(seat)));
+    }
+}
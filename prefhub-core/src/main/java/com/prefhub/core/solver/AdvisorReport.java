@@ -0,0 +1,22 @@
+package com.prefhub.core.solver;
+
+import java.util.List;
+
+/**
+ * Результат работы {@link MonteCarloAdvisor}
+ *
+ * @param estimates     оценки контрактов (для виста — один элемент, контракт разыгрывающего)
+ * @param samples       число разобранных раздач
+ * @param elapsedMillis затраченное время
+ * @param budgetReached выборка остановлена по бюджету времени
+ */
+public record AdvisorReport(
+    List<ContractEstimate> estimates,
+    int samples,
+    long elapsedMillis,
+    boolean budgetReached
+) {
+    public AdvisorReport {
+        estimates = estimates != null ? List.copyOf(estimates) : List.of();
+    }
+}
@@ -0,0 +1,19 @@
+package com.prefhub.core.solver;
+
+import com.prefhub.core.model.Contract;
+
+/**
+ * Оценка контракта по выборке раздач
+ *
+ * @param contract       оцениваемый контракт
+ * @param expectedTricks среднее число взяток разыгрывающего; для мизера — доля раздач, где мизерист ловится
+ * @param successRate    доля раздач, в которых контракт выполнен
+ * @param expectedScore  средний результат разыгрывающего в очках
+ */
+public record ContractEstimate(
+    Contract contract,
+    double expectedTricks,
+    double successRate,
+    double expectedScore
+) {
+}
@@ -0,0 +1,462 @@
+package com.prefhub.core.solver;
+
+import com.prefhub.core.model.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Решатель раздачи в открытую (double dummy): все три руки известны, все играют оптимально.
+ * <p>
+ * Поиск — альфа-бета в виде серии проверок с нулевым окном ("возьмёт ли разыгрывающий не меньше N"),
+ * с таблицей транспозиций на границах взяток (ключ — Zobrist-хеш трёх рук и заходящего),
+ * склейкой эквивалентных карт (соседние по старшинству карты одной руки) и упорядочиванием ходов.
+ * <p>
+ * Экземпляр не потокобезопасен: держите по одному на поток. Таблица транспозиций переживает
+ * вызовы {@code solve} с тем же контрактом и разыгрывающим, что ускоряет анализ соседних позиций.
+ */
+public final class DoubleDummySolver {
+    public static final int DEFAULT_TABLE_BITS = 20;
+    private static final int SEATS = 3;
+    private static final int MAX_DEPTH = 32;
+
+    private static final long[][] CARD_KEYS = new long[SEATS][32];
+    private static final long[] LEADER_KEYS = new long[SEATS];
+
+    static {
+        final var random = new SplittableRandom(0x5052454648554241L);
+        for (int seat = 0; seat < SEATS; seat++) {
+            for (int card = 0; card < 32; card++) {
+                CARD_KEYS[seat][card] = random.nextLong();
+            }
+            LEADER_KEYS[seat] = random.nextLong();
+        }
+    }
+
+    // Таблица транспозиций: границы числа взяток разыгрывающего до конца раздачи
+    private final int tableMask;
+    private final long[] keys;
+    private final byte[] lowerBounds;
+    private final byte[] upperBounds;
+
+    // Текущая позиция
+    private final int[] hands = new int[SEATS];
+    private final int[] table = new int[SEATS];
+    private int tableCount;
+    private int leader;
+    private int depth;
+
+    // Параметры розыгрыша
+    private int trump = -1;
+    private boolean miser;
+    private int declarer = -1;
+
+    private final int[][] moveBuffers = new int[MAX_DEPTH][10];
+    private final int[][] scoreBuffers = new int[MAX_DEPTH][10];
+    private long nodeCount;
+
+    public DoubleDummySolver() {
+        this(DEFAULT_TABLE_BITS);
+    }
+
+    public DoubleDummySolver(final int tableBits) {
+        if (tableBits < 8 || tableBits > 26) {
+            throw new IllegalArgumentException("Table size must be between 2^8 and 2^26 entries");
+        }
+        final int size = 1 << tableBits;
+        this.tableMask = size - 1;
+        this.keys = new long[size];
+        this.lowerBounds = new byte[size];
+        this.upperBounds = new byte[size];
+    }
+
+    /**
+     * Максимальное число взяток разыгрывающего с начала взятки.
+     * Для мизера — число взяток, которое защитники могут навязать разыгрывающему.
+     *
+     * @param hands    руки игроков в порядке мест (маски {@link CardSet})
+     * @param leader   место заходящего
+     * @param declarer место разыгрывающего
+     * @param contract контракт (не пас)
+     * @return число взяток разыгрывающего в оставшихся взятках
+     */
+    public int solve(final int[] hands, final int leader, final int declarer, final Contract contract) {
+        requireTrickStart(hands);
+        return solve(hands, leader, new int[0], declarer, contract);
+    }
+
+    /**
+     * Возьмёт ли разыгрывающий не меньше {@code tricks} взяток с начала взятки.
+     * Одна проверка с нулевым окном — дешевле полного {@link #solve(int[], int, int, Contract)},
+     * когда важен только исход контракта (например, поймают ли мизер).
+     */
+    public boolean reaches(final int[] hands, final int leader, final int declarer, final Contract contract,
+                           final int tricks) {
+        requireTrickStart(hands);
+        prepare(hands, leader, new int[0], declarer, contract);
+        return search(tricks);
+    }
+
+    /**
+     * Итоговое число взяток разыгрывающего в текущей раздаче (уже взятые плюс оптимальный доигрыш).
+     * Учитывает карты, уже лежащие на столе в текущей взятке.
+     */
+    public int solve(final GameState gameState) {
+        if (gameState.getPhase() != GamePhase.PLAYING) {
+            throw new IllegalStateException("Position can only be solved in playing phase");
+        }
+        final var players = gameState.getPlayers();
+        final var declarerPlayer = gameState.getDeclarer();
+        final var positionHands = new int[SEATS];
+        for (int seat = 0; seat < SEATS; seat++) {
+            positionHands[seat] = CardSet.of(players.get(seat).getHand());
+        }
+
+        int trickLeader = gameState.getCurrentPlayerIndex();
+        int[] tableCards = new int[0];
+        final var trick = gameState.getCurrentTrick();
+        if (trick != null && trick.getLeadPlayer() != null) {
+            final var played = trick.getCardsPlayed();
+            trickLeader = players.indexOf(trick.getLeadPlayer());
+            tableCards = new int[played.size()];
+            for (int offset = 0; offset < tableCards.length; offset++) {
+                final var card = played.get(players.get((trickLeader + offset) % SEATS));
+                tableCards[offset] = CardSet.index(card);
+            }
+        }
+
+        final int alreadyTaken = gameState.getTricksWon().getOrDefault(declarerPlayer, 0);
+        return alreadyTaken + solve(positionHands, trickLeader, tableCards,
+                players.indexOf(declarerPlayer), gameState.getContract());
+    }
+
+    /**
+     * Число просмотренных узлов с момента создания решателя
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    private static void requireTrickStart(final int[] hands) {
+        if (hands.length != SEATS) {
+            throw new IllegalArgumentException("Exactly 3 hands expected");
+        }
+        final int size = Integer.bitCount(hands[0]);
+        if (Integer.bitCount(hands[1]) != size || Integer.bitCount(hands[2]) != size) {
+            throw new IllegalArgumentException("Hands must be of equal size at the start of a trick");
+        }
+    }
+
+    private int solve(final int[] positionHands, final int trickLeader, final int[] tableCards,
+                      final int declarerSeat, final Contract contract) {
+        prepare(positionHands, trickLeader, tableCards, declarerSeat, contract);
+
+        int lower = 0;
+        int upper = tricksLeft();
+        if (miser) {
+            // На мизере ответ обычно мал: проверяем снизу вверх
+            while (lower < upper && search(lower + 1)) {
+                lower++;
+            }
+            return lower;
+        }
+        while (lower < upper) {
+            final int target = (lower + upper + 1) >>> 1;
+            if (search(target)) {
+                lower = target;
+            } else {
+                upper = target - 1;
+            }
+        }
+        return lower;
+    }
+
+    private void prepare(final int[] positionHands, final int trickLeader, final int[] tableCards,
+                         final int declarerSeat, final Contract contract) {
+        if (contract == null || contract.isPass()) {
+            throw new IllegalArgumentException("Cannot solve without a contract");
+        }
+        if (declarerSeat < 0 || declarerSeat >= SEATS || trickLeader < 0 || trickLeader >= SEATS) {
+            throw new IllegalArgumentException("Seat index out of range");
+        }
+        if (tableCards.length >= SEATS) {
+            throw new IllegalArgumentException("Trick on the table is already complete");
+        }
+        if ((positionHands[0] & positionHands[1]) != 0 || (positionHands[0] & positionHands[2]) != 0
+                || (positionHands[1] & positionHands[2]) != 0) {
+            throw new IllegalArgumentException("Hands must not share cards");
+        }
+        if (Integer.bitCount(positionHands[trickLeader]) > 10) {
+            throw new IllegalArgumentException("Hands may not hold more than 10 cards");
+        }
+        configure(contract.getTrumpSuit() != null ? contract.getTrumpSuit().ordinal() : -1,
+                contract.isMiser(), declarerSeat);
+
+        System.arraycopy(positionHands, 0, hands, 0, SEATS);
+        leader = trickLeader;
+        tableCount = tableCards.length;
+        System.arraycopy(tableCards, 0, table, 0, tableCount);
+        depth = 0;
+    }
+
+    private void configure(final int trumpIndex, final boolean miserContract, final int declarerSeat) {
+        if (trumpIndex != trump || miserContract != miser || declarerSeat != declarer) {
+            Arrays.fill(keys, 0L);
+            trump = trumpIndex;
+            miser = miserContract;
+            declarer = declarerSeat;
+        }
+    }
+
+    private int tricksLeft() {
+        return Integer.bitCount(hands[leader]) + (tableCount > 0 ? 1 : 0);
+    }
+
+    /**
+     * Возьмёт ли разыгрывающий не меньше {@code need} из оставшихся взяток
+     */
+    private boolean search(final int need) {
+        if (need <= 0) {
+            return true;
+        }
+        final int tricksLeft = tricksLeft();
+        if (need > tricksLeft) {
+            return false;
+        }
+        nodeCount++;
+
+        if (tableCount != 0) {
+            return searchMoves(need);
+        }
+
+        if (!miser) {
+            // Быстрые взятки заходящего: разыгрывающий добирает их сам, защитник отнимает их у разыгрывающего
+            final int quick = quickTricks(leader);
+            if (leader == declarer ? quick >= need : tricksLeft - quick < need) {
+                return leader == declarer;
+            }
+        }
+
+        final long key = positionKey();
+        final int slot = (int) (key ^ (key >>> 32)) & tableMask;
+        if (keys[slot] == key) {
+            if (lowerBounds[slot] >= need) {
+                return true;
+            }
+            if (upperBounds[slot] < need) {
+                return false;
+            }
+        }
+
+        final boolean result = searchMoves(need);
+
+        if (keys[slot] != key) {
+            keys[slot] = key;
+            lowerBounds[slot] = 0;
+            upperBounds[slot] = (byte) tricksLeft;
+        }
+        if (result) {
+            lowerBounds[slot] = (byte) Math.max(lowerBounds[slot], need);
+        } else {
+            upperBounds[slot] = (byte) Math.min(upperBounds[slot], need - 1);
+        }
+        return result;
+    }
+
+    /**
+     * Zobrist-ключ позиции на границе взятки. Карты каждой масти перенумерованы по старшинству
+     * среди ещё живых карт, так что позиции, отличающиеся лишь уже сыгранными картами, совпадают.
+     */
+    private long positionKey() {
+        long key = LEADER_KEYS[leader];
+        final int live = hands[0] | hands[1] | hands[2];
+        for (int suit = 0; suit < 4; suit++) {
+            int relative = suit * CardSet.SUIT_SIZE;
+            for (int rest = live & CardSet.suitMask(suit); rest != 0; rest &= rest - 1) {
+                final int bit = rest & -rest;
+                final int owner = (hands[0] & bit) != 0 ? 0 : (hands[1] & bit) != 0 ? 1 : 2;
+                key ^= CARD_KEYS[owner][relative++];
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Число взяток, которые заходящий берёт подряд старшими картами, не отдавая хода.
+     * В козырной игре некозырные масти учитываются, только если козырей нет ни у кого из остальных.
+     */
+    private int quickTricks(final int seat) {
+        final int own = hands[seat];
+        final int others = (hands[0] | hands[1] | hands[2]) & ~own;
+        final boolean othersHaveTrumps = trump >= 0 && (others & CardSet.suitMask(trump)) != 0;
+
+        int quick = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            if (othersHaveTrumps && suit != trump) {
+                continue;
+            }
+            final int suitOthers = others & CardSet.suitMask(suit);
+            int ownTop = own & CardSet.suitMask(suit);
+            // Старшие карты масти выше любой чужой карты этой масти
+            while (ownTop != 0) {
+                final int highest = 31 - Integer.numberOfLeadingZeros(ownTop);
+                if ((suitOthers >>> highest) != 0) {
+                    break;
+                }
+                quick++;
+                ownTop &= ~(1 << highest);
+                if (suitOthers == 0) {
+                    // Остальные пусты в масти: все оставшиеся карты масти тоже берут
+                    quick += Integer.bitCount(ownTop);
+                    break;
+                }
+            }
+        }
+        return quick;
+    }
+
+    private boolean searchMoves(final int need) {
+        final int seat = (leader + tableCount) % SEATS;
+        // "Максимизирующая" сторона хочет, чтобы разыгрывающий взял больше взяток
+        final boolean maximizing = (seat == declarer) != miser;
+        final int count = orderMoves(seat, maximizing);
+        final int[] moves = moveBuffers[depth];
+
+        for (int i = 0; i < count; i++) {
+            final int card = moves[i];
+            final boolean result = playAndSearch(seat, card, need);
+            if (maximizing == result) {
+                return result;
+            }
+        }
+        return !maximizing;
+    }
+
+    private boolean playAndSearch(final int seat, final int card, final int need) {
+        hands[seat] &= ~(1 << card);
+        table[tableCount++] = card;
+        depth++;
+
+        final boolean result;
+        if (tableCount < SEATS) {
+            result = search(need);
+        } else {
+            final int first = table[0];
+            final int second = table[1];
+            final int savedLeader = leader;
+            final int winner = (leader + winningOffset()) % SEATS;
+            leader = winner;
+            tableCount = 0;
+            result = search(winner == declarer ? need - 1 : need);
+            leader = savedLeader;
+            table[0] = first;
+            table[1] = second;
+            table[2] = card;
+            tableCount = SEATS;
+        }
+
+        depth--;
+        tableCount--;
+        hands[seat] |= 1 << card;
+        return result;
+    }
+
+    /**
+     * Смещение (от заходящего) карты, которая сейчас берёт взятку
+     */
+    private int winningOffset() {
+        int best = 0;
+        for (int offset = 1; offset < tableCount; offset++) {
+            if (beats(table[offset], table[best])) {
+                best = offset;
+            }
+        }
+        return best;
+    }
+
+    private boolean beats(final int card, final int current) {
+        final int suit = CardSet.suitOf(card);
+        final int currentSuit = CardSet.suitOf(current);
+        if (suit == currentSuit) {
+            return card > current;
+        }
+        return suit == trump;
+    }
+
+    private int legalMoves(final int seat) {
+        final int leadSuit = tableCount == 0 ? LegalMoves.NO_SUIT : CardSet.suitOf(table[0]);
+        return LegalMoves.legal(hands[seat], leadSuit, trump);
+    }
+
+    /**
+     * Оставляет по одной (младшей) карте из каждой последовательности карт руки,
+     * между которыми нет ни одной карты, ещё находящейся в игре.
+     */
+    private int collapseEquivalent(final int moves) {
+        int live = hands[0] | hands[1] | hands[2];
+        for (int i = 0; i < tableCount; i++) {
+            live |= 1 << table[i];
+        }
+
+        int result = 0;
+        int previousSuit = -1;
+        boolean previousMine = false;
+        for (int rest = live; rest != 0; rest &= rest - 1) {
+            final int card = Integer.numberOfTrailingZeros(rest);
+            final int suit = CardSet.suitOf(card);
+            if (suit != previousSuit) {
+                previousSuit = suit;
+                previousMine = false;
+            }
+            final boolean mine = (moves & (1 << card)) != 0;
+            if (mine && !previousMine) {
+                result |= 1 << card;
+            }
+            previousMine = mine;
+        }
+        return result;
+    }
+
+    /**
+     * Заполняет буфер ходов текущей глубины в порядке убывания перспективности
+     */
+    private int orderMoves(final int seat, final boolean maximizing) {
+        final int[] moves = moveBuffers[depth];
+        final int[] scores = scoreBuffers[depth];
+        final int candidates = collapseEquivalent(legalMoves(seat));
+
+        final int winnerCard = tableCount > 0 ? table[winningOffset()] : -1;
+        final int winnerSeat = tableCount > 0 ? (leader + winningOffset()) % SEATS : -1;
+
+        int count = 0;
+        for (int rest = candidates; rest != 0; rest &= rest - 1) {
+            final int card = Integer.numberOfTrailingZeros(rest);
+            final int rank = card & 7;
+            final int score;
+            if (winnerCard < 0) {
+                // Заход: в игре на взятки — со старших, на мизере — с младших
+                score = miser ? 8 - rank : rank;
+            } else {
+                final int trickSeat = beats(card, winnerCard) ? seat : winnerSeat;
+                final boolean goodForUs = (trickSeat == declarer) == maximizing;
+                if (miser && seat == declarer) {
+                    // Мизерист избавляется от старших карт: высшая из непроигрышных, иначе просто высшая
+                    score = goodForUs ? 16 + rank : rank;
+                } else {
+                    // Выгодный исход подешевле, иначе сбрасываем младшую
+                    score = goodForUs ? 32 - rank : 8 - rank;
+                }
+            }
+
+            int position = count++;
+            while (position > 0 && scores[position - 1] < score) {
+                moves[position] = moves[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            moves[position] = card;
+            scores[position] = score;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,317 @@
+package com.prefhub.core.solver;
+
+import com.prefhub.core.model.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Советчик по торговле и висту методом Монте-Карло.
+ * <p>
+ * По {@link PlayerView} одного игрока генерирует раздачи скрытых карт, согласованные с его рукой
+ * (и прикупом, если он виден), и решает каждую раздачу {@link DoubleDummySolver}. Контракты одного
+ * номинала (масть или бескозырка) отличаются только уровнем, поэтому раздача решается один раз на номинал.
+ * <p>
+ * Выборка распределяется по {@link ForkJoinPool}; зерно каждой раздачи выводится из общего зерна и её
+ * номера, так что без ограничения по времени результат воспроизводим независимо от числа потоков.
+ */
+public final class MonteCarloAdvisor {
+    private static final int STRAINS = 6; // 4 масти, бескозырка, мизер
+    private static final int NO_TRUMP = 4;
+    private static final int MISER = 5;
+    private static final int MAX_TRICKS = 10;
+    private static final int CHUNK = 8;
+    private static final int SOLVER_TABLE_BITS = 16;
+
+    private final ForkJoinPool pool;
+    private final ThreadLocal<DoubleDummySolver[]> solvers = ThreadLocal.withInitial(() -> {
+        final var perStrain = new DoubleDummySolver[STRAINS];
+        for (int strain = 0; strain < STRAINS; strain++) {
+            perStrain[strain] = new DoubleDummySolver(SOLVER_TABLE_BITS);
+        }
+        return perStrain;
+    });
+
+    /**
+     * Параметры выборки
+     *
+     * @param samples    максимальное число раздач
+     * @param timeBudget ограничение по времени
+     * @param seed       зерно генератора раздач
+     */
+    public record Settings(int samples, Duration timeBudget, long seed) {
+        public Settings {
+            if (samples <= 0) {
+                throw new IllegalArgumentException("Sample count must be positive");
+            }
+            if (timeBudget == null || timeBudget.isNegative() || timeBudget.isZero()) {
+                throw new IllegalArgumentException("Time budget must be positive");
+            }
+        }
+    }
+
+    public MonteCarloAdvisor(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Оценить контракты, которые игрок может заявить (пас не оценивается).
+     * Игрок считается разыгрывающим: берёт прикуп, сносит две карты и заходит первым.
+     */
+    public AdvisorReport adviseBids(final PlayerView view, final List<Contract> candidates, final Settings settings) {
+        final int hand = CardSet.of(view.hand());
+        final int knownWidow = CardSet.of(view.widow());
+        final int hidden = CardSet.FULL & ~(hand | knownWidow);
+
+        final var contracts = candidates.stream().filter(c -> !c.isPass()).toList();
+        final boolean[] strains = new boolean[STRAINS];
+        for (final var contract : contracts) {
+            strains[strainOf(contract)] = true;
+        }
+
+        final Sampler sampler = (random, strainSolvers, tally) -> {
+            final int[] cards = shuffle(hidden, random);
+            int offset = 0;
+            int widow = knownWidow;
+            if (widow == CardSet.EMPTY) {
+                widow = take(cards, 0, 2);
+                offset = 2;
+            }
+            final int[] hands = {0, take(cards, offset, MAX_TRICKS), take(cards, offset + MAX_TRICKS, MAX_TRICKS)};
+            for (int strain = 0; strain < STRAINS; strain++) {
+                if (strains[strain]) {
+                    hands[0] = discard(hand | widow, strain);
+                    tally.record(strain, tricks(strainSolvers[strain], hands, 0, strain));
+                }
+            }
+        };
+
+        final var tally = run(sampler, settings);
+        final var estimates = new ArrayList<ContractEstimate>(contracts.size());
+        for (final var contract : contracts) {
+            estimates.add(estimate(contract, tally.histogram[strainOf(contract)], tally.samples));
+        }
+        return new AdvisorReport(estimates, tally.samples, tally.elapsedMillis, tally.budgetReached);
+    }
+
+    /**
+     * Оценить контракт разыгрывающего с точки зрения защитника.
+     *
+     * @param view           вид защитника с объявленным контрактом
+     * @param declarerOffset на сколько мест после защитника сидит разыгрывающий (1 или 2)
+     */
+    public AdvisorReport adviseWhist(final PlayerView view, final int declarerOffset, final Settings settings) {
+        final var contract = view.contract();
+        if (contract == null || contract.isPass()) {
+            throw new IllegalStateException("No contract to whist against");
+        }
+        if (declarerOffset != 1 && declarerOffset != 2) {
+            throw new IllegalArgumentException("Declarer offset must be 1 or 2");
+        }
+        final int hand = CardSet.of(view.hand());
+        final int hidden = CardSet.FULL & ~hand;
+        final int strain = strainOf(contract);
+        final int partner = 3 - declarerOffset;
+
+        final Sampler sampler = (random, strainSolvers, tally) -> {
+            final int[] cards = shuffle(hidden, random);
+            // Две последние карты — снос разыгрывающего, в игре не участвуют
+            final int[] hands = new int[3];
+            hands[0] = hand;
+            hands[declarerOffset] = take(cards, 0, MAX_TRICKS);
+            hands[partner] = take(cards, MAX_TRICKS, MAX_TRICKS);
+            tally.record(strain, tricks(strainSolvers[strain], hands, declarerOffset, strain));
+        };
+
+        final var tally = run(sampler, settings);
+        return new AdvisorReport(List.of(estimate(contract, tally.histogram[strain], tally.samples)),
+                tally.samples, tally.elapsedMillis, tally.budgetReached);
+    }
+
+    private Tally run(final Sampler sampler, final Settings settings) {
+        final long start = System.nanoTime();
+        final long deadline = start + settings.timeBudget().toNanos();
+        final var tally = pool.invoke(new SampleTask(sampler, settings.seed(), 0, settings.samples(), deadline));
+        tally.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return tally;
+    }
+
+    private static ContractEstimate estimate(final Contract contract, final long[] histogram, final int samples) {
+        if (samples == 0) {
+            return new ContractEstimate(contract, 0, 0, 0);
+        }
+        long tricks = 0;
+        long made = 0;
+        long score = 0;
+        for (int taken = 0; taken <= MAX_TRICKS; taken++) {
+            final long count = histogram[taken];
+            tricks += count * taken;
+            if (isMade(contract, taken)) {
+                made += count;
+            }
+            score += count * score(contract, taken);
+        }
+        return new ContractEstimate(contract, (double) tricks / samples, (double) made / samples,
+                (double) score / samples);
+    }
+
+    private static boolean isMade(final Contract contract, final int tricks) {
+        return contract.isMiser() ? tricks == 0 : tricks >= contract.getTricks();
+    }
+
+    /**
+     * Упрощённый результат разыгрывающего без учёта правил стола: номинал контракта в пулю или в гору
+     */
+    private static int score(final Contract contract, final int tricks) {
+        final int value = contract.isMiser() ? 10 : contract.getTricks();
+        return isMade(contract, tricks) ? value : -value;
+    }
+
+    /**
+     * Взятки разыгрывающего (заходит он же). На мизере достаточно узнать, ловится ли он:
+     * такая раздача учитывается как одна взятка.
+     */
+    private static int tricks(final DoubleDummySolver solver, final int[] hands, final int declarer, final int strain) {
+        if (strain == MISER) {
+            return solver.reaches(hands, declarer, declarer, Contract.MISER, 1) ? 1 : 0;
+        }
+        return solver.solve(hands, declarer, declarer, representative(strain));
+    }
+
+    private static int strainOf(final Contract contract) {
+        if (contract.isMiser()) {
+            return MISER;
+        }
+        return contract.getTrumpSuit() != null ? contract.getTrumpSuit().ordinal() : NO_TRUMP;
+    }
+
+    private static Contract representative(final int strain) {
+        // Контракты шестого уровня упорядочены как масти: 6♠, 6♣, 6♦, 6♥, 6БК
+        return strain == MISER ? Contract.MISER : Contract.values()[strain];
+    }
+
+    private static int[] shuffle(final int set, final SplittableRandom random) {
+        final int[] cards = new int[Integer.bitCount(set)];
+        int i = 0;
+        for (int rest = set; rest != 0; rest &= rest - 1) {
+            cards[i++] = Integer.numberOfTrailingZeros(rest);
+        }
+        for (int j = cards.length - 1; j > 0; j--) {
+            final int k = random.nextInt(j + 1);
+            final int swap = cards[j];
+            cards[j] = cards[k];
+            cards[k] = swap;
+        }
+        return cards;
+    }
+
+    private static int take(final int[] cards, final int from, final int count) {
+        int set = CardSet.EMPTY;
+        for (int i = from; i < from + count; i++) {
+            set |= 1 << cards[i];
+        }
+        return set;
+    }
+
+    /**
+     * Снос до десяти карт: на мизере сносятся старшие, в игре — младшие карты коротких некозырных мастей
+     */
+    private static int discard(final int cards, final int strain) {
+        int result = cards;
+        for (int excess = Integer.bitCount(cards) - MAX_TRICKS; excess > 0; excess--) {
+            int worst = -1;
+            int worstKey = Integer.MAX_VALUE;
+            for (int rest = result; rest != 0; rest &= rest - 1) {
+                final int card = Integer.numberOfTrailingZeros(rest);
+                final int rank = card & 7;
+                final int suit = CardSet.suitOf(card);
+                final int key;
+                if (strain == MISER) {
+                    key = 7 - rank;
+                } else {
+                    final int length = Integer.bitCount(result & CardSet.suitMask(suit));
+                    key = (suit == strain ? 256 : 0) + (rank == 7 ? 128 : 0) + length * 8 + rank;
+                }
+                if (key < worstKey) {
+                    worstKey = key;
+                    worst = card;
+                }
+            }
+            result &= ~(1 << worst);
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface Sampler {
+        void sample(SplittableRandom random, DoubleDummySolver[] solvers, Tally tally);
+    }
+
+    /**
+     * Распределение взяток разыгрывающего по номиналам
+     */
+    private static final class Tally {
+        private final long[][] histogram = new long[STRAINS][MAX_TRICKS + 1];
+        private int samples;
+        private boolean budgetReached;
+        private long elapsedMillis;
+
+        private void record(final int strain, final int tricks) {
+            histogram[strain][tricks]++;
+        }
+
+        private Tally merge(final Tally other) {
+            for (int strain = 0; strain < STRAINS; strain++) {
+                for (int tricks = 0; tricks <= MAX_TRICKS; tricks++) {
+                    histogram[strain][tricks] += other.histogram[strain][tricks];
+                }
+            }
+            samples += other.samples;
+            budgetReached |= other.budgetReached;
+            return this;
+        }
+    }
+
+    private final class SampleTask extends RecursiveTask<Tally> {
+        private final Sampler sampler;
+        private final long seed;
+        private final int from;
+        private final int to;
+        private final long deadline;
+
+        private SampleTask(final Sampler sampler, final long seed, final int from, final int to, final long deadline) {
+            this.sampler = sampler;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > CHUNK) {
+                final int middle = (from + to) >>> 1;
+                final var left = new SampleTask(sampler, seed, from, middle, deadline);
+                left.fork();
+                final var right = new SampleTask(sampler, seed, middle, to, deadline).compute();
+                return left.join().merge(right);
+            }
+
+            final var tally = new Tally();
+            final var strainSolvers = solvers.get();
+            for (int index = from; index < to; index++) {
+                if (System.nanoTime() - deadline > 0) {
+                    tally.budgetReached = true;
+                    break;
+                }
+                sampler.sample(new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L)), strainSolvers, tally);
+                tally.samples++;
+            }
+            return tally;
+        }
+    }
+}
@@ -12,8 +12,10 @@ export type GamePhase =
   | 'WAITING_FOR_PLAYERS'
   | 'BIDDING'
   | 'WIDOW_EXCHANGE'
+  | 'WHISTING'
   | 'PLAYING'
-  | 'ROUND_COMPLETE';
+  | 'ROUND_COMPLETE'
+  | 'GAME_COMPLETE';
 
 export type Contract =
   | 'SIX_SPADES' | 'SIX_CLUBS' | 'SIX_DIAMONDS' | 'SIX_HEARTS'
@@ -23,6 +25,8 @@ export type Contract =
   | 'TEN_SPADES' | 'TEN_CLUBS' | 'TEN_DIAMONDS' | 'TEN_HEARTS'
   | 'MISER' | 'PASS';
 
+export type Whist = 'PASS' | 'WHIST' | 'HALF_WHIST';
+
 export interface GameRules {
   id: string;
   name: string;
@@ -94,6 +98,7 @@ export type ClientMessage =
   | { type: 'getState' }
   | { type: 'placeBid'; contract: Contract }
   | { type: 'exchangeWidow'; cards: Card[] }
+  | { type: 'whist'; whist: Whist }
   | { type: 'playCard'; card: Card }
   | { type: 'startNextRound' };
 
@@ -9,9 +9,12 @@ import type {
   BidRequest,
   PlayCardRequest,
   ExchangeRequest,
-  GameListItem,
+  WhistRequest,
+  LobbyPage,
+  LobbyQuery,
   Card,
-  Contract
+  Contract,
+  Whist
 } from '../types';
 
 class ApiClient {
@@ -107,8 +110,8 @@ class ApiClient {
     return response.data;
   }
 
-  async listGames(): Promise<GameListItem[]> {
-    const response = await this.client.get<GameListItem[]>('/games/list');
+  async listGames(query: LobbyQuery = {}): Promise<LobbyPage> {
+    const response = await this.client.get<LobbyPage>('/games/list', { params: query });
     return response.data;
   }
 
@@ -138,6 +141,12 @@ class ApiClient {
     return response.data;
   }
 
+  async whist(gameId: string, whist: Whist): Promise<PlayerView> {
+    const request: WhistRequest = { gameId, whist };
+    const response = await this.client.post<PlayerView>('/games/whist', request);
+    return response.data;
+  }
+
   async playCard(gameId: string, card: Card): Promise<PlayerView> {
     const request: PlayCardRequest = { gameId, card };
     const response = await this.client.post<PlayerView>('/games/play', request);
@@ -1,4 +1,4 @@
-import type { PlayerView, Card, Contract } from '../types';
+import type { PlayerView, Card, Contract, Whist } from '../types';
 
 type MessageHandler = (data: any) => void;
 
@@ -15,6 +15,9 @@ export class GameWebSocketClient {
   private reconnectDelay = 1000;
   private messageHandlers: Map<string, Set<MessageHandler>> = new Map();
   private isConnecting = false;
+  private redirecting = false;
+  private lobbySubscribed = false;
+  private spectatingGameId: string | null = null;
 
   constructor(private url: string = 'ws://localhost:8091') {}
 
@@ -48,6 +51,12 @@ export class GameWebSocketClient {
           const authHandler = (data: any) => {
             if (data.type === 'authSuccess') {
               console.log('[WebSocket] Authenticated as', data.username);
+              if (this.lobbySubscribed) {
+                this.send({ type: 'subscribeLobby' });
+              }
+              if (this.spectatingGameId) {
+                this.send({ type: 'spectate', gameId: this.spectatingGameId });
+              }
               this.off('authSuccess', authHandler);
               this.off('authError', authErrorHandler);
               resolve();
@@ -87,7 +96,9 @@ export class GameWebSocketClient {
         this.ws.onclose = () => {
           console.log('[WebSocket] Disconnected');
           this.isConnecting = false;
-          this.attemptReconnect();
+          if (!this.redirecting) {
+            this.attemptReconnect();
+          }
         };
       } catch (error) {
         this.isConnecting = false;
@@ -143,6 +154,11 @@ export class GameWebSocketClient {
   }
 
   private handleMessage(data: any) {
+    if (data.type === 'redirect') {
+      this.redirect(data.url, data.gameId);
+      return;
+    }
+
     const handlers = this.messageHandlers.get(data.type);
     if (handlers) {
       handlers.forEach(handler => handler(data));
@@ -155,6 +171,60 @@ export class GameWebSocketClient {
     }
   }
 
+  // In cluster mode a game lives on one node: reconnect there and join again
+  private redirect(url: string, gameId: string) {
+    const token = this.token;
+    if (!token) {
+      return;
+    }
+    console.log(`[WebSocket] Game ${gameId} is served by ${url}, reconnecting`);
+    this.redirecting = true;
+    this.ws?.close();
+    this.ws = null;
+    this.url = url;
+    // A spectated game is re-requested after auth; a played game is joined again
+    this.connect(token)
+      .then(() => {
+        if (this.spectatingGameId !== gameId) {
+          this.joinGame(gameId);
+        }
+      })
+      .catch(console.error)
+      .finally(() => {
+        this.redirecting = false;
+      });
+  }
+
+  // Lobby feed: kept across reconnects until unsubscribed
+  subscribeLobby() {
+    this.lobbySubscribed = true;
+    if (this.ws?.readyState === WebSocket.OPEN) {
+      this.send({ type: 'subscribeLobby' });
+    }
+  }
+
+  unsubscribeLobby() {
+    this.lobbySubscribed = false;
+    if (this.ws?.readyState === WebSocket.OPEN) {
+      this.send({ type: 'unsubscribeLobby' });
+    }
+  }
+
+  // Spectator mode: the server sends 'spectatorState' on every change of the game
+  spectate(gameId: string) {
+    this.spectatingGameId = gameId;
+    if (this.ws?.readyState === WebSocket.OPEN) {
+      this.send({ type: 'spectate', gameId });
+    }
+  }
+
+  stopSpectating() {
+    this.spectatingGameId = null;
+    if (this.ws?.readyState === WebSocket.OPEN) {
+      this.send({ type: 'stopSpectating' });
+    }
+  }
+
   // Game actions
   joinGame(gameId: string) {
     this.send({ type: 'join', gameId });
@@ -172,6 +242,10 @@ export class GameWebSocketClient {
     this.send({ type: 'exchangeWidow', cards });
   }
 
+  whist(whist: Whist) {
+    this.send({ type: 'whist', whist });
+  }
+
   playCard(card: Card) {
     this.send({ type: 'playCard', card });
   }
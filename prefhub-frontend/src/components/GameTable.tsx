@@ -1,11 +1,12 @@
 import { useEffect } from 'react';
 import { useGameStore } from '../store/gameStore';
-import type { Card, Contract } from '../types';
+import type { Card, Contract, Whist } from '../types';
 import { getSuitSymbol, sortCards } from '../types';
 import PlayerCard from './PlayerCard';
 import PlayingCard from './PlayingCard';
 import BiddingPanel from './BiddingPanel';
 import WidowExchangePanel from './WidowExchangePanel';
+import WhistPanel from './WhistPanel';
 import RoundCompletePanel from './RoundCompletePanel';
 import './GameTable.css';
 
@@ -18,6 +19,7 @@ const GameTable = () => {
     playCard,
     placeBid,
     exchangeWidow,
+    whist,
     startNextRound,
     loading,
     error
@@ -33,8 +35,16 @@ const GameTable = () => {
     );
   }
 
+  const isLegal = (card: Card) =>
+    gameState.legalCards.some((c) => c.suit === card.suit && c.rank === card.rank);
+
+  // Open whist: the whister plays the passed defender's cards on their turn
+  const playableHand = gameState.playingFor ? gameState.openHands[gameState.playingFor] || [] : gameState.hand;
+  const openHandsOfOthers = Object.entries(gameState.openHands)
+    .filter(([player]) => player !== (gameState.playingFor || username));
+
   const handleCardClick = async (card: Card) => {
-    if (!gameState.isYourTurn || loading) return;
+    if (!gameState.isYourTurn || loading || !isLegal(card)) return;
 
     try {
       await playCard(card);
@@ -67,6 +77,15 @@ const GameTable = () => {
     }
   };
 
+  const handleWhist = async (decision: Whist) => {
+    if (loading) return;
+    try {
+      await whist(decision);
+    } catch (err) {
+      console.error('Failed to whist:', err);
+    }
+  };
+
   const handleNextRound = async () => {
     if (loading) return;
     try {
@@ -81,8 +100,10 @@ const GameTable = () => {
       WAITING_FOR_PLAYERS: 'Waiting for players',
       BIDDING: 'Bidding phase',
       WIDOW_EXCHANGE: 'Widow exchange',
+      WHISTING: 'Whisting',
       PLAYING: 'Playing',
-      ROUND_COMPLETE: 'Round complete'
+      ROUND_COMPLETE: 'Round complete',
+      GAME_COMPLETE: 'Pool closed'
     };
     return phaseMap[gameState.phase] || gameState.phase;
   };
@@ -121,6 +142,33 @@ const GameTable = () => {
         />
       )}
 
+      {/* Whisting UI */}
+      {gameState.phase === 'WHISTING' && gameState.isYourTurn && gameState.contract && (
+        <WhistPanel
+          contract={gameState.contract}
+          declarer={gameState.declarerUsername || ''}
+          partnerPassed={Object.values(gameState.whists).includes('PASS')}
+          reconsidering={gameState.playerUsername in gameState.whists}
+          onWhist={handleWhist}
+          loading={loading}
+        />
+      )}
+
+      {/* Raspasy: widow cards opened so far set the suit of the first tricks */}
+      {gameState.phase === 'PLAYING' && gameState.contract === 'PASS' && gameState.widow && gameState.widow.length > 0 && (
+        <div className="action-panel widow-panel">
+          <h3>All pass - avoid taking tricks</h3>
+          <div className="widow-cards">
+            <div className="widow-label">Widow Cards:</div>
+            <div className="widow-display">
+              {gameState.widow.map(card => (
+                <PlayingCard key={`${card.suit}-${card.rank}`} card={card} />
+              ))}
+            </div>
+          </div>
+        </div>
+      )}
+
       {/* Round Complete UI */}
       {gameState.phase === 'ROUND_COMPLETE' && (
         <RoundCompletePanel
@@ -193,14 +241,16 @@ const GameTable = () => {
 
         {/* Player's hand */}
         <div className="hand-area">
-          <div className="hand-label">Your Hand</div>
+          <div className="hand-label">
+            {gameState.playingFor ? `Playing for ${gameState.playingFor}` : 'Your Hand'}
+          </div>
           <div className="hand-cards">
-            {gameState.hand.length > 0 ? (
-              sortCards(gameState.hand).map((card) => (
+            {playableHand.length > 0 ? (
+              sortCards(playableHand).map((card) => (
                 <PlayingCard
                   key={`${card.suit}-${card.rank}`}
                   card={card}
-                  isPlayable={gameState.isYourTurn && gameState.phase === 'PLAYING'}
+                  isPlayable={gameState.isYourTurn && gameState.phase === 'PLAYING' && isLegal(card)}
                   onClick={handleCardClick}
                   disabled={loading}
                 />
@@ -211,6 +261,18 @@ const GameTable = () => {
           </div>
         </div>
 
+        {/* Open whist: defenders' hands are visible to everyone */}
+        {openHandsOfOthers.map(([player, cards]) => (
+          <div key={player} className="hand-area">
+            <div className="hand-label">{player === username ? 'Your Hand' : `${player} (open)`}</div>
+            <div className="hand-cards">
+              {sortCards(cards).map((card) => (
+                <PlayingCard key={`${card.suit}-${card.rank}`} card={card} />
+              ))}
+            </div>
+          </div>
+        ))}
+
         {/* Game info sidebar */}
         <div className="game-sidebar">
           <div className="sidebar-section">
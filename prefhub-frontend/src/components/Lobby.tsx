@@ -1,9 +1,31 @@
 import { useState, useEffect } from 'react';
 import { useGameStore } from '../store/gameStore';
 import { apiClient } from '../api/client';
-import type { GameListItem } from '../types';
+import { wsClient } from '../api/websocket';
+import type { GameListItem, LobbyEvent } from '../types';
 import './Lobby.css';
 
+// Events carry the table state, so the latest one per game is enough to patch the list
+const applyLobbyEvents = (games: GameListItem[], events: LobbyEvent[]): GameListItem[] => {
+  const byId = new Map(games.map((game) => [game.gameId, game]));
+  for (const event of events) {
+    if (event.event === 'removed') {
+      byId.delete(event.gameId);
+      continue;
+    }
+    const existing = byId.get(event.gameId);
+    byId.set(event.gameId, {
+      gameId: event.gameId,
+      ruleId: event.ruleId,
+      phase: event.phase,
+      seatsTaken: event.seatsTaken,
+      players: existing?.players ?? [],
+      lastActivity: Date.now(),
+    });
+  }
+  return [...byId.values()].sort((a, b) => a.gameId.localeCompare(b.gameId));
+};
+
 const Lobby = () => {
   const { username, logout, createGame, joinGame, error, loading } = useGameStore();
   const [games, setGames] = useState<GameListItem[]>([]);
@@ -15,9 +37,9 @@ const Lobby = () => {
   const loadGames = async () => {
     try {
       setLoadingGames(true);
-      const gameList = await apiClient.listGames();
+      const page = await apiClient.listGames({ limit: 100 });
       // Normalize the data - backend might return player objects instead of strings
-      const normalized = gameList.map((game: any) => ({
+      const normalized = page.games.map((game: any) => ({
         ...game,
         players: game.players.map((p: any) =>
           typeof p === 'string' ? p : p.username || p.playerUsername || String(p)
@@ -100,12 +122,22 @@ const Lobby = () => {
       checkForActiveGame();
     }
 
-    // Game list no longer needs polling - we can keep it static
-    // or implement a WebSocket event for lobby updates in the future
-    // For now, just load once on mount
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, []);
 
+  // Live lobby updates replace polling: the list loaded on mount is patched by pushed events
+  useEffect(() => {
+    const handleLobby = (data: { events: LobbyEvent[] }) => {
+      setGames((current) => applyLobbyEvents(current, data.events));
+    };
+    wsClient.on('lobby', handleLobby);
+    wsClient.subscribeLobby();
+    return () => {
+      wsClient.off('lobby', handleLobby);
+      wsClient.unsubscribeLobby();
+    };
+  }, []);
+
   const checkForActiveGame = async () => {
     try {
       const response = await apiClient.getActiveGame();
@@ -152,8 +184,10 @@ const Lobby = () => {
       WAITING_FOR_PLAYERS: 'Waiting for players',
       BIDDING: 'Bidding',
       WIDOW_EXCHANGE: 'Widow exchange',
+      WHISTING: 'Whisting',
       PLAYING: 'Playing',
-      ROUND_COMPLETE: 'Round complete'
+      ROUND_COMPLETE: 'Round complete',
+      GAME_COMPLETE: 'Pool closed'
     };
     return phaseMap[phase] || phase;
   };
@@ -211,7 +245,7 @@ const Lobby = () => {
                   <h3>{game.gameId}</h3>
                   <div className="game-info">
                     <p>
-                      <strong>Players:</strong> {game.players.length}/3
+                      <strong>Players:</strong> {game.seatsTaken}/3
                     </p>
                     <p>
                       <strong>Status:</strong> {getPhaseDisplay(game.phase)}
@@ -229,11 +263,11 @@ const Lobby = () => {
                     onClick={() => handleJoinGame(game.gameId)}
                     disabled={
                       loading ||
-                      game.players.length >= 3 ||
+                      game.seatsTaken >= 3 ||
                       game.phase !== 'WAITING_FOR_PLAYERS'
                     }
                   >
-                    {game.players.length >= 3
+                    {game.seatsTaken >= 3
                       ? 'Full'
                       : game.phase !== 'WAITING_FOR_PLAYERS'
                       ? 'In Progress'
@@ -0,0 +1,49 @@
+import type { Contract, Whist } from '../types';
+
+interface WhistPanelProps {
+  contract: Contract;
+  declarer: string;
+  partnerPassed: boolean;
+  reconsidering: boolean;
+  onWhist: (whist: Whist) => void;
+  loading: boolean;
+}
+
+const WhistPanel = ({ contract, declarer, partnerPassed, reconsidering, onWhist, loading }: WhistPanelProps) => {
+  // Half-whist is offered on six and seven after the partner passed; the server checks the rules.
+  // A defender who passed and is asked again after the partner's half-whist may only whist or pass
+  const halfWhistPossible = !reconsidering && partnerPassed && (contract.startsWith('SIX_') || contract.startsWith('SEVEN_'));
+
+  return (
+    <div className="action-panel bidding-panel">
+      <h3>{declarer} plays {contract} - {reconsidering ? 'partner half-whisted, whist instead?' : 'whist?'}</h3>
+      <div className="bidding-options">
+        <button
+          className="bid-button"
+          onClick={() => onWhist('WHIST')}
+          disabled={loading}
+        >
+          Whist
+        </button>
+        {halfWhistPossible && (
+          <button
+            className="bid-button"
+            onClick={() => onWhist('HALF_WHIST')}
+            disabled={loading}
+          >
+            Half-whist
+          </button>
+        )}
+        <button
+          className="bid-button pass-bid"
+          onClick={() => onWhist('PASS')}
+          disabled={loading}
+        >
+          Pass
+        </button>
+      </div>
+    </div>
+  );
+};
+
+export default WhistPanel;
@@ -1,7 +1,7 @@
 import { create } from 'zustand';
 import { apiClient } from '../api/client';
 import { wsClient } from '../api/websocket';
-import type { PlayerView, Card, Contract } from '../types';
+import type { PlayerView, Card, Contract, Whist } from '../types';
 
 interface GameStore {
   // Auth state
@@ -30,6 +30,7 @@ interface GameStore {
   placeBid: (contract: Contract) => Promise<void>;
   playCard: (card: Card) => Promise<void>;
   exchangeWidow: (cards: Card[]) => Promise<void>;
+  whist: (whist: Whist) => Promise<void>;
   startNextRound: () => Promise<void>;
 
   // Utility actions
@@ -278,6 +279,29 @@ export const useGameStore = create<GameStore>((set, get) => ({
     }
   },
 
+  whist: async (whist: Whist) => {
+    const { currentGameId, wsConnected } = get();
+    if (!currentGameId) return;
+
+    try {
+      set({ loading: true, error: null });
+
+      if (wsConnected) {
+        // Use WebSocket for real-time
+        wsClient.whist(whist);
+        set({ loading: false });
+      } else {
+        // Fallback to API
+        const gameState = await apiClient.whist(currentGameId, whist);
+        set({ gameState, loading: false });
+      }
+    } catch (error: any) {
+      const errorMessage = error.response?.data?.message || 'Failed to whist';
+      set({ error: errorMessage, loading: false });
+      throw error;
+    }
+  },
+
   startNextRound: async () => {
     const { currentGameId, wsConnected } = get();
     if (!currentGameId) return;
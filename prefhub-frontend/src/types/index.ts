@@ -13,8 +13,10 @@ export type GamePhase =
   | 'WAITING_FOR_PLAYERS'
   | 'BIDDING'
   | 'WIDOW_EXCHANGE'
+  | 'WHISTING'
   | 'PLAYING'
-  | 'ROUND_COMPLETE';
+  | 'ROUND_COMPLETE'
+  | 'GAME_COMPLETE';
 
 // Contract types
 export type Contract =
@@ -25,6 +27,9 @@ export type Contract =
   | 'TEN_SPADES' | 'TEN_CLUBS' | 'TEN_DIAMONDS' | 'TEN_HEARTS'
   | 'MISER' | 'PASS';
 
+// Defender's decision after the widow exchange
+export type Whist = 'PASS' | 'WHIST' | 'HALF_WHIST';
+
 // Game Rules
 export interface GameRules {
   id: string;
@@ -43,24 +48,58 @@ export interface PlayerView {
   phase: GamePhase;
   roundNumber: number;
   hand: Card[];
+  legalCards: Card[]; // cards that may be played now (empty when not your turn to play)
   otherPlayers: string[];
   currentPlayerUsername: string;
   isYourTurn: boolean;
+  playingFor: string | null; // open whist: the passed defender whose cards you play now
   allowedActions: string[];
   nextActionDescription: string;
   bids: Record<string, string>;
   highestBid: Contract | null;
+  minimumBid: number; // lowest game bid this deal: raised after consecutive raspasy
+  whists: Record<string, Whist>;
   widow: Card[];
+  openHands: Record<string, Card[]>; // hands visible to the whole table (open whist)
   contract: Contract | null;
   declarerUsername: string | null;
   trumpSuit: Suit | null;
   currentTrick: Record<string, Card>;
+  leadSuit: Suit | null;
   tricksWon: Record<string, number>;
   scores: Record<string, number>;
   bullets: Record<string, number>;
   mountains: Record<string, number>;
   lastSeenSeconds: Record<string, number>; // seconds since last ping for each player
-  rules: GameRules;
+  ruleId: string; // rules are referenced, not embedded: GET /api/rules/{ruleId}?hash={rulesHash}
+  rulesHash: string;
+}
+
+// Public view of a game for spectators (WebSocket 'spectatorState' or GET /api/games/spectate)
+export interface SpectatorView {
+  gameId: string;
+  version: number; // grows with every change of the game
+  phase: GamePhase;
+  roundNumber: number;
+  players: string[];
+  currentPlayerUsername: string | null;
+  handSizes: Record<string, number>;
+  openHands: Record<string, Card[]>; // hands visible to the whole table (open whist)
+  bids: Record<string, string>;
+  highestBid: Contract | null;
+  contract: Contract | null;
+  declarerUsername: string | null;
+  trumpSuit: Suit | null;
+  currentTrick: Record<string, Card>;
+  leadSuit: Suit | null;
+  tricksWon: Record<string, number>;
+  scores: Record<string, number>;
+  bullets: Record<string, number>;
+  mountains: Record<string, number>;
+  revealedHands: Record<string, Card[]> | null; // set after the deal when the server reveals hands
+  revealedWidow: Card[] | null;
+  ruleId: string;
+  rulesHash: string;
 }
 
 // Game State (simplified version)
@@ -102,6 +141,11 @@ export interface BidRequest {
   contract: string;
 }
 
+export interface WhistRequest {
+  gameId: string;
+  whist: Whist;
+}
+
 export interface PlayCardRequest {
   gameId: string;
   card: Card;
@@ -118,6 +162,28 @@ export interface GameListItem {
   players: string[];
   phase: GamePhase;
   ruleId: string;
+  seatsTaken: number;
+  lastActivity: number;
+}
+
+export interface LobbyPage {
+  games: GameListItem[];
+  nextCursor: string | null;
+}
+
+export interface LobbyEvent {
+  event: 'created' | 'seats' | 'started' | 'completed' | 'removed';
+  gameId: string;
+  ruleId: string;
+  phase: GamePhase;
+  seatsTaken: number;
+}
+
+export interface LobbyQuery {
+  open?: boolean;
+  ruleId?: string;
+  cursor?: string;
+  limit?: number;
 }
 
 // Helper functions for cards
@@ -96,6 +96,17 @@ class PrefHubClient:
         response.raise_for_status()
         return response.json()
 
+    def whist(self, game_id: str, whist: str) -> Dict:
+        """Whist, pass or half-whist as a defender"""
+        headers = {"Authorization": f"Bearer {self.session_token}"}
+        response = requests.post(
+            f"{self.base_url}/api/games/whist",
+            json={"gameId": game_id, "whist": whist},
+            headers=headers
+        )
+        response.raise_for_status()
+        return response.json()
+
     def play_card(self, game_id: str, card: str) -> Dict:
         """Play a card"""
         headers = {"Authorization": f"Bearer {self.session_token}"}
@@ -230,6 +241,11 @@ class ScenarioRunner:
                     print(f"    Taking prikup, discarding: {discard}")
                     result = client.take_prikup(game_id, discard)
 
+                elif action == "whist":
+                    whist = move["whist"]
+                    print(f"    Whist decision: {whist}")
+                    result = client.whist(game_id, whist)
+
                 elif action == "playCard":
                     card = move["card"]
                     print(f"    Playing card: {card}")
@@ -2,10 +2,20 @@ package com.prefhub.server;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.prefhub.server.controllers.AdminController;
+import com.prefhub.server.controllers.StatsController;
+import com.prefhub.server.controllers.LeaderboardController;
 import com.prefhub.server.controllers.AuthController;
 import com.prefhub.server.controllers.GameController;
+import com.prefhub.server.controllers.MetricsController;
 import com.prefhub.server.controllers.RulesController;
 import com.prefhub.server.di.ServerModule;
+import com.prefhub.server.lobby.LobbyFeed;
+import com.prefhub.server.metrics.MetricsRegistry;
+import com.prefhub.server.trace.MoveTracer;
+import com.prefhub.server.web.assets.StaticAssets;
+import com.prefhub.server.web.assets.StaticFileHandler;
+import com.prefhub.server.web.lobby.LobbyStreamHandler;
 import com.prefhub.server.websocket.GameWebSocketServer;
 import com.sun.net.httpserver.HttpServer;
 import org.glassfish.jersey.jdkhttp.JdkHttpServerFactory;
@@ -27,6 +37,11 @@ public class ServerApplication {
         this.injector = Guice.createInjector(new ServerModule(dataDirectory));
         logger.info("Services configured");
 
+        final var metrics = injector.getInstance(MetricsRegistry.class);
+        final var gameService = injector.getInstance(com.prefhub.server.game.GameService.class);
+        metrics.gauge("active_games", "Games held in memory", () -> gameService.getAllGames().size());
+        metrics.gauge("lobby_open_tables", "Tables waiting for players", gameService::getOpenTableCount);
+
         // Create Jersey resource config
         final ResourceConfig config = new ResourceConfig();
 
@@ -34,7 +49,13 @@ public class ServerApplication {
         config.register(AuthController.class);
         config.register(GameController.class);
         config.register(RulesController.class);
+        config.register(MetricsController.class);
+        config.register(AdminController.class);
+        config.register(StatsController.class);
+        config.register(LeaderboardController.class);
         config.register(com.prefhub.server.web.auth.AuthenticationFilter.class);
+        config.register(com.prefhub.server.web.metrics.MetricsFilter.class);
+        config.register(com.prefhub.server.web.cluster.ClusterRoutingFilter.class);
 
         // Register HK2 binder to bind Guice-managed instances
         config.register(new org.glassfish.hk2.utilities.binding.AbstractBinder() {
@@ -44,8 +65,17 @@ public class ServerApplication {
                 bind(injector.getInstance(com.prefhub.server.auth.AuthService.class)).to(com.prefhub.server.auth.AuthService.class);
                 bind(injector.getInstance(com.prefhub.server.game.GameService.class)).to(com.prefhub.server.game.GameService.class);
                 bind(injector.getInstance(com.prefhub.server.game.RulesLoader.class)).to(com.prefhub.server.game.RulesLoader.class);
-                // Filter
+                bind(injector.getInstance(com.prefhub.server.game.HintService.class)).to(com.prefhub.server.game.HintService.class);
+                bind(injector.getInstance(com.prefhub.server.bot.BotService.class)).to(com.prefhub.server.bot.BotService.class);
+                bind(metrics).to(MetricsRegistry.class);
+                bind(injector.getInstance(MoveTracer.class)).to(MoveTracer.class);
+                bind(injector.getInstance(com.prefhub.server.cluster.ClusterRouter.class)).to(com.prefhub.server.cluster.ClusterRouter.class);
+                bind(injector.getInstance(com.prefhub.server.game.SpectatorViews.class)).to(com.prefhub.server.game.SpectatorViews.class);
+                bind(injector.getInstance(com.prefhub.server.history.HandHistory.class)).to(com.prefhub.server.history.HandHistory.class);
+                // Filters
                 bind(injector.getInstance(com.prefhub.server.web.auth.AuthenticationFilter.class)).to(com.prefhub.server.web.auth.AuthenticationFilter.class);
+                bind(injector.getInstance(com.prefhub.server.web.metrics.MetricsFilter.class)).to(com.prefhub.server.web.metrics.MetricsFilter.class);
+                bind(injector.getInstance(com.prefhub.server.web.cluster.ClusterRoutingFilter.class)).to(com.prefhub.server.web.cluster.ClusterRoutingFilter.class);
                 // Controllers
                 bindFactory(new org.glassfish.hk2.api.Factory<AuthController>() {
                     @Override
@@ -71,6 +101,38 @@ public class ServerApplication {
                     @Override
                     public void dispose(RulesController instance) {}
                 }).to(RulesController.class);
+                bindFactory(new org.glassfish.hk2.api.Factory<MetricsController>() {
+                    @Override
+                    public MetricsController provide() {
+                        return injector.getInstance(MetricsController.class);
+                    }
+                    @Override
+                    public void dispose(MetricsController instance) {}
+                }).to(MetricsController.class);
+                bindFactory(new org.glassfish.hk2.api.Factory<AdminController>() {
+                    @Override
+                    public AdminController provide() {
+                        return injector.getInstance(AdminController.class);
+                    }
+                    @Override
+                    public void dispose(AdminController instance) {}
+                }).to(AdminController.class);
+                bindFactory(new org.glassfish.hk2.api.Factory<StatsController>() {
+                    @Override
+                    public StatsController provide() {
+                        return injector.getInstance(StatsController.class);
+                    }
+                    @Override
+                    public void dispose(StatsController instance) {}
+                }).to(StatsController.class);
+                bindFactory(new org.glassfish.hk2.api.Factory<LeaderboardController>() {
+                    @Override
+                    public LeaderboardController provide() {
+                        return injector.getInstance(LeaderboardController.class);
+                    }
+                    @Override
+                    public void dispose(LeaderboardController instance) {}
+                }).to(LeaderboardController.class);
             }
         });
 
@@ -79,14 +141,23 @@ public class ServerApplication {
         this.httpServer = JdkHttpServerFactory.createHttpServer(baseUri, config, false);
 
         // Add static file handler for root context
-        httpServer.createContext("/", new StaticFileHandler());
+        httpServer.createContext("/", new StaticFileHandler(StaticAssets.load("/static")));
+        httpServer.createContext("/api/lobby/stream", new LobbyStreamHandler(
+            injector.getInstance(com.prefhub.server.auth.AuthService.class), injector.getInstance(LobbyFeed.class)));
 
         // Create WebSocket server on port + 1
         final int wsPort = port + 1;
         this.webSocketServer = new GameWebSocketServer(
             wsPort,
             injector.getInstance(com.prefhub.server.auth.AuthService.class),
-            injector.getInstance(com.prefhub.server.game.GameService.class)
+            gameService,
+            injector.getInstance(com.prefhub.server.bot.BotService.class),
+            metrics,
+            injector.getInstance(MoveTracer.class),
+            injector.getInstance(com.prefhub.server.cluster.ClusterRouter.class),
+            injector.getInstance(LobbyFeed.class),
+            injector.getInstance(com.prefhub.server.game.SpectatorViews.class),
+            injector.getInstance(com.prefhub.server.game.SpectatorSettings.class)
         );
 
         logger.info("Server configured on port {} (HTTP) and {} (WebSocket)", port, wsPort);
@@ -95,6 +166,11 @@ public class ServerApplication {
     public void start() {
         httpServer.start();
         webSocketServer.start();
+        try {
+            injector.getInstance(com.prefhub.server.game.RulesWatcher.class).start();
+        } catch (IOException e) {
+            logger.warn("Rules hot reload is unavailable", e);
+        }
         logger.info("Server started");
         logger.info("HTTP API available at http://localhost:{}/api/", httpServer.getAddress().getPort());
         logger.info("WebSocket available at ws://localhost:{}/", webSocketServer.getPort());
@@ -110,71 +186,17 @@ public class ServerApplication {
             logger.error("Error stopping WebSocket server", e);
         }
         httpServer.stop(0);
+        injector.getInstance(com.prefhub.server.game.RulesWatcher.class).stop();
+        injector.getInstance(com.prefhub.server.bot.BotService.class).shutdown();
+        injector.getInstance(com.prefhub.server.game.HintService.class).shutdown();
+        injector.getInstance(com.prefhub.server.auth.AuthService.class).shutdown();
+        injector.getInstance(LobbyFeed.class).shutdown();
+        injector.getInstance(com.prefhub.server.history.HandHistory.class).shutdown();
+        injector.getInstance(com.prefhub.server.stats.StatsRecorder.class).shutdown();
+        injector.getInstance(com.prefhub.server.leaderboard.Leaderboard.class).shutdown();
         logger.info("Servers stopped");
     }
 
-    // Static file handler
-    private static class StaticFileHandler implements com.sun.net.httpserver.HttpHandler {
-        private static final Logger logger = LoggerFactory.getLogger(StaticFileHandler.class);
-        private static final String DEFAULT_WEB_VERSION = "web-v0";
-
-        @Override
-        public void handle(com.sun.net.httpserver.HttpExchange exchange) throws IOException {
-            String path = exchange.getRequestURI().getPath();
-
-            // Determine which web version to serve
-            String resourcePath;
-
-            if (path.isEmpty() || path.equals("/")) {
-                // Root path - serve default version's index.html
-                resourcePath = "/static/" + DEFAULT_WEB_VERSION + "/index.html";
-            } else if (path.startsWith("/web-v")) {
-                // Explicit version request (e.g., /web-v0/index.html or /web-v1/style.css)
-                // Extract version and file path
-                final int secondSlash = path.indexOf('/', 1);
-                if (secondSlash == -1) {
-                    // Path is just /web-v0 or /web-v1 - serve index.html
-                    resourcePath = "/static" + path + "/index.html";
-                } else {
-                    // Path includes file (e.g., /web-v0/style.css)
-                    resourcePath = "/static" + path;
-                }
-            } else {
-                // Other paths - serve from default version
-                resourcePath = "/static/" + DEFAULT_WEB_VERSION + path;
-            }
-
-            // Try to serve the resource
-            try (final var is = getClass().getResourceAsStream(resourcePath)) {
-                if (is == null) {
-                    logger.debug("Resource not found: {}", resourcePath);
-                    exchange.sendResponseHeaders(404, 0);
-                    exchange.getResponseBody().close();
-                    return;
-                }
-
-                final byte[] bytes = is.readAllBytes();
-                final String contentType = getContentType(resourcePath);
-                exchange.getResponseHeaders().set("Content-Type", contentType);
-                exchange.sendResponseHeaders(200, bytes.length);
-                try (final var os = exchange.getResponseBody()) {
-                    os.write(bytes);
-                }
-            }
-        }
-
-        private String getContentType(final String path) {
-            if (path.endsWith(".html")) return "text/html";
-            if (path.endsWith(".css")) return "text/css";
-            if (path.endsWith(".js")) return "application/javascript";
-            if (path.endsWith(".json")) return "application/json";
-            if (path.endsWith(".ico")) return "image/x-icon";
-            if (path.endsWith(".png")) return "image/png";
-            if (path.endsWith(".jpg") || path.endsWith(".jpeg")) return "image/jpeg";
-            return "application/octet-stream";
-        }
-    }
-
     public static void main(final String[] args) throws IOException {
         final int port = args.length > 0 ? Integer.parseInt(args[0]) : 8090;
         final String dataDirectory = args.length > 1 ? args[1] : "./game-data";
@@ -1,6 +1,10 @@
 package com.prefhub.server;
 
+import com.prefhub.server.bot.SimpleBotPolicy;
+import com.prefhub.server.game.RulesLoader;
+import com.prefhub.server.repository.impl.ResourceRulesRepository;
 import com.prefhub.server.scenario.ScenarioRunner;
+import com.prefhub.server.simulation.GameSimulator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,6 +23,21 @@ public class ServerMain {
             // Prefer IPv4 stack
             System.setProperty("java.net.preferIPv4Stack", "true");
 
+            // Simulation mode: --simulate <games> [dealsPerGame] [threads] [ruleId]
+            if (args.length > 0 && "--simulate".equals(args[0])) {
+                final var games = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+                final var dealsPerGame = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+                final var threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+                final var ruleId = args.length > 4 ? args[4] : null;
+
+                logger.info("Simulating {} games of {} deals on {} threads", games, dealsPerGame, threads);
+                final var rulesLoader = new RulesLoader(new ResourceRulesRepository("/rules"));
+                final var simulator = new GameSimulator(rulesLoader, new SimpleBotPolicy(), ruleId);
+                final var report = simulator.run(games, dealsPerGame, threads);
+                logger.info("Simulation finished:\n{}", report.describe());
+                return;
+            }
+
             // Check for --scenario argument
             String scenarioFile = null;
             int portArgIndex = 0;
@@ -63,6 +82,8 @@ public class ServerMain {
 
                 final var app = new ServerApplication(port, storageDir);
                 app.start();
+                // Остановка по сигналу сохраняет снимок рейтинга и закрывает журналы
+                Runtime.getRuntime().addShutdownHook(new Thread(app::stop));
 
                 logger.info("Server is running. Press Ctrl+C to stop.");
 
@@ -1,61 +1,230 @@
 package com.prefhub.server.auth;
 
 import com.google.inject.Inject;
+import com.prefhub.server.bot.BotService;
 import com.prefhub.server.repository.SessionRepository;
 import com.prefhub.server.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Регистрация и вход.
+ * <p>
+ * Пользователи держатся в памяти, а неизвестные имена какое-то время помнятся как отсутствующие,
+ * поэтому проверка учётных данных не ходит на диск. Хеширование паролей (PBKDF2) выполняется на отдельном
+ * ограниченном пуле: поток запроса ждёт результата, а при переполнении очереди запрос сразу отклоняется,
+ * так что волна входов не отнимает процессор у игр. Хеши старого формата пересчитываются при успешном входе.
+ * <p>
+ * Если задан {@link AuthSettings#tokenSecret()}, вход выдаёт подписанный токен ({@link TokenSigner}) и сессия
+ * в хранилище не создаётся. Выход добавляет токен в список отозванных, который живёт в памяти узла до истечения
+ * срока токена. Выданные ранее идентификаторы сессий продолжают проверяться по хранилищу.
+ */
 public class AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+    private static final int MAX_UNKNOWN_USERS = 10_000;
     private final UserRepository userRepository;
     private final SessionRepository sessionRepository;
+    private final PasswordHasher hasher;
+    private final ThreadPoolExecutor hashExecutor;
+    private final long unknownUserTtlNanos;
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+    // Имена, регистрация которых идёт прямо сейчас
+    private final Set<String> registering = ConcurrentHashMap.newKeySet();
+    // Имя → момент (System.nanoTime), до которого считаем, что такого пользователя нет
+    private final Map<String, Long> unknownUsers = new ConcurrentHashMap<>();
+    private final TokenSigner tokenSigner;
+    private final long tokenTtlSeconds;
+    // Подпись отозванного токена → его срок (секунды epoch)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
 
     @Inject
-    public AuthService(final UserRepository userRepository, final SessionRepository sessionRepository) {
+    public AuthService(final UserRepository userRepository, final SessionRepository sessionRepository,
+                       final AuthSettings settings) {
         this.userRepository = userRepository;
         this.sessionRepository = sessionRepository;
+        this.hasher = new PasswordHasher(settings.hashIterations());
+        this.unknownUserTtlNanos = settings.unknownUserTtl().toNanos();
+        this.hashExecutor = new ThreadPoolExecutor(settings.hashThreads(), settings.hashThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.hashQueueCapacity()), daemonThreads("password-hash"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.tokenSigner = settings.signedTokens()
+                ? new TokenSigner(settings.tokenSecret().getBytes(StandardCharsets.UTF_8))
+                : null;
+        this.tokenTtlSeconds = settings.tokenTtl().toSeconds();
         loadExistingData();
     }
 
     private void loadExistingData() {
-        final var users = userRepository.findAll();
+        userRepository.findAll().forEach(user -> users.put(user.username(), user));
         final var sessions = sessionRepository.findAll();
         logger.info("Loaded {} users and {} sessions from storage", users.size(), sessions.size());
     }
 
-    public synchronized void register(final String username, final String password) {
-        if (userRepository.exists(username)) {
+    /**
+     * Имя занимается до хеширования, поэтому две одновременные регистрации одного имени не перезапишут
+     * друг друга, а регистрации разных имён хешируются параллельно
+     */
+    public void register(final String username, final String password) {
+        if (username.startsWith(BotService.BOT_PREFIX)) {
+            throw new IllegalArgumentException("Username prefix is reserved for bots: " + BotService.BOT_PREFIX);
+        }
+        if (!registering.add(username)) {
             throw new IllegalArgumentException("User already exists");
         }
-        final var user = new User(username, User.hashPassword(password));
-        userRepository.save(user);
+        try {
+            if (users.containsKey(username) || userRepository.exists(username)) {
+                throw new IllegalArgumentException("User already exists");
+            }
+            final var user = new User(username, hash(() -> hasher.hash(password)));
+            userRepository.save(user);
+            users.put(username, user);
+            unknownUsers.remove(username);
+        } finally {
+            registering.remove(username);
+        }
         logger.info("User registered: {}", username);
     }
 
     public String login(final String username, final String password) {
-        final var userOpt = userRepository.findByUsername(username);
-        if (userOpt.isEmpty() || !userOpt.get().verifyPassword(password)) {
+        final var user = findUser(username);
+        if (user == null) {
             throw new IllegalArgumentException("Invalid username or password");
         }
-        final var token = UUID.randomUUID().toString();
-        sessionRepository.save(token, username);
+        final var rehashed = hash(() -> {
+            if (!hasher.verify(password, user.passwordHash())) {
+                throw new IllegalArgumentException("Invalid username or password");
+            }
+            return hasher.needsRehash(user.passwordHash()) ? hasher.hash(password) : null;
+        });
+        if (rehashed != null) {
+            final var migrated = new User(username, rehashed);
+            userRepository.save(migrated);
+            users.put(username, migrated);
+            logger.info("Password hash upgraded for user: {}", username);
+        }
+        final String token;
+        if (tokenSigner != null) {
+            token = tokenSigner.issue(username, Instant.now().getEpochSecond() + tokenTtlSeconds);
+        } else {
+            token = UUID.randomUUID().toString();
+            sessionRepository.save(token, username);
+        }
         logger.info("User logged in: {}", username);
         return token;
     }
 
     public void logout(final String token) {
-        sessionRepository.delete(token);
+        if (tokenSigner != null && TokenSigner.isSigned(token)) {
+            final var claims = tokenSigner.verify(token);
+            if (claims != null) {
+                revoke(claims);
+            }
+        } else {
+            sessionRepository.delete(token);
+        }
         logger.info("User logged out");
     }
 
     public String validateToken(final String token) {
+        if (token == null) {
+            return null;
+        }
+        if (tokenSigner != null && TokenSigner.isSigned(token)) {
+            final var claims = tokenSigner.verify(token);
+            if (claims == null || claims.expiresAtEpochSecond() <= Instant.now().getEpochSecond()
+                    || revokedTokens.containsKey(claims.signature())) {
+                return null;
+            }
+            return claims.username();
+        }
         return sessionRepository.findUsernameByToken(token).orElse(null);
     }
 
     public boolean isAuthenticated(final String token) {
-        return sessionRepository.exists(token);
+        return validateToken(token) != null;
+    }
+
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    /**
+     * Отозвать подписанный токен; записи с истёкшим сроком заодно вычищаются — такие токены и так не пройдут проверку
+     */
+    private void revoke(final TokenSigner.Claims claims) {
+        final long now = Instant.now().getEpochSecond();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        if (claims.expiresAtEpochSecond() > now) {
+            revokedTokens.put(claims.signature(), claims.expiresAtEpochSecond());
+        }
+    }
+
+    /**
+     * Пользователь из памяти; промах проверяется в хранилище один раз за {@link AuthSettings#unknownUserTtl()}
+     * (файл мог появиться в обход сервера)
+     */
+    private User findUser(final String username) {
+        final var user = users.get(username);
+        if (user != null) {
+            return user;
+        }
+        final var unknownUntil = unknownUsers.get(username);
+        if (unknownUntil != null && unknownUntil - System.nanoTime() > 0) {
+            return null;
+        }
+        final var stored = userRepository.findByUsername(username);
+        if (stored.isPresent()) {
+            users.put(username, stored.get());
+            unknownUsers.remove(username);
+            return stored.get();
+        }
+        if (unknownUsers.size() >= MAX_UNKNOWN_USERS) {
+            unknownUsers.clear(); // Перебор случайных имён не должен расти без предела
+        }
+        unknownUsers.put(username, System.nanoTime() + unknownUserTtlNanos);
+        return null;
+    }
+
+    /**
+     * Выполнить вычисление на пуле хеширования и дождаться результата
+     *
+     * @throws IllegalStateException если очередь хеширования переполнена
+     */
+    private <T> T hash(final Callable<T> task) {
+        final Future<T> future;
+        try {
+            future = hashExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Too many login attempts, try again later");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while checking password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password check failed", e.getCause());
+        }
+    }
+
+    private static ThreadFactory daemonThreads(final String prefix) {
+        final var counter = new AtomicInteger();
+        return runnable -> {
+            final var thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
@@ -0,0 +1,59 @@
+package com.prefhub.server.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Параметры проверки паролей и токенов
+ *
+ * @param hashIterations   число итераций PBKDF2; при увеличении старые хеши пересчитываются при входе
+ * @param hashThreads      число потоков, занятых хешированием паролей
+ * @param hashQueueCapacity сколько входов и регистраций может ждать хеширования; остальные сразу отклоняются
+ * @param unknownUserTtl   сколько помнить, что пользователя нет, прежде чем снова заглянуть в хранилище
+ * @param tokenSecret      секрет для подписанных токенов (не короче 32 байт); {@code null} — сессии в хранилище
+ * @param tokenTtl         срок действия подписанного токена
+ */
+public record AuthSettings(int hashIterations, int hashThreads, int hashQueueCapacity, Duration unknownUserTtl,
+                           String tokenSecret, Duration tokenTtl) {
+    public AuthSettings {
+        if (hashIterations <= 0 || hashThreads <= 0 || hashQueueCapacity <= 0) {
+            throw new IllegalArgumentException("Hash iterations, threads and queue capacity must be positive");
+        }
+        if (unknownUserTtl == null || unknownUserTtl.isNegative()) {
+            throw new IllegalArgumentException("Unknown user TTL must not be negative");
+        }
+        if (tokenSecret != null && tokenSecret.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalArgumentException("Token secret must be at least 32 bytes");
+        }
+        if (tokenTtl == null || tokenTtl.isNegative() || tokenTtl.isZero()) {
+            throw new IllegalArgumentException("Token TTL must be positive");
+        }
+    }
+
+    public boolean signedTokens() {
+        return tokenSecret != null;
+    }
+
+    /**
+     * Те же параметры, но с подписанными токенами вместо сессий в хранилище
+     */
+    public AuthSettings withTokenSecret(final String secret) {
+        return new AuthSettings(hashIterations, hashThreads, hashQueueCapacity, unknownUserTtl, secret, tokenTtl);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthSettings[hashIterations=" + hashIterations + ", hashThreads=" + hashThreads
+                + ", hashQueueCapacity=" + hashQueueCapacity + ", unknownUserTtl=" + unknownUserTtl
+                + ", signedTokens=" + signedTokens() + ", tokenTtl=" + tokenTtl + "]";
+    }
+
+    /**
+     * 310 000 итераций PBKDF2-HMAC-SHA256, четверть ядер под хеширование, очередь на 64 запроса;
+     * сессии в хранилище, подписанные токены (если включены) живут 12 часов
+     */
+    public static AuthSettings defaults() {
+        final int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        return new AuthSettings(310_000, threads, 64, Duration.ofMinutes(1), null, Duration.ofHours(12));
+    }
+}
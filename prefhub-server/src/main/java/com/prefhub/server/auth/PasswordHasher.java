@@ -0,0 +1,85 @@
+package com.prefhub.server.auth;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Хеширование паролей PBKDF2-HMAC-SHA256 из JDK.
+ * <p>
+ * Хеш хранится строкой {@code pbkdf2$<итерации>$<соль>$<хеш>} (Base64), поэтому стоимость можно поднять,
+ * не трогая старые записи: {@link #needsRehash} подскажет, что запись пора пересчитать при следующем входе.
+ * Строка без префикса — прежний формат ({@code String.hashCode()}), он проверяется только ради миграции.
+ */
+public class PasswordHasher {
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    public PasswordHasher(final int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iterations must be positive");
+        }
+        this.iterations = iterations;
+    }
+
+    public String hash(final String password) {
+        final var salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        final var encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(derive(password, salt, iterations));
+    }
+
+    public boolean verify(final String password, final String stored) {
+        if (!isPbkdf2(stored)) {
+            return MessageDigest.isEqual(legacyHash(password).getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+        }
+        final var parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        final var decoder = Base64.getDecoder();
+        final var expected = decoder.decode(parts[3]);
+        return MessageDigest.isEqual(expected, derive(password, decoder.decode(parts[2]), Integer.parseInt(parts[1])));
+    }
+
+    /**
+     * Запись в старом формате или с меньшей стоимостью, чем настроена сейчас
+     */
+    public boolean needsRehash(final String stored) {
+        if (!isPbkdf2(stored)) {
+            return true;
+        }
+        final var parts = stored.split("\\$");
+        return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+    }
+
+    private static boolean isPbkdf2(final String stored) {
+        return stored.startsWith(PREFIX + "$");
+    }
+
+    private static String legacyHash(final String password) {
+        return String.valueOf(password.hashCode());
+    }
+
+    private static byte[] derive(final String password, final byte[] salt, final int iterations) {
+        final var spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
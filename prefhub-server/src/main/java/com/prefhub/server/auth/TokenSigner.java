@@ -0,0 +1,83 @@
+package com.prefhub.server.auth;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Подписанные токены {@code <имя в Base64url>.<срок в секундах epoch>.<HMAC-SHA256>}.
+ * <p>
+ * Проверка не обращается ни к хранилищу, ни к общему состоянию: у каждого потока свой {@link Mac},
+ * поэтому аутентификация масштабируется по ядрам, а узлы с одинаковым секретом принимают токены друг друга.
+ */
+public class TokenSigner {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> macs;
+
+    public TokenSigner(final byte[] secret) {
+        final var key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                final var mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+        macs.get(); // Неверный ключ обнаружится при старте, а не на первом запросе
+    }
+
+    public String issue(final String username, final long expiresAtEpochSecond) {
+        final var payload = ENCODER.encodeToString(username.getBytes(StandardCharsets.UTF_8)) + "." + expiresAtEpochSecond;
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * @return содержимое токена или {@code null}, если токен искажён или подпись не сходится; срок не проверяется
+     */
+    public Claims verify(final String token) {
+        final int user = token.indexOf('.');
+        final int expiry = token.indexOf('.', user + 1);
+        if (user <= 0 || expiry < 0 || token.indexOf('.', expiry + 1) >= 0) {
+            return null;
+        }
+        final var payload = token.substring(0, expiry);
+        final var signature = token.substring(expiry + 1);
+        try {
+            final var mac = DECODER.decode(signature);
+            // Декодер пропускает неиспользуемые биты последнего символа и дополнение: у одной подписи несколько записей,
+            // и отозванный токен нельзя было бы узнать по строке. Принимается только каноническая запись
+            if (!MessageDigest.isEqual(sign(payload), mac) || !signature.equals(ENCODER.encodeToString(mac))) {
+                return null;
+            }
+            final var username = new String(DECODER.decode(token.substring(0, user)), StandardCharsets.UTF_8);
+            return new Claims(username, Long.parseLong(token.substring(user + 1, expiry)), signature);
+        } catch (IllegalArgumentException e) {
+            return null; // Не Base64 или не число
+        }
+    }
+
+    /**
+     * Является ли строка подписанным токеном, а не идентификатором сессии
+     */
+    public static boolean isSigned(final String token) {
+        return token.indexOf('.') >= 0;
+    }
+
+    private byte[] sign(final String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param signature подпись в канонической записи Base64url — уникальна для токена и служит ключом в списке отозванных
+     */
+    public record Claims(String username, long expiresAtEpochSecond, String signature) {
+    }
+}
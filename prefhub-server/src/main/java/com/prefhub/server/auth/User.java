@@ -1,14 +1,9 @@
 package com.prefhub.server.auth;
 
 import java.io.Serializable;
-import java.util.Objects;
 
+/**
+ * @param passwordHash хеш пароля в формате {@link PasswordHasher}; у старых учётных записей — прежний числовой хеш
+ */
 public record User(String username, String passwordHash) implements Serializable {
-    public boolean verifyPassword(String password) {
-        return Objects.equals(hashPassword(password), passwordHash);
-    }
-
-    public static String hashPassword(String password) {
-        return String.valueOf(password.hashCode());
-    }
 }
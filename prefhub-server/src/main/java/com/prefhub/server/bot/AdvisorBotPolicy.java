@@ -0,0 +1,57 @@
+package com.prefhub.server.bot;
+
+import com.prefhub.core.model.Card;
+import com.prefhub.core.model.Contract;
+import com.prefhub.core.model.PlayerView;
+import com.prefhub.core.model.Whist;
+import com.prefhub.core.solver.ContractEstimate;
+import com.prefhub.core.solver.MonteCarloAdvisor;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Бот, торгующийся по оценкам {@link MonteCarloAdvisor}. Снос, вист и розыгрыш — по {@link SimpleBotPolicy}.
+ * Выборка ограничена временем, так что решение укладывается в отведённый боту срок.
+ */
+public class AdvisorBotPolicy implements BotPolicy {
+    private static final int SAMPLES = 200;
+    private static final double MIN_SUCCESS_RATE = 0.6;
+
+    private final MonteCarloAdvisor advisor;
+    private final Duration timeBudget;
+    private final SimpleBotPolicy simple = new SimpleBotPolicy();
+
+    public AdvisorBotPolicy(final MonteCarloAdvisor advisor, final Duration timeBudget) {
+        this.advisor = advisor;
+        this.timeBudget = timeBudget;
+    }
+
+    @Override
+    public Contract chooseBid(final PlayerView view, final List<Contract> available) {
+        final long seed = Objects.hash(view.gameId(), view.roundNumber(), view.playerUsername());
+        final var report = advisor.adviseBids(view, available, new MonteCarloAdvisor.Settings(SAMPLES, timeBudget, seed));
+        return report.estimates().stream()
+                .filter(e -> e.successRate() >= MIN_SUCCESS_RATE && e.expectedScore() > 0)
+                .max(Comparator.comparingDouble(ContractEstimate::expectedScore))
+                .map(ContractEstimate::contract)
+                .orElse(Contract.PASS);
+    }
+
+    @Override
+    public List<Card> chooseDiscard(final PlayerView view) {
+        return simple.chooseDiscard(view);
+    }
+
+    @Override
+    public Whist chooseWhist(final PlayerView view, final List<Whist> available) {
+        return simple.chooseWhist(view, available);
+    }
+
+    @Override
+    public Card chooseCard(final PlayerView view) {
+        return simple.chooseCard(view);
+    }
+}
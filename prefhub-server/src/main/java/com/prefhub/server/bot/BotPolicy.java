@@ -0,0 +1,39 @@
+package com.prefhub.server.bot;
+
+import com.prefhub.core.model.Card;
+import com.prefhub.core.model.Contract;
+import com.prefhub.core.model.PlayerView;
+import com.prefhub.core.model.Whist;
+
+import java.util.List;
+
+/**
+ * Стратегия бота. Решения принимаются только по {@link PlayerView} своего места,
+ * поэтому бот видит ровно то же, что и игрок-человек.
+ */
+public interface BotPolicy {
+    /**
+     * Заявка в торговле
+     *
+     * @param available допустимые сейчас заявки (включая пас)
+     */
+    Contract chooseBid(PlayerView view, List<Contract> available);
+
+    /**
+     * Две карты в снос; вид содержит руку и открытый прикуп
+     */
+    List<Card> chooseDiscard(PlayerView view);
+
+    /**
+     * Решение защитника о висте
+     *
+     * @param available допустимые сейчас решения
+     */
+    Whist chooseWhist(PlayerView view, List<Whist> available);
+
+    /**
+     * Карта для хода, одна из {@link PlayerView#legalCards()}; при висте в открытую — из руки пасующего,
+     * за которого ходит бот
+     */
+    Card chooseCard(PlayerView view);
+}
@@ -0,0 +1,198 @@
+package com.prefhub.server.bot;
+
+import com.google.inject.Inject;
+import com.prefhub.core.model.*;
+import com.prefhub.core.solver.MonteCarloAdvisor;
+import com.prefhub.server.game.GameListener;
+import com.prefhub.server.game.GameService;
+import com.prefhub.server.game.RulesValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Боты за игровым столом.
+ * <p>
+ * Решения всех ботов сервера принимаются на одном ограниченном пуле низкоприоритетных потоков с короткой очередью,
+ * поэтому сотни партий с ботами не отнимают процессор у запросов людей. На каждое решение отводится срок:
+ * если основная стратегия не успела или очередь переполнена, ход делается по {@link SimpleBotPolicy}.
+ * <p>
+ * Боты только торгуются, сносят и ходят; следующий раунд начинают люди.
+ */
+public class BotService implements GameListener {
+    private static final Logger logger = LoggerFactory.getLogger(BotService.class);
+    public static final String BOT_PREFIX = "bot-";
+
+    private final GameService gameService;
+    private final BotSettings settings;
+    private final BotPolicy policy;
+    private final BotPolicy fallback = new SimpleBotPolicy();
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService scheduler;
+    private final ForkJoinPool advisorPool;
+    private final Map<String, ScheduledFuture<?>> autoFills = new ConcurrentHashMap<>();
+
+    @Inject
+    public BotService(final GameService gameService, final BotSettings settings) {
+        this.gameService = gameService;
+        this.settings = settings;
+        this.executor = new ThreadPoolExecutor(settings.threads(), settings.threads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.queueCapacity()), daemonThreads("bot-worker", Thread.MIN_PRIORITY),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("bot-scheduler", Thread.NORM_PRIORITY));
+        // Выборка Монте-Карло занимает не больше половины срока, остальное — запас на очередь и сам ход
+        this.advisorPool = new ForkJoinPool(settings.threads());
+        this.policy = new AdvisorBotPolicy(new MonteCarloAdvisor(advisorPool),
+                settings.decisionDeadline().dividedBy(2));
+
+        gameService.addListener(this);
+        // Партии, загруженные из хранилища, могут ждать хода бота или свободных мест
+        for (final var game : gameService.getAllGames()) {
+            onGameChanged(game);
+        }
+    }
+
+    public static boolean isBot(final String username) {
+        return username != null && username.startsWith(BOT_PREFIX);
+    }
+
+    /**
+     * Посадить бота на свободное место
+     *
+     * @return имя бота
+     */
+    public String addBot(final String gameId) {
+        final var gameState = gameService.getGame(gameId);
+        if (gameState == null) {
+            throw new IllegalArgumentException("Game not found: " + gameId);
+        }
+        final var taken = gameState.getPlayers().stream().map(Player::getUsername).toList();
+        for (int number = 1; number <= 3; number++) {
+            final var name = BOT_PREFIX + number;
+            if (!taken.contains(name)) {
+                gameService.joinGame(gameId, name);
+                logger.info("Bot {} joined game {}", name, gameId);
+                return name;
+            }
+        }
+        throw new IllegalStateException("Game is full");
+    }
+
+    @Override
+    public void onGameChanged(final GameState gameState) {
+        final String actor;
+        synchronized (gameState) {
+            actor = switch (gameState.getPhase()) {
+                case WAITING_FOR_PLAYERS -> {
+                    scheduleAutoFill(gameState);
+                    yield null;
+                }
+                case BIDDING, WHISTING -> gameState.getCurrentPlayer().getUsername();
+                case PLAYING -> gameState.getActingPlayer().getUsername();
+                case WIDOW_EXCHANGE -> gameState.getDeclarer().getUsername();
+                default -> null;
+            };
+        }
+        if (isBot(actor)) {
+            submit(gameState.getGameId(), actor);
+        }
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+        advisorPool.shutdownNow();
+    }
+
+    private void scheduleAutoFill(final GameState gameState) {
+        if (settings.autoFillAfter().isZero() || gameState.getPlayers().isEmpty()) {
+            return;
+        }
+        final var gameId = gameState.getGameId();
+        autoFills.computeIfAbsent(gameId, id -> scheduler.schedule(() -> autoFill(id),
+                settings.autoFillAfter().toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private void autoFill(final String gameId) {
+        autoFills.remove(gameId);
+        final var gameState = gameService.getGame(gameId);
+        try {
+            while (gameState != null && gameState.getPhase() == GamePhase.WAITING_FOR_PLAYERS && !gameState.isFull()) {
+                addBot(gameId);
+            }
+        } catch (IllegalStateException e) {
+            // Место заняли между проверкой и посадкой
+            logger.debug("Auto-fill of game {} stopped: {}", gameId, e.getMessage());
+        }
+    }
+
+    /**
+     * Поставить решение в очередь. Основная стратегия и запасная по истечении срока соревнуются за один флаг:
+     * ход делает тот, кто успел первым.
+     */
+    private void submit(final String gameId, final String bot) {
+        final var decided = new AtomicBoolean();
+        final Future<?> task;
+        try {
+            task = executor.submit(() -> act(gameId, bot, policy, decided));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Bot queue is full, {} in game {} moves by fallback", bot, gameId);
+            scheduler.execute(() -> act(gameId, bot, fallback, decided));
+            return;
+        }
+        scheduler.schedule(() -> {
+            if (!decided.get()) {
+                task.cancel(true);
+                act(gameId, bot, fallback, decided);
+            }
+        }, settings.decisionDeadline().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void act(final String gameId, final String bot, final BotPolicy botPolicy, final AtomicBoolean decided) {
+        try {
+            final var view = gameService.getPlayerView(gameId, bot);
+            final var gameState = gameService.getGame(gameId);
+            final Runnable move = switch (view.phase()) {
+                case BIDDING -> {
+                    final var bid = botPolicy.chooseBid(view, RulesValidator.getAvailableBids(gameState));
+                    yield () -> gameService.placeBid(gameId, bot, bid);
+                }
+                case WIDOW_EXCHANGE -> {
+                    final var discard = botPolicy.chooseDiscard(view);
+                    yield () -> gameService.exchangeWidow(gameId, bot, discard);
+                }
+                case WHISTING -> {
+                    final var whist = botPolicy.chooseWhist(view, gameService.getAvailableWhists(gameId));
+                    yield () -> gameService.whist(gameId, bot, whist);
+                }
+                case PLAYING -> {
+                    final var card = botPolicy.chooseCard(view);
+                    yield () -> gameService.playCard(gameId, bot, card);
+                }
+                default -> null;
+            };
+            if (move != null && decided.compareAndSet(false, true)) {
+                move.run();
+            }
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            // Партия ушла вперёд, пока бот думал
+            logger.debug("Bot {} in game {} skipped move: {}", bot, gameId, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Bot {} failed in game {}", bot, gameId, e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(final String prefix, final int priority) {
+        final var counter = new AtomicInteger();
+        return runnable -> {
+            final var thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(priority);
+            return thread;
+        };
+    }
+}
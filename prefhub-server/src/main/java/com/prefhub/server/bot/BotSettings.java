@@ -0,0 +1,33 @@
+package com.prefhub.server.bot;
+
+import java.time.Duration;
+
+/**
+ * Параметры ботов
+ *
+ * @param threads          число потоков, принимающих решения за всех ботов сервера
+ * @param queueCapacity    длина очереди решений; при переполнении бот ходит по запасной эвристике
+ * @param decisionDeadline время на одно решение, после которого применяется запасная эвристика
+ * @param autoFillAfter    через сколько ожидания свободные места занимают боты; {@link Duration#ZERO} — не занимать
+ */
+public record BotSettings(int threads, int queueCapacity, Duration decisionDeadline, Duration autoFillAfter) {
+    public BotSettings {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Bot thread and queue sizes must be positive");
+        }
+        if (decisionDeadline == null || decisionDeadline.isNegative() || decisionDeadline.isZero()) {
+            throw new IllegalArgumentException("Decision deadline must be positive");
+        }
+        if (autoFillAfter == null || autoFillAfter.isNegative()) {
+            throw new IllegalArgumentException("Auto-fill delay must not be negative");
+        }
+    }
+
+    /**
+     * Четверть ядер под ботов, полсекунды на решение, свободные места занимаются через минуту
+     */
+    public static BotSettings defaults() {
+        final int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        return new BotSettings(threads, 1024, Duration.ofMillis(500), Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,152 @@
+package com.prefhub.server.bot;
+
+import com.prefhub.core.model.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Простая эвристика без перебора: считает старшие карты и длину мастей.
+ * Отвечает за микросекунды, поэтому служит и запасной стратегией при истечении времени на решение.
+ */
+public class SimpleBotPolicy implements BotPolicy {
+
+    @Override
+    public Contract chooseBid(final PlayerView view, final List<Contract> available) {
+        final var hand = view.hand();
+        Suit bestSuit = null;
+        int bestTricks = 0;
+        for (final var suit : Suit.values()) {
+            final int tricks = estimateTricks(hand, suit);
+            if (tricks > bestTricks) {
+                bestTricks = tricks;
+                bestSuit = suit;
+            }
+        }
+
+        // Самая дешёвая заявка в своей масти, которую рука, по оценке, выполняет
+        for (final var contract : available) {
+            if (!contract.isPass() && !contract.isMiser()
+                    && contract.getTrumpSuit() == bestSuit && bestSuit != null
+                    && contract.getTricks() <= bestTricks) {
+                return contract;
+            }
+        }
+        return available.contains(Contract.PASS) ? Contract.PASS : available.getFirst();
+    }
+
+    @Override
+    public List<Card> chooseDiscard(final PlayerView view) {
+        final var cards = new ArrayList<>(view.hand());
+        cards.addAll(view.widow());
+        final var trump = view.contract() != null ? view.contract().getTrumpSuit() : null;
+        final boolean miser = view.contract() != null && view.contract().isMiser();
+
+        final Comparator<Card> worstFirst;
+        if (miser) {
+            // На мизере избавляемся от старших карт
+            worstFirst = Comparator.comparing((Card c) -> c.rank().getValue()).reversed();
+        } else {
+            // Младшие карты коротких некозырных мастей, тузы и козыри — в последнюю очередь
+            worstFirst = Comparator.comparing((Card c) -> c.suit() == trump)
+                    .thenComparing(c -> c.rank() == Rank.ACE)
+                    .thenComparing(c -> countSuit(cards, c.suit()))
+                    .thenComparing(c -> c.rank().getValue());
+        }
+        return cards.stream().sorted(worstFirst).limit(2).toList();
+    }
+
+    @Override
+    public Whist chooseWhist(final PlayerView view, final List<Whist> available) {
+        // Вистуем, если старших карт хватает на свою долю обязательных взяток: на шестерной — две, выше — одна
+        final int share = view.contract().getTricks() == 6 ? 2 : 1;
+        if (available.contains(Whist.WHIST) && estimateTricks(view.hand(), view.trumpSuit()) - 1 >= share) {
+            return Whist.WHIST;
+        }
+        if (available.contains(Whist.HALF_WHIST)) {
+            return Whist.HALF_WHIST;
+        }
+        return available.contains(Whist.PASS) ? Whist.PASS : available.getFirst();
+    }
+
+    @Override
+    public Card chooseCard(final PlayerView view) {
+        final var legalCards = view.legalCards();
+        final var trump = view.trumpSuit();
+        final var byRank = Comparator.comparing((Card c) -> c.rank().getValue());
+        // Мизерист и все на распасах стараются не брать взяток
+        final boolean avoidTricks = view.contract() != null && (view.contract().isPass()
+                || view.contract().isMiser() && view.playerUsername().equals(view.declarerUsername()));
+
+        if (view.currentTrick().isEmpty()) {
+            if (avoidTricks) {
+                return legalCards.stream().min(byRank).orElseThrow();
+            }
+            // Заходим с самой длинной масти: старшей картой, если в ней туз, иначе младшей
+            final var longest = legalCards.stream()
+                    .max(Comparator.comparing((Card c) -> countSuit(legalCards, c.suit())))
+                    .orElseThrow().suit();
+            final var suitCards = legalCards.stream().filter(c -> c.suit() == longest).toList();
+            final var top = suitCards.stream().max(byRank).orElseThrow();
+            return top.rank() == Rank.ACE ? top : suitCards.stream().min(byRank).orElseThrow();
+        }
+
+        Card winning = null;
+        for (final var card : view.currentTrick().values()) {
+            if (card.suit() != view.leadSuit() && card.suit() != trump) {
+                continue; // Снос не берёт взятку
+            }
+            if (winning == null || beats(card, winning, trump)) {
+                winning = card;
+            }
+        }
+        // Масть взятки, заданную прикупом, могло ещё никто не сыграть: тогда берёт любая карта этой масти
+        final var best = winning;
+        final var winners = legalCards.stream()
+                .filter(c -> best == null ? c.suit() == view.leadSuit() : beats(c, best, trump))
+                .toList();
+        final var losers = legalCards.stream().filter(c -> !winners.contains(c)).toList();
+
+        if (avoidTricks) {
+            // Старшая карта, которая не берёт; если взять придётся — хотя бы младшей
+            return !losers.isEmpty() ? losers.stream().max(byRank).orElseThrow() : winners.stream().min(byRank).orElseThrow();
+        }
+        return !winners.isEmpty() ? winners.stream().min(byRank).orElseThrow() : losers.stream().min(byRank).orElseThrow();
+    }
+
+    /**
+     * Грубая оценка взяток при игре в масти {@code trump}: тузы, короли при второй карте масти,
+     * длина козыря сверх трёх карт и одна взятка на прикуп
+     */
+    private static int estimateTricks(final List<Card> hand, final Suit trump) {
+        int tricks = 1;
+        for (final var suit : Suit.values()) {
+            final int length = countSuit(hand, suit);
+            if (hand.contains(new Card(suit, Rank.ACE))) {
+                tricks++;
+            }
+            if (length >= 2 && hand.contains(new Card(suit, Rank.KING))) {
+                tricks++;
+            }
+            if (suit == trump && length > 3) {
+                tricks += length - 3;
+            }
+        }
+        return tricks;
+    }
+
+    private static int countSuit(final List<Card> cards, final Suit suit) {
+        return (int) cards.stream().filter(c -> c.suit() == suit).count();
+    }
+
+    /**
+     * Бьёт ли карта {@code card} текущую старшую карту взятки (та всегда в масти захода или козырная)
+     */
+    private static boolean beats(final Card card, final Card winning, final Suit trump) {
+        if (card.suit() == winning.suit()) {
+            return card.rank().getValue() > winning.rank().getValue();
+        }
+        return trump != null && card.suit() == trump;
+    }
+}
@@ -0,0 +1,190 @@
+package com.prefhub.server.cluster;
+
+import com.google.inject.Inject;
+import com.prefhub.server.auth.AuthSettings;
+import com.prefhub.server.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Распределение партий и пользователей по узлам кластера.
+ * <p>
+ * Партия живёт на узле, которому её {@code gameId} принадлежит на {@link HashRing}; пользователь хранится на узле
+ * своего имени. Запрос, пришедший не на тот узел, пересылается владельцу с заголовком {@link #FORWARDED_HEADER},
+ * и владелец обрабатывает его локально. Состав кластера статический, поэтому кольцо одинаково на всех узлах.
+ * Токены должны быть подписанными (общий секрет): сессии в файле одного узла другие узлы не видят.
+ * Тем же секретом подписан и заголовок пересылки: {@code <узел>.<секунды epoch>.<HMAC-SHA256 метода, пути и времени>},
+ * поэтому клиент не может выдать свой запрос за пересланный и обойти маршрутизацию.
+ */
+public class ClusterRouter {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterRouter.class);
+    public static final String FORWARDED_HEADER = "X-PrefHub-Forwarded";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Duration FORWARD_WINDOW = Duration.ofSeconds(30);
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final ClusterSettings settings;
+    private final HashRing ring;
+    private final HttpClient client;
+    private final MetricsRegistry metrics;
+    private final ThreadLocal<Mac> macs;
+
+    @Inject
+    public ClusterRouter(final ClusterSettings settings, final AuthSettings authSettings, final MetricsRegistry metrics) {
+        if (settings.enabled() && !authSettings.signedTokens()) {
+            throw new IllegalStateException("Cluster mode requires signed tokens (prefhub.token.secret)");
+        }
+        this.settings = settings;
+        this.ring = new HashRing(settings.nodes().keySet(), settings.virtualNodes());
+        this.client = HttpClient.newBuilder().connectTimeout(settings.requestTimeout()).build();
+        this.metrics = metrics;
+        final var key = settings.enabled() ? new SecretKeySpec(authSettings.tokenSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM) : null;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                final var mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+        if (settings.enabled()) {
+            logger.info("Cluster node {} of {}", settings.selfId(), settings.nodes());
+        }
+    }
+
+    public boolean isEnabled() {
+        return settings.enabled();
+    }
+
+    public String ownerOfGame(final String gameId) {
+        return ring.owner("game:" + gameId);
+    }
+
+    public String ownerOfUser(final String username) {
+        return ring.owner("user:" + username);
+    }
+
+    public boolean isLocal(final String nodeId) {
+        return settings.selfId().equals(nodeId);
+    }
+
+    public String webSocketUrl(final String nodeId) {
+        final var address = settings.nodes().get(nodeId);
+        final int colon = address.lastIndexOf(':');
+        return "ws://" + address.substring(0, colon) + ":" + (Integer.parseInt(address.substring(colon + 1)) + 1);
+    }
+
+    /**
+     * Пришёл ли запрос от другого узла кластера: заголовок пересылки подписан общим секретом
+     * для этого метода и пути, и подпись свежая
+     *
+     * @param header       значение {@link #FORWARDED_HEADER} или {@code null}
+     * @param pathAndQuery путь относительно {@code /api/} вместе со строкой запроса
+     */
+    public boolean isForwarded(final String header, final String method, final String pathAndQuery) {
+        if (header == null || !settings.enabled()) {
+            return false;
+        }
+        final int signature = header.lastIndexOf('.');
+        final int time = header.lastIndexOf('.', signature - 1);
+        if (time <= 0) {
+            return false;
+        }
+        final var nodeId = header.substring(0, time);
+        final long sentAt;
+        try {
+            sentAt = Long.parseLong(header.substring(time + 1, signature));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (isLocal(nodeId) || !settings.nodes().containsKey(nodeId)
+                || Math.abs(Instant.now().getEpochSecond() - sentAt) > FORWARD_WINDOW.toSeconds()) {
+            return false;
+        }
+        final var expected = sign(nodeId, sentAt, method, pathAndQuery).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(expected, header.substring(signature + 1).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Переслать запрос узлу-владельцу
+     *
+     * @param pathAndQuery путь относительно {@code /api/} вместе со строкой запроса
+     */
+    public HttpResponse<byte[]> forward(final String nodeId, final String method, final String pathAndQuery,
+                                        final String authorization, final byte[] body)
+            throws IOException, InterruptedException {
+        metrics.counter("cluster_forwarded_total", "Requests forwarded to the owning node", "node", nodeId).increment();
+        return client.send(request(nodeId, method, pathAndQuery, authorization, body), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Выполнить запрос на всех остальных узлах параллельно.
+     * Недоступные узлы и ответы с ошибкой пропускаются: список лобби лучше показать неполным, чем не показать.
+     */
+    public List<byte[]> fanOut(final String method, final String pathAndQuery, final String authorization) {
+        final var calls = new ArrayList<CompletableFuture<HttpResponse<byte[]>>>();
+        for (final var nodeId : settings.nodes().keySet()) {
+            if (!isLocal(nodeId)) {
+                calls.add(client.sendAsync(request(nodeId, method, pathAndQuery, authorization, null),
+                                HttpResponse.BodyHandlers.ofByteArray())
+                        .exceptionally(e -> {
+                            logger.warn("Node {} did not answer {}: {}", nodeId, pathAndQuery, e.getMessage());
+                            return null;
+                        }));
+            }
+        }
+        final var bodies = new ArrayList<byte[]>(calls.size());
+        for (final var call : calls) {
+            final var response = call.join();
+            if (response != null && response.statusCode() / 100 == 2) {
+                bodies.add(response.body());
+            }
+        }
+        return bodies;
+    }
+
+    private HttpRequest request(final String nodeId, final String method, final String pathAndQuery,
+                                final String authorization, final byte[] body) {
+        final var builder = HttpRequest.newBuilder(URI.create("http://" + settings.nodes().get(nodeId) + "/api/" + pathAndQuery))
+                .timeout(settings.requestTimeout())
+                .header(FORWARDED_HEADER, forwardedHeader(method, pathAndQuery))
+                .method(method, body == null || body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        if (body != null && body.length > 0) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return builder.build();
+    }
+
+    private String forwardedHeader(final String method, final String pathAndQuery) {
+        final long now = Instant.now().getEpochSecond();
+        return settings.selfId() + "." + now + "." + sign(settings.selfId(), now, method, pathAndQuery);
+    }
+
+    private String sign(final String nodeId, final long epochSecond, final String method, final String pathAndQuery) {
+        final var data = nodeId + "\n" + epochSecond + "\n" + method + "\n" + pathAndQuery;
+        return ENCODER.encodeToString(macs.get().doFinal(data.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.prefhub.server.cluster;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Статическая конфигурация кластера
+ *
+ * @param selfId         идентификатор этого узла
+ * @param nodes          все узлы кластера: идентификатор → {@code host:port} HTTP API (WebSocket — на порту +1)
+ * @param virtualNodes   число точек каждого узла на кольце; чем больше, тем ровнее распределение партий
+ * @param requestTimeout сколько ждать ответа соседнего узла
+ */
+public record ClusterSettings(String selfId, Map<String, String> nodes, int virtualNodes, Duration requestTimeout) {
+    public ClusterSettings {
+        nodes = Map.copyOf(nodes);
+        if (!nodes.containsKey(selfId)) {
+            throw new IllegalArgumentException("Node " + selfId + " is not listed in cluster nodes " + nodes.keySet());
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual node count must be positive");
+        }
+        if (requestTimeout == null || requestTimeout.isNegative() || requestTimeout.isZero()) {
+            throw new IllegalArgumentException("Request timeout must be positive");
+        }
+    }
+
+    /**
+     * Один узел: маршрутизация выключена
+     */
+    public static ClusterSettings standalone() {
+        return new ClusterSettings("local", Map.of("local", "localhost"), 1, Duration.ofSeconds(5));
+    }
+
+    /**
+     * @param nodes список {@code id=host:port} через запятую, например {@code a=localhost:8090,b=localhost:8092}
+     */
+    public static ClusterSettings parse(final String selfId, final String nodes) {
+        final var parsed = new LinkedHashMap<String, String>();
+        for (final var entry : nodes.split(",")) {
+            final var trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            final int separator = trimmed.indexOf('=');
+            if (separator <= 0 || separator == trimmed.length() - 1) {
+                throw new IllegalArgumentException("Cluster node must be id=host:port: " + trimmed);
+            }
+            parsed.put(trimmed.substring(0, separator).trim(), trimmed.substring(separator + 1).trim());
+        }
+        return new ClusterSettings(selfId, parsed, 128, Duration.ofSeconds(5));
+    }
+
+    public boolean enabled() {
+        return nodes.size() > 1;
+    }
+}
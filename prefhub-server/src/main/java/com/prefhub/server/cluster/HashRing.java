@@ -0,0 +1,69 @@
+package com.prefhub.server.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Кольцо согласованного хеширования.
+ * <p>
+ * Каждый узел занимает {@code virtualNodes} точек; ключ принадлежит узлу с ближайшей точкой по часовой стрелке.
+ * При добавлении или удалении узла переезжает только его доля ключей. Кольцо неизменяемо: поиск —
+ * двоичный поиск по отсортированному массиву без блокировок.
+ */
+public class HashRing {
+    private final long[] points;
+    private final String[] owners;
+
+    public HashRing(final Collection<String> nodeIds, final int virtualNodes) {
+        if (nodeIds.isEmpty()) {
+            throw new IllegalArgumentException("Hash ring needs at least one node");
+        }
+        final var ids = nodeIds.stream().sorted().toList();
+        final int size = ids.size() * virtualNodes;
+        final var hashes = new long[size];
+        final var nodes = new String[size];
+        for (int n = 0; n < ids.size(); n++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[n * virtualNodes + v] = hash(ids.get(n) + "#" + v);
+                nodes[n * virtualNodes + v] = ids.get(n);
+            }
+        }
+        final var order = IntStream.range(0, size).boxed()
+                .sorted(Comparator.comparingLong((Integer i) -> hashes[i]).thenComparing(i -> nodes[i]))
+                .mapToInt(Integer::intValue).toArray();
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = nodes[order[i]];
+        }
+    }
+
+    public String owner(final String key) {
+        final int found = Arrays.binarySearch(points, hash(key));
+        final int index = found >= 0 ? found : -found - 1;
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * Первые 8 байт SHA-256: одинаково на всех узлах и JVM, в отличие от {@link String#hashCode()}
+     */
+    static long hash(final String key) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (digest[i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,46 @@
+package com.prefhub.server.controllers;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.prefhub.server.trace.MoveTracer;
+import com.prefhub.server.trace.SlowTrace;
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Diagnostics for server operators, listed in the {@code prefhub.admins} system property.
+ */
+@Path("/admin")
+@Produces(MediaType.APPLICATION_JSON)
+public class AdminController {
+    private final MoveTracer tracer;
+    private final Set<String> admins;
+
+    @Inject
+    public AdminController(final MoveTracer tracer, @Named("admins") final Set<String> admins) {
+        this.tracer = tracer;
+        this.admins = admins;
+    }
+
+    @GET
+    @Path("/traces/slow")
+    public List<SlowTrace> slowTraces(@Context ContainerRequestContext requestContext) {
+        requireAdmin(requestContext);
+        return tracer.slowTraces();
+    }
+
+    private void requireAdmin(final ContainerRequestContext requestContext) {
+        final String username = (String) requestContext.getProperty("username");
+        if (!admins.contains(username)) {
+            throw new ForbiddenException("Admin access required");
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.prefhub.server.controllers;
 
 import com.google.inject.Inject;
 import com.prefhub.server.auth.AuthService;
+import com.prefhub.server.cluster.ClusterRouter;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 
@@ -15,10 +16,12 @@ import java.util.Map;
 @Consumes(MediaType.APPLICATION_JSON)
 public class AuthController {
     private final AuthService authService;
+    private final ClusterRouter clusterRouter;
 
     @Inject
-    public AuthController(final AuthService authService) {
+    public AuthController(final AuthService authService, final ClusterRouter clusterRouter) {
         this.authService = authService;
+        this.clusterRouter = clusterRouter;
     }
 
     @POST
@@ -37,8 +40,15 @@ public class AuthController {
 
     @POST
     @Path("/logout")
-    public Map<String, String> logout(@HeaderParam("Authorization") String authHeader) {
-        // Token validation would be done by a filter
+    public Map<String, String> logout(@HeaderParam("Authorization") String authHeader,
+                                      @HeaderParam(ClusterRouter.FORWARDED_HEADER) String forwardedBy) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            authService.logout(authHeader.substring(7));
+            // Список отозванных токенов у каждого узла свой
+            if (clusterRouter.isEnabled() && forwardedBy == null) {
+                clusterRouter.fanOut("POST", "auth/logout", authHeader);
+            }
+        }
         return Map.of("message", "Logout successful");
     }
 
@@ -1,15 +1,35 @@
 package com.prefhub.server.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prefhub.core.model.Card;
 import com.prefhub.core.model.Contract;
 import com.prefhub.core.model.PlayerView;
+import com.prefhub.core.model.Whist;
+import com.prefhub.core.solver.AdvisorReport;
 import com.google.inject.Inject;
+import com.prefhub.server.bot.BotService;
+import com.prefhub.server.cluster.ClusterRouter;
 import com.prefhub.server.game.GameService;
+import com.prefhub.server.game.GameSummary;
+import com.prefhub.server.game.LobbyPage;
+import com.prefhub.server.game.HintService;
+import com.prefhub.server.game.SpectatorViews;
+import com.prefhub.server.history.HandHistory;
+import com.prefhub.server.history.HandRecord;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -20,11 +40,26 @@ import java.util.List;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public class GameController {
+    private static final int MAX_PAGE_SIZE = 200;
     private final GameService gameService;
+    private final HintService hintService;
+    private final BotService botService;
+    private final ClusterRouter clusterRouter;
+    private final ObjectMapper objectMapper;
+    private final SpectatorViews spectatorViews;
+    private final HandHistory handHistory;
 
     @Inject
-    public GameController(final GameService gameService) {
+    public GameController(final GameService gameService, final HintService hintService, final BotService botService,
+                          final ClusterRouter clusterRouter, final ObjectMapper objectMapper,
+                          final SpectatorViews spectatorViews, final HandHistory handHistory) {
         this.gameService = gameService;
+        this.hintService = hintService;
+        this.botService = botService;
+        this.clusterRouter = clusterRouter;
+        this.objectMapper = objectMapper;
+        this.spectatorViews = spectatorViews;
+        this.handHistory = handHistory;
     }
 
     @POST
@@ -44,10 +79,52 @@ public class GameController {
         return gameService.getPlayerView(request.gameId(), username);
     }
 
+    @POST
+    @Path("/add-bot")
+    public PlayerView addBot(JoinGameRequest request, @Context ContainerRequestContext requestContext) {
+        final String username = (String) requestContext.getProperty("username");
+        // Сажать ботов может только игрок за этим столом
+        gameService.getPlayerView(request.gameId(), username);
+        botService.addBot(request.gameId());
+        return gameService.getPlayerView(request.gameId(), username);
+    }
+
+    /**
+     * Lobby page: game summaries ordered by gameId, optionally only open tables and one rule set.
+     * Pass {@code nextCursor} of the previous page as {@code cursor} to continue.
+     */
     @GET
     @Path("/list")
-    public Object listGames() {
-        return gameService.getAllGames();
+    public LobbyPage listGames(@QueryParam("open") @DefaultValue("false") boolean openOnly,
+                               @QueryParam("ruleId") String ruleId,
+                               @QueryParam("cursor") String cursor,
+                               @QueryParam("limit") @DefaultValue("50") int limit,
+                               @HeaderParam(ClusterRouter.FORWARDED_HEADER) String forwardedBy,
+                               @HeaderParam(HttpHeaders.AUTHORIZATION) String authorization,
+                               @Context UriInfo uriInfo) {
+        final int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        final var local = gameService.listLobby(openOnly, ruleId, cursor, pageSize);
+        if (!clusterRouter.isEnabled() || forwardedBy != null) {
+            return local;
+        }
+        // В кластере каждый узел знает только свои партии: берём страницу с каждого и сливаем по gameId
+        final var games = new ArrayList<>(local.games());
+        boolean more = local.nextCursor() != null;
+        final var query = uriInfo.getRequestUri().getRawQuery();
+        for (final var body : clusterRouter.fanOut("GET", query == null ? "games/list" : "games/list?" + query, authorization)) {
+            try {
+                final var page = objectMapper.readValue(body, LobbyPage.class);
+                games.addAll(page.games());
+                more |= page.nextCursor() != null;
+            } catch (IOException e) {
+                throw new IllegalStateException("Malformed lobby page from cluster node", e);
+            }
+        }
+        games.sort(Comparator.comparing(GameSummary::gameId));
+        if (games.size() > pageSize) {
+            return new LobbyPage(List.copyOf(games.subList(0, pageSize)), games.get(pageSize - 1).gameId());
+        }
+        return new LobbyPage(games, more && !games.isEmpty() ? games.getLast().gameId() : null);
     }
 
     @GET
@@ -57,12 +134,65 @@ public class GameController {
         return gameService.getPlayerView(gameId, username);
     }
 
+    /**
+     * Public view of a game for spectators: the cached frame of the current version, tagged with the process epoch,
+     * the game's generation and that version, so polling clients get 304 until the game moves on and never match
+     * a tag from before a restart or from an earlier game with the same id.
+     */
+    @GET
+    @Path("/spectate")
+    public Response spectate(@QueryParam("gameId") String gameId, @Context Request request) {
+        final var frame = spectatorViews.current(gameId);
+        final var etag = new EntityTag(frame.tag());
+        final var cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+        final var notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.cacheControl(cacheControl).build();
+        }
+        return Response.ok(frame.json()).tag(etag).cacheControl(cacheControl).build();
+    }
+
+    /**
+     * Numbers of the recorded hands of a game, ascending.
+     */
+    @GET
+    @Path("/history")
+    public List<Integer> getHandHistory(@QueryParam("gameId") String gameId) {
+        return handHistory.rounds(gameId);
+    }
+
+    /**
+     * Replays one recorded hand: the deal, bidding, discards, every trick and the scores after it.
+     */
+    @GET
+    @Path("/history/hand")
+    public HandRecord getHand(@QueryParam("gameId") String gameId, @QueryParam("round") int round) {
+        return handHistory.replay(gameId, round)
+                .orElseThrow(() -> new NotFoundException("Hand not found: " + gameId + "/" + round));
+    }
+
     @GET
     @Path("/active")
-    public ActiveGameResponse getActiveGame(@Context ContainerRequestContext requestContext) {
+    public ActiveGameResponse getActiveGame(@Context ContainerRequestContext requestContext,
+                                            @HeaderParam(ClusterRouter.FORWARDED_HEADER) String forwardedBy,
+                                            @HeaderParam(HttpHeaders.AUTHORIZATION) String authorization) {
         final String username = (String) requestContext.getProperty("username");
         final String gameId = gameService.findActiveGameForPlayer(username);
-        return new ActiveGameResponse(gameId);
+        if (gameId != null || !clusterRouter.isEnabled() || forwardedBy != null) {
+            return new ActiveGameResponse(gameId);
+        }
+        for (final var body : clusterRouter.fanOut("GET", "games/active", authorization)) {
+            try {
+                final var response = objectMapper.readValue(body, ActiveGameResponse.class);
+                if (response.gameId() != null) {
+                    return response;
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Malformed active game from cluster node", e);
+            }
+        }
+        return new ActiveGameResponse(null);
     }
 
     @POST
@@ -79,6 +209,20 @@ public class GameController {
         return gameService.getAvailableBids(gameId);
     }
 
+    @GET
+    @Path("/hints/bids")
+    public AdvisorReport getBidHints(@QueryParam("gameId") String gameId, @Context ContainerRequestContext requestContext) {
+        final String username = (String) requestContext.getProperty("username");
+        return hintService.adviseBids(gameId, username);
+    }
+
+    @GET
+    @Path("/hints/whist")
+    public AdvisorReport getWhistHints(@QueryParam("gameId") String gameId, @Context ContainerRequestContext requestContext) {
+        final String username = (String) requestContext.getProperty("username");
+        return hintService.adviseWhist(gameId, username);
+    }
+
     @POST
     @Path("/exchange")
     public PlayerView exchangeWidow(ExchangeRequest request, @Context ContainerRequestContext requestContext) {
@@ -87,6 +231,20 @@ public class GameController {
         return gameService.getPlayerView(request.gameId(), username);
     }
 
+    @POST
+    @Path("/whist")
+    public PlayerView whist(WhistRequest request, @Context ContainerRequestContext requestContext) {
+        final String username = (String) requestContext.getProperty("username");
+        gameService.whist(request.gameId(), username, Whist.valueOf(request.whist()));
+        return gameService.getPlayerView(request.gameId(), username);
+    }
+
+    @GET
+    @Path("/available-whists")
+    public Object getAvailableWhists(@QueryParam("gameId") String gameId) {
+        return gameService.getAvailableWhists(gameId);
+    }
+
     @POST
     @Path("/play")
     public PlayerView playCard(PlayCardRequest request, @Context ContainerRequestContext requestContext) {
@@ -108,6 +266,7 @@ public class GameController {
     public record JoinGameRequest(String gameId) {}
     public record BidRequest(String gameId, String contract) {}
     public record ExchangeRequest(String gameId, List<Card> cards) {}
+    public record WhistRequest(String gameId, String whist) {}
     public record PlayCardRequest(String gameId, Card card) {}
     public record NextRoundRequest(String gameId) {}
     public record ActiveGameResponse(String gameId) {}
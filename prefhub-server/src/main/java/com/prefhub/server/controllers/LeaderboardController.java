@@ -0,0 +1,83 @@
+package com.prefhub.server.controllers;
+
+import com.google.inject.Inject;
+import com.prefhub.server.leaderboard.Leaderboard;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.util.function.Supplier;
+
+/**
+ * Global and per-rule-set leaderboard. Every response carries the leaderboard version as ETag,
+ * so clients polling an unchanged leaderboard get 304 without the ranking being read.
+ * Without {@code ruleId} the global leaderboard is used.
+ */
+@Path("/leaderboard")
+@Produces(MediaType.APPLICATION_JSON)
+public class LeaderboardController {
+    private static final int MAX_LIMIT = 200;
+    private static final int MAX_RADIUS = 50;
+    private final Leaderboard leaderboard;
+
+    @Inject
+    public LeaderboardController(final Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    @GET
+    @Path("/top")
+    public Response top(@QueryParam("ruleId") String ruleId,
+                        @QueryParam("offset") @DefaultValue("0") int offset,
+                        @QueryParam("limit") @DefaultValue("50") int limit,
+                        @Context Request request) {
+        return cached(ruleId, request, () ->
+                leaderboard.top(ruleId, Math.max(offset, 0), Math.clamp(limit, 1, MAX_LIMIT)));
+    }
+
+    /**
+     * Rank of a player, the caller by default.
+     */
+    @GET
+    @Path("/rank")
+    public Response rank(@QueryParam("ruleId") String ruleId, @QueryParam("username") String username,
+                         @Context ContainerRequestContext requestContext, @Context Request request) {
+        final var name = username != null ? username : (String) requestContext.getProperty("username");
+        return cached(ruleId, request, () -> leaderboard.rank(ruleId, name)
+                .orElseThrow(() -> new NotFoundException("Player is not ranked: " + name)));
+    }
+
+    /**
+     * A player (the caller by default) with up to {@code radius} neighbours above and below.
+     */
+    @GET
+    @Path("/around")
+    public Response around(@QueryParam("ruleId") String ruleId, @QueryParam("username") String username,
+                           @QueryParam("radius") @DefaultValue("5") int radius,
+                           @Context ContainerRequestContext requestContext, @Context Request request) {
+        final var name = username != null ? username : (String) requestContext.getProperty("username");
+        return cached(ruleId, request, () -> leaderboard.around(ruleId, name, Math.clamp(radius, 0, MAX_RADIUS))
+                .orElseThrow(() -> new NotFoundException("Player is not ranked: " + name)));
+    }
+
+    private Response cached(final String ruleId, final Request request, final Supplier<Object> body) {
+        final var etag = new EntityTag(leaderboard.tag(ruleId));
+        final var cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+        final var notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.cacheControl(cacheControl).build();
+        }
+        return Response.ok(body.get()).tag(etag).cacheControl(cacheControl).build();
+    }
+}
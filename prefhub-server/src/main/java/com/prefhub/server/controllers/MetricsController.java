@@ -0,0 +1,26 @@
+package com.prefhub.server.controllers;
+
+import com.google.inject.Inject;
+import com.prefhub.server.metrics.MetricsRegistry;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+
+/**
+ * Server metrics in Prometheus text format (no authentication)
+ */
+@Path("/metrics")
+public class MetricsController {
+    private final MetricsRegistry metrics;
+
+    @Inject
+    public MetricsController(final MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    @GET
+    @Produces("text/plain; version=0.0.4; charset=utf-8")
+    public String scrape() {
+        return metrics.scrape();
+    }
+}
@@ -3,7 +3,12 @@ package com.prefhub.server.controllers;
 import com.google.inject.Inject;
 import com.prefhub.server.game.RulesLoader;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 
 import java.util.Map;
 
@@ -25,4 +30,32 @@ public class RulesController {
     public Map<String, String> listRules() {
         return rulesLoader.getAvailableRulesList();
     }
+
+    /**
+     * Rules referenced by a game view. A version (hash) never changes its content,
+     * so with a hash the response is cacheable forever; without one the current version is returned.
+     */
+    @GET
+    @Path("/{ruleId}")
+    public Response getRules(@PathParam("ruleId") String ruleId, @QueryParam("hash") String hash,
+                             @Context Request request) {
+        if (!rulesLoader.hasRules(ruleId) && hash == null) {
+            throw new NotFoundException("Rules not found: " + ruleId);
+        }
+        final var rules = hash != null
+                ? rulesLoader.getVersion(ruleId, hash).orElseThrow(() -> new NotFoundException("Unknown rules version"))
+                : rulesLoader.getRules(ruleId);
+        final var etag = new EntityTag(rules.getHash());
+        final var cacheControl = new CacheControl();
+        if (hash != null) {
+            cacheControl.setMaxAge(365 * 24 * 3600);
+        } else {
+            cacheControl.setNoCache(true);
+        }
+        final var notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.cacheControl(cacheControl).build();
+        }
+        return Response.ok(rules).tag(etag).cacheControl(cacheControl).build();
+    }
 }
@@ -0,0 +1,115 @@
+package com.prefhub.server.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import com.prefhub.server.cluster.ClusterRouter;
+import com.prefhub.server.stats.PlayerStats;
+import com.prefhub.server.stats.StatsStore;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.UriInfo;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Player statistics from the columnar stats store.
+ * Periods are given in epoch milliseconds, {@code from} inclusive and {@code to} exclusive.
+ */
+@Path("/stats")
+@Produces(MediaType.APPLICATION_JSON)
+public class StatsController {
+    private static final int MAX_TIMELINE = 1000;
+    private final StatsStore statsStore;
+    private final ClusterRouter clusterRouter;
+    private final ObjectMapper objectMapper;
+
+    @Inject
+    public StatsController(final StatsStore statsStore, final ClusterRouter clusterRouter, final ObjectMapper objectMapper) {
+        this.statsStore = statsStore;
+        this.clusterRouter = clusterRouter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Statistics of every player who played in the period, without score timelines.
+     */
+    @GET
+    @Path("/players")
+    public List<PlayerStats> allPlayers(@QueryParam("ruleId") String ruleId,
+                                        @QueryParam("from") @DefaultValue("0") long from,
+                                        @QueryParam("to") @DefaultValue("9223372036854775807") long to,
+                                        @HeaderParam(ClusterRouter.FORWARDED_HEADER) String forwardedBy,
+                                        @HeaderParam(HttpHeaders.AUTHORIZATION) String authorization,
+                                        @Context UriInfo uriInfo) {
+        final var local = statsStore.aggregate(ruleId, from, to);
+        if (!clusterRouter.isEnabled() || forwardedBy != null) {
+            return local;
+        }
+        // Раздачи партий лежат на узлах-владельцах: складываем статистику игрока со всех узлов
+        final var merged = new TreeMap<String, PlayerStats>();
+        local.forEach(stats -> merged.put(stats.username(), stats));
+        for (final var body : clusterRouter.fanOut("GET", path("stats/players", uriInfo), authorization)) {
+            try {
+                for (final var stats : objectMapper.readValue(body, new TypeReference<List<PlayerStats>>() { })) {
+                    merged.merge(stats.username(), stats, (a, b) -> a.merge(b, 0));
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Malformed stats from cluster node", e);
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Statistics of one player (the caller by default) with the score after each of the last {@code limit} hands.
+     */
+    @GET
+    @Path("/player")
+    public PlayerStats player(@QueryParam("username") String username,
+                              @QueryParam("ruleId") String ruleId,
+                              @QueryParam("from") @DefaultValue("0") long from,
+                              @QueryParam("to") @DefaultValue("9223372036854775807") long to,
+                              @QueryParam("limit") @DefaultValue("200") int limit,
+                              @HeaderParam(ClusterRouter.FORWARDED_HEADER) String forwardedBy,
+                              @HeaderParam(HttpHeaders.AUTHORIZATION) String authorization,
+                              @Context ContainerRequestContext requestContext,
+                              @Context UriInfo uriInfo) {
+        final var name = username != null ? username : (String) requestContext.getProperty("username");
+        final int timelineLimit = Math.clamp(limit, 0, MAX_TIMELINE);
+        var stats = statsStore.player(name, ruleId, from, to, timelineLimit);
+        if (!clusterRouter.isEnabled() || forwardedBy != null) {
+            return stats;
+        }
+        // Другие узлы не знают, кто спрашивает, поэтому имя передаётся явно
+        final var query = uriInfo.getRequestUri().getRawQuery();
+        final var pathAndQuery = username != null ? path("stats/player", uriInfo)
+                : "stats/player?username=" + URLEncoder.encode(name, StandardCharsets.UTF_8) + (query != null ? "&" + query : "");
+        for (final var body : clusterRouter.fanOut("GET", pathAndQuery, authorization)) {
+            try {
+                stats = stats.merge(objectMapper.readValue(body, PlayerStats.class), timelineLimit);
+            } catch (IOException e) {
+                throw new IllegalStateException("Malformed stats from cluster node", e);
+            }
+        }
+        return stats;
+    }
+
+    private static String path(final String path, final UriInfo uriInfo) {
+        final var query = uriInfo.getRequestUri().getRawQuery();
+        return query == null ? path : path + "?" + query;
+    }
+}
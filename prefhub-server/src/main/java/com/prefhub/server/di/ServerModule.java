@@ -4,12 +4,35 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import com.prefhub.server.auth.AuthService;
+import com.prefhub.server.auth.AuthSettings;
+import com.prefhub.server.bot.BotService;
+import com.prefhub.server.bot.BotSettings;
+import com.prefhub.server.cluster.ClusterRouter;
+import com.prefhub.server.cluster.ClusterSettings;
+import com.prefhub.server.controllers.AdminController;
 import com.prefhub.server.controllers.AuthController;
 import com.prefhub.server.controllers.GameController;
+import com.prefhub.server.controllers.LeaderboardController;
+import com.prefhub.server.controllers.MetricsController;
 import com.prefhub.server.controllers.RulesController;
+import com.prefhub.server.controllers.StatsController;
 import com.prefhub.server.game.GameService;
+import com.prefhub.server.game.HintService;
 import com.prefhub.server.game.RulesLoader;
+import com.prefhub.server.game.RulesWatcher;
+import com.prefhub.server.game.SpectatorSettings;
+import com.prefhub.server.game.SpectatorViews;
+import com.prefhub.server.history.HandHistory;
+import com.prefhub.server.history.HandLog;
+import com.prefhub.server.history.HistorySettings;
+import com.prefhub.server.leaderboard.Leaderboard;
+import com.prefhub.server.leaderboard.LeaderboardSettings;
+import com.prefhub.server.lobby.LobbyFeed;
+import com.prefhub.server.stats.StatsRecorder;
+import com.prefhub.server.stats.StatsStore;
+import com.prefhub.server.metrics.MetricsRegistry;
 import com.prefhub.server.repository.GameRepository;
 import com.prefhub.server.repository.RulesRepository;
 import com.prefhub.server.repository.SessionRepository;
@@ -18,6 +41,15 @@ import com.prefhub.server.repository.impl.FileGameRepository;
 import com.prefhub.server.repository.impl.FileRulesRepository;
 import com.prefhub.server.repository.impl.FileSessionRepository;
 import com.prefhub.server.repository.impl.FileUserRepository;
+import com.prefhub.server.repository.impl.MeteredGameRepository;
+import com.prefhub.server.repository.impl.MeteredSessionRepository;
+import com.prefhub.server.trace.MoveTracer;
+import com.prefhub.server.trace.TraceSettings;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class ServerModule extends AbstractModule {
     private final String storageDirectory;
@@ -32,19 +64,34 @@ public class ServerModule extends AbstractModule {
         bind(AuthController.class);
         bind(GameController.class);
         bind(RulesController.class);
+        bind(MetricsController.class);
+        bind(AdminController.class);
+        bind(StatsController.class);
+        bind(LeaderboardController.class);
 
         // Filters
         bind(com.prefhub.server.web.auth.AuthenticationFilter.class);
+        bind(com.prefhub.server.web.metrics.MetricsFilter.class);
+        bind(com.prefhub.server.web.cluster.ClusterRoutingFilter.class);
 
         // Services - singletons
         bind(AuthService.class).in(Singleton.class);
         bind(GameService.class).in(Singleton.class);
         bind(RulesLoader.class).in(Singleton.class);
+        bind(HintService.class).in(Singleton.class);
+        bind(MetricsRegistry.class).in(Singleton.class);
+        bind(MoveTracer.class).in(Singleton.class);
+        bind(ClusterRouter.class).in(Singleton.class);
+        bind(LobbyFeed.class).in(Singleton.class);
+        bind(SpectatorViews.class).in(Singleton.class);
+        // Боты подписываются на изменения игр при создании, поэтому создаются сразу
+        bind(BotService.class).asEagerSingleton();
+        bind(HandHistory.class).asEagerSingleton();
+        bind(StatsRecorder.class).asEagerSingleton();
+        bind(Leaderboard.class).asEagerSingleton();
 
         // Repositories - singletons
         bind(UserRepository.class).to(FileUserRepository.class).in(Singleton.class);
-        bind(GameRepository.class).to(FileGameRepository.class).in(Singleton.class);
-        bind(SessionRepository.class).to(FileSessionRepository.class).in(Singleton.class);
         bind(RulesRepository.class).to(FileRulesRepository.class).in(Singleton.class);
     }
 
@@ -54,6 +101,104 @@ public class ServerModule extends AbstractModule {
         return new ObjectMapper();
     }
 
+    @Provides
+    @Singleton
+    public BotSettings provideBotSettings() {
+        return BotSettings.defaults();
+    }
+
+    /**
+     * Подписанные токены включаются секретом в системном свойстве {@code prefhub.token.secret};
+     * у всех узлов, которые должны принимать токены друг друга, секрет должен совпадать
+     */
+    @Provides
+    @Singleton
+    public AuthSettings provideAuthSettings() {
+        final var secret = System.getProperty("prefhub.token.secret");
+        return secret == null || secret.isBlank() ? AuthSettings.defaults() : AuthSettings.defaults().withTokenSecret(secret);
+    }
+
+    /**
+     * Кластер включается свойствами {@code prefhub.cluster.self} (идентификатор узла) и
+     * {@code prefhub.cluster.nodes} ({@code id=host:port,...}); без них сервер работает один
+     */
+    @Provides
+    @Singleton
+    public ClusterSettings provideClusterSettings() {
+        final var self = System.getProperty("prefhub.cluster.self");
+        final var nodes = System.getProperty("prefhub.cluster.nodes");
+        if (self == null || nodes == null || nodes.isBlank()) {
+            return ClusterSettings.standalone();
+        }
+        return ClusterSettings.parse(self, nodes);
+    }
+
+    /**
+     * Показ рук зрителям после раздачи отключается свойством {@code prefhub.spectators.revealHands=false}
+     */
+    @Provides
+    @Singleton
+    public SpectatorSettings provideSpectatorSettings() {
+        final var reveal = System.getProperty("prefhub.spectators.revealHands");
+        return reveal == null ? SpectatorSettings.defaults() : SpectatorSettings.defaults().withRevealAfterHand(Boolean.parseBoolean(reveal));
+    }
+
+    @Provides
+    @Singleton
+    public TraceSettings provideTraceSettings() {
+        return TraceSettings.defaults();
+    }
+
+    /**
+     * Операторы сервера: имена через запятую в системном свойстве {@code prefhub.admins}
+     */
+    @Provides
+    @Singleton
+    @Named("admins")
+    public Set<String> provideAdmins() {
+        return Arrays.stream(System.getProperty("prefhub.admins", "").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Provides
+    @Singleton
+    public GameRepository provideGameRepository(final FileGameRepository repository, final MetricsRegistry metrics,
+                                                final MoveTracer tracer) {
+        return new MeteredGameRepository(repository, metrics, tracer);
+    }
+
+    @Provides
+    @Singleton
+    public SessionRepository provideSessionRepository(final FileSessionRepository repository, final MetricsRegistry metrics) {
+        return new MeteredSessionRepository(repository, metrics);
+    }
+
+    @Provides
+    @Singleton
+    public RulesWatcher provideRulesWatcher(final FileRulesRepository repository, final RulesLoader rulesLoader) {
+        return new RulesWatcher(repository.getStorageDirectory(), rulesLoader);
+    }
+
+    @Provides
+    @Singleton
+    public HandLog provideHandLog() {
+        return new HandLog(Paths.get(storageDirectory, "history"), HistorySettings.defaults());
+    }
+
+    @Provides
+    @Singleton
+    public LeaderboardSettings provideLeaderboardSettings() {
+        return LeaderboardSettings.defaults(Paths.get(storageDirectory, "leaderboard"));
+    }
+
+    @Provides
+    @Singleton
+    public StatsStore provideStatsStore() {
+        return new StatsStore(Paths.get(storageDirectory, "stats"));
+    }
+
     @Provides
     @Singleton
     public FileUserRepository provideFileUserRepository() {
@@ -0,0 +1,12 @@
+package com.prefhub.server.game;
+
+import com.prefhub.core.model.GameState;
+
+/**
+ * Подписчик на завершение раздачи в {@link GameService}.
+ * Вызывается под блокировкой игры, пока взятки, заявки и прикуп раздачи ещё не очищены; обработчик должен быть быстрым
+ * и не менять состояние.
+ */
+public interface DealListener {
+    void onDealComplete(GameState gameState);
+}
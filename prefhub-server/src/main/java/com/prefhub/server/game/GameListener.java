@@ -0,0 +1,14 @@
+package com.prefhub.server.game;
+
+import com.prefhub.core.model.GameState;
+
+/**
+ * Подписчик на изменения игр в {@link GameService}.
+ * Вызывается после сохранения изменения, вне блокировки игры.
+ */
+public interface GameListener {
+    /**
+     * Игра создана или изменилась (вход игрока, заявка, снос, ход, новый раунд)
+     */
+    void onGameChanged(GameState gameState);
+}
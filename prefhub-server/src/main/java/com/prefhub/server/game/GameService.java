@@ -1,6 +1,7 @@
 package com.prefhub.server.game;
 
 import com.prefhub.core.model.*;
+import com.prefhub.core.scoring.ScoreSheet;
 import com.google.inject.Inject;
 import com.prefhub.server.repository.GameRepository;
 import org.slf4j.Logger;
@@ -8,12 +9,18 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class GameService {
     private static final Logger logger = LoggerFactory.getLogger(GameService.class);
     private final Map<String, GameState> activeGames = new ConcurrentHashMap<>();
     private final GameRepository gameRepository;
     private final RulesLoader rulesLoader;
+    private final List<GameListener> listeners = new CopyOnWriteArrayList<>();
+    private final LobbyIndex lobby = new LobbyIndex();
+    private final List<LobbyListener> lobbyListeners = new CopyOnWriteArrayList<>();
+    private final List<DealListener> dealListeners = new CopyOnWriteArrayList<>();
+    private final List<ScoreListener> scoreListeners = new CopyOnWriteArrayList<>();
 
     @Inject
     public GameService(final GameRepository gameRepository, final RulesLoader rulesLoader) {
@@ -25,11 +32,85 @@ public class GameService {
     private void loadExistingGames() {
         final var games = gameRepository.findAll();
         for (final var game : games) {
+            game.setRules(rulesLoader.resolve(game.getRuleId(), game.getRulesHash()));
+            seedScoreSheet(game);
             activeGames.put(game.getGameId(), game);
+            final long lastSeen = game.getLastSeen().values().stream().mapToLong(Long::longValue).max().orElse(0);
+            lobby.update(summarize(game, lastSeen));
         }
         logger.info("Loaded {} games from storage", games.size());
     }
 
+    /**
+     * Партии, сохранённые до листа пули, загружаются с пустым листом, а итоги хранят только игроки.
+     * Лист заводится по этим итогам, и счёт сразу пересчитывается без уведомления подписчиков,
+     * чтобы первая записанная раздача не выдала им скачок от перехода к расчёту в вистах
+     */
+    private void seedScoreSheet(final GameState gameState) {
+        final var sheet = gameState.getScoreSheet();
+        final var players = gameState.getPlayers();
+        if (!sheet.isEmpty() || players.size() != ScoreSheet.SEATS || players.stream()
+                .allMatch(player -> player.getBullet() == 0 && player.getMountain() == 0 && player.getScore() == 0)) {
+            return;
+        }
+        final var bullets = new int[ScoreSheet.SEATS];
+        final var mountains = new int[ScoreSheet.SEATS];
+        final var whists = new int[ScoreSheet.SEATS];
+        for (int seat = 0; seat < ScoreSheet.SEATS; seat++) {
+            final var player = players.get(seat);
+            bullets[seat] = player.getBullet();
+            mountains[seat] = player.getMountain();
+            whists[seat] = player.getScore();
+        }
+        gameState.getRules().getScoreTable().seed(sheet, bullets, mountains, whists);
+        publishScores(gameState);
+        gameRepository.save(gameState);
+        logger.info("Seeded score sheet of game {} from player totals", gameState.getGameId());
+    }
+
+    public void addListener(final GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void addLobbyListener(final LobbyListener listener) {
+        lobbyListeners.add(listener);
+    }
+
+    public void addDealListener(final DealListener listener) {
+        dealListeners.add(listener);
+    }
+
+    public void addScoreListener(final ScoreListener listener) {
+        scoreListeners.add(listener);
+    }
+
+    private void notifyDealComplete(final GameState gameState) {
+        for (final var listener : dealListeners) {
+            try {
+                listener.onDealComplete(gameState);
+            } catch (Exception e) {
+                logger.error("Deal listener failed for game {}", gameState.getGameId(), e);
+            }
+        }
+    }
+
+    private void notifyChanged(final GameState gameState) {
+        // Сводка строится и публикуется под блокировкой игры, чтобы более старая не перезаписала новую
+        synchronized (gameState) {
+            if (activeGames.get(gameState.getGameId()) == gameState) {
+                final var current = summarize(gameState, System.currentTimeMillis());
+                notifyLobby(lobby.update(current), current);
+            }
+        }
+        for (final var listener : listeners) {
+            try {
+                listener.onGameChanged(gameState);
+            } catch (Exception e) {
+                logger.error("Game listener failed for game {}", gameState.getGameId(), e);
+            }
+        }
+    }
+
     public GameState createGame(final String gameId) {
         return createGame(gameId, null);
     }
@@ -39,7 +120,7 @@ public class GameService {
             throw new IllegalArgumentException("Game already exists: " + gameId);
         }
 
-        final GameRules rules;
+        final CompiledRules rules;
         if (ruleId != null && !ruleId.isEmpty()) {
             rules = rulesLoader.getRules(ruleId);
         } else {
@@ -47,8 +128,11 @@ public class GameService {
         }
 
         final var gameState = new GameState(gameId, rules);
-        activeGames.put(gameId, gameState);
+        if (activeGames.putIfAbsent(gameId, gameState) != null) {
+            throw new IllegalArgumentException("Game already exists: " + gameId);
+        }
         gameRepository.save(gameState);
+        notifyChanged(gameState);
         return gameState;
     }
 
@@ -64,39 +148,75 @@ public class GameService {
         return RulesValidator.getAvailableBids(gameState);
     }
 
+    public List<Whist> getAvailableWhists(final String gameId) {
+        final var gameState = getGame(gameId);
+        if (gameState == null) {
+            throw new IllegalArgumentException("Game not found");
+        }
+        synchronized (gameState) {
+            return RulesValidator.getAvailableWhists(gameState);
+        }
+    }
+
     public GameState joinGame(final String gameId, final String username) {
         final var gameState = activeGames.get(gameId);
         if (gameState == null) {
             throw new IllegalArgumentException("Game not found: " + gameId);
         }
 
-        // Check if player is already in the game (reconnection scenario)
-        final var existingPlayer = gameState.getPlayers().stream()
-                .filter(p -> p.getUsername().equals(username))
-                .findFirst();
+        synchronized (gameState) {
+            // Check if player is already in the game (reconnection scenario)
+            final var existingPlayer = gameState.getPlayers().stream()
+                    .filter(p -> p.getUsername().equals(username))
+                    .findFirst();
 
-        if (existingPlayer.isPresent()) {
-            // Player is reconnecting - just return the game state
-            logger.info("Player {} is reconnecting to game {}", username, gameId);
-            return gameState;
-        }
+            if (existingPlayer.isPresent()) {
+                // Player is reconnecting - just return the game state
+                logger.info("Player {} is reconnecting to game {}", username, gameId);
+                return gameState;
+            }
 
-        // New player joining
-        if (gameState.isFull()) {
-            throw new IllegalStateException("Game is full");
-        }
+            // New player joining
+            if (gameState.isFull()) {
+                throw new IllegalStateException("Game is full");
+            }
 
-        final var player = new Player(username);
-        gameState.addPlayer(player);
+            final var player = new Player(username);
+            gameState.addPlayer(player);
 
-        if (gameState.isFull()) {
-            startRound(gameState);
-        }
+            if (gameState.isFull()) {
+                startRound(gameState);
+            }
 
-        gameRepository.save(gameState);
+            gameRepository.save(gameState);
+        }
+        notifyChanged(gameState);
         return gameState;
     }
 
+    /**
+     * Убрать игру из памяти и хранилища
+     */
+    public void removeGame(final String gameId) {
+        final var gameState = activeGames.remove(gameId);
+        if (gameState != null) {
+            synchronized (gameState) {
+                notifyLobby(lobby.remove(gameId), null);
+            }
+            gameRepository.delete(gameId);
+        }
+    }
+
+    private void notifyLobby(final GameSummary previous, final GameSummary current) {
+        for (final var listener : lobbyListeners) {
+            try {
+                listener.onLobbyChanged(previous, current);
+            } catch (Exception e) {
+                logger.error("Lobby listener failed", e);
+            }
+        }
+    }
+
     public GameState getGame(final String gameId) {
         return activeGames.get(gameId);
     }
@@ -105,6 +225,30 @@ public class GameService {
         return new ArrayList<>(activeGames.values());
     }
 
+    /**
+     * Страница лобби по индексу, без обхода всех партий
+     *
+     * @param openOnly только столы со свободными местами
+     * @param ruleId   только партии по этим правилам; {@code null} — любые
+     * @param cursor   {@link LobbyPage#nextCursor()} предыдущей страницы; {@code null} — первая страница
+     */
+    public LobbyPage listLobby(final boolean openOnly, final String ruleId, final String cursor, final int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return lobby.query(openOnly, ruleId, cursor, limit);
+    }
+
+    public int getOpenTableCount() {
+        return lobby.openCount();
+    }
+
+    private static GameSummary summarize(final GameState gameState, final long lastActivity) {
+        final var players = gameState.getPlayers().stream().map(Player::getUsername).toList();
+        return new GameSummary(gameState.getGameId(), gameState.getRuleId(), gameState.getPhase(), players,
+                players.size(), lastActivity);
+    }
+
     public String findActiveGameForPlayer(final String username) {
         // Find the first non-completed game where the player is participating
         for (final var game : activeGames.values()) {
@@ -124,13 +268,98 @@ public class GameService {
         if (gameState == null) {
             throw new IllegalArgumentException("Game not found: " + gameId);
         }
+        synchronized (gameState) {
+            return buildPlayerView(gameState, username);
+        }
+    }
+
+    /**
+     * Публичное состояние партии для зрителей: без рук и прикупа, пока раздача не сыграна
+     *
+     * @param version         номер версии, который попадёт в представление
+     * @param revealAfterHand открыть руки и прикуп после раздачи
+     */
+    public SpectatorView getSpectatorView(final String gameId, final long version, final boolean revealAfterHand) {
+        final var gameState = getGame(gameId);
+        if (gameState == null) {
+            throw new IllegalArgumentException("Game not found: " + gameId);
+        }
+        synchronized (gameState) {
+            return buildSpectatorView(gameState, version, revealAfterHand);
+        }
+    }
 
+    private static SpectatorView buildSpectatorView(final GameState gameState, final long version,
+                                                    final boolean revealAfterHand) {
+        final var players = new ArrayList<String>();
+        final var handSizes = new HashMap<String, Integer>();
+        final var scores = new HashMap<String, Integer>();
+        final var bullets = new HashMap<String, Integer>();
+        final var mountains = new HashMap<String, Integer>();
+        for (final var p : gameState.getPlayers()) {
+            players.add(p.getUsername());
+            handSizes.put(p.getUsername(), p.getHand().size());
+            scores.put(p.getUsername(), p.getScore());
+            bullets.put(p.getUsername(), p.getBullet());
+            mountains.put(p.getUsername(), p.getMountain());
+        }
+        final var bids = new HashMap<String, String>();
+        gameState.getBids().forEach((player, bid) -> bids.put(player.getUsername(), bid.getDisplayName()));
+        final var tricksWon = new HashMap<String, Integer>();
+        gameState.getTricksWon().forEach((player, tricks) -> tricksWon.put(player.getUsername(), tricks));
+        final var currentTrick = new HashMap<String, Card>();
+        final var trick = gameState.getCurrentTrick();
+        if (trick != null) {
+            trick.getCardsPlayed().forEach((player, card) -> currentTrick.put(player.getUsername(), card));
+        }
+
+        // Раздача сыграна: сданные руки восстанавливаются по взяткам, несыгранным картам и сносу
+        Map<String, List<Card>> revealedHands = null;
+        List<Card> revealedWidow = null;
+        final var phase = gameState.getPhase();
+        if (revealAfterHand && (phase == GamePhase.ROUND_COMPLETE || phase == GamePhase.GAME_COMPLETE)) {
+            revealedHands = gameState.getDealtHands();
+            revealedWidow = gameState.getWidow();
+        }
+
+        final var currentPlayer = !gameState.getPlayers().isEmpty() ? gameState.getCurrentPlayer() : null;
+        return new SpectatorView(
+            gameState.getGameId(),
+            version,
+            phase,
+            gameState.getRoundNumber(),
+            players,
+            currentPlayer != null ? currentPlayer.getUsername() : null,
+            handSizes,
+            gameState.getOpenHands(),
+            bids,
+            gameState.getHighestBid(),
+            gameState.getContract(),
+            gameState.getDeclarer() != null ? gameState.getDeclarer().getUsername() : null,
+            gameState.getContract() != null ? gameState.getContract().getTrumpSuit() : null,
+            currentTrick,
+            trick != null ? trick.getLeadSuit() : null,
+            tricksWon,
+            scores,
+            bullets,
+            mountains,
+            revealedHands,
+            revealedWidow,
+            gameState.getRuleId(),
+            gameState.getRulesHash()
+        );
+    }
+
+    private PlayerView buildPlayerView(final GameState gameState, final String username) {
         final var player = findPlayer(gameState, username);
 
         // Update last seen timestamp for this player
         gameState.updateLastSeen(player);
         final var currentPlayer = !gameState.getPlayers().isEmpty() ? gameState.getCurrentPlayer() : null;
-        final var isYourTurn = currentPlayer != null && currentPlayer.equals(player);
+        // При висте в открытую вистующий ходит и за пасующего
+        final var actingPlayer = currentPlayer != null ? gameState.getActingPlayer() : null;
+        final var isYourTurn = actingPlayer != null && actingPlayer.equals(player);
+        final var playingFor = isYourTurn && !currentPlayer.equals(player) ? currentPlayer : null;
 
         // Determine allowed actions and next step description
         final var allowedActions = new ArrayList<String>();
@@ -159,12 +388,27 @@ public class GameService {
                 }
                 break;
 
+            case WHISTING:
+                if (isYourTurn) {
+                    allowedActions.add("WHIST");
+                    nextActionDescription = "Игра " + gameState.getContract().getDisplayName() + "! Вистуете или пас?";
+                } else {
+                    nextActionDescription = "Ждем решения о висте от " + currentPlayer.getUsername();
+                }
+                break;
+
             case PLAYING:
                 if (isYourTurn) {
                     allowedActions.add("PLAY_CARD");
-                    nextActionDescription = "Ваш ход! Сыграйте карту";
+                    if (gameState.isRaspasy()) {
+                        nextActionDescription = "Распасы! Сыграйте карту, стараясь не брать взяток";
+                    } else if (playingFor != null) {
+                        nextActionDescription = "Ваш ход за " + playingFor.getUsername() + "! Сыграйте карту из его руки";
+                    } else {
+                        nextActionDescription = "Ваш ход! Сыграйте карту";
+                    }
                 } else {
-                    nextActionDescription = "Ждем хода от " + (currentPlayer != null ? currentPlayer.getUsername() : null);
+                    nextActionDescription = "Ждем хода от " + (actingPlayer != null ? actingPlayer.getUsername() : null);
                 }
                 break;
 
@@ -183,32 +427,44 @@ public class GameService {
 
         // Build bids map
         final var bidsMap = new HashMap<String, String>();
-        Contract highestBid = null;
         for (final var entry : gameState.getBids().entrySet()) {
             bidsMap.put(entry.getKey().getUsername(), entry.getValue().getDisplayName());
-            if (highestBid == null || entry.getValue().isHigherThan(highestBid)) {
-                if (!entry.getValue().isPass()) {
-                    highestBid = entry.getValue();
-                }
-            }
         }
+        final var highestBid = gameState.getHighestBid();
 
-        // Widow (only visible to declarer during exchange)
+        final var whistsMap = new HashMap<String, Whist>();
+        for (final var entry : gameState.getWhists().entrySet()) {
+            whistsMap.put(entry.getKey().getUsername(), entry.getValue());
+        }
+
+        // Widow: visible to declarer during exchange; on raspasy the cards opened so far are visible to everyone
         final List<Card> widow;
         if (gameState.getPhase() == GamePhase.WIDOW_EXCHANGE && player.equals(gameState.getDeclarer())) {
             widow = gameState.getWidow();
+        } else if (gameState.getPhase() == GamePhase.PLAYING && gameState.isRaspasy()) {
+            final var cards = gameState.getWidow();
+            widow = cards.subList(0, Math.min(cards.size(), gameState.getCompletedTricks().size() + 1));
         } else {
             widow = null;
         }
 
         // Build current trick map
         final var currentTrickMap = new HashMap<String, Card>();
+        final Suit leadSuit = gameState.getCurrentTrick() != null ? gameState.getCurrentTrick().getLeadSuit() : null;
         if (gameState.getCurrentTrick() != null) {
             for (final var entry : gameState.getCurrentTrick().getCardsPlayed().entrySet()) {
                 currentTrickMap.put(entry.getKey().getUsername(), entry.getValue());
             }
         }
 
+        // Cards the player may play now
+        final List<Card> legalCards;
+        if (gameState.getPhase() == GamePhase.PLAYING && isYourTurn) {
+            legalCards = LegalMoves.legalCards(currentPlayer.getHand(), leadSuit, gameState.getContract().getTrumpSuit());
+        } else {
+            legalCards = null;
+        }
+
         // Build tricks won map
         final var tricksWonMap = new HashMap<String, Integer>();
         for (final var entry : gameState.getTricksWon().entrySet()) {
@@ -247,24 +503,31 @@ public class GameService {
             gameState.getPhase(),
             gameState.getRoundNumber(),
             player.getHand(),
+            legalCards,
             otherPlayers,
             currentPlayer != null ? currentPlayer.getUsername() : null,
             isYourTurn,
+            playingFor != null ? playingFor.getUsername() : null,
             allowedActions,
             nextActionDescription,
             bidsMap,
             highestBid,
+            RulesValidator.minimumBid(gameState),
+            whistsMap,
             widow,
+            gameState.getOpenHands(),
             gameState.getContract(),
             gameState.getDeclarer() != null ? gameState.getDeclarer().getUsername() : null,
             gameState.getContract() != null ? gameState.getContract().getTrumpSuit() : null,
             currentTrickMap,
+            leadSuit,
             tricksWonMap,
             scoresMap,
             bulletsMap,
             mountainsMap,
             lastSeenSecondsMap,
-            gameState.getRules()
+            gameState.getRuleId(),
+            gameState.getRulesHash()
         );
     }
 
@@ -292,28 +555,31 @@ public class GameService {
         if (gameState == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        if (gameState.getPhase() != GamePhase.BIDDING) {
-            throw new IllegalStateException("Not in bidding phase");
-        }
+        synchronized (gameState) {
+            if (gameState.getPhase() != GamePhase.BIDDING) {
+                throw new IllegalStateException("Not in bidding phase");
+            }
 
-        final var player = findPlayer(gameState, username);
-        if (!player.equals(gameState.getCurrentPlayer())) {
-            throw new IllegalStateException("Not your turn");
-        }
+            final var player = findPlayer(gameState, username);
+            if (!player.equals(gameState.getCurrentPlayer())) {
+                throw new IllegalStateException("Not your turn");
+            }
 
-        // Validate bid according to rules
-        RulesValidator.validateBid(gameState, contract);
+            // Validate bid according to rules
+            RulesValidator.validateBid(gameState, contract);
 
-        gameState.placeBid(player, contract);
+            gameState.placeBid(player, contract);
 
-        // Проверяем завершение торговли
-        if (isBiddingComplete(gameState)) {
-            finalizeBidding(gameState);
-        } else {
-            gameState.nextPlayer();
-        }
+            // Проверяем завершение торговли
+            if (isBiddingComplete(gameState)) {
+                finalizeBidding(gameState);
+            } else {
+                gameState.nextPlayer();
+            }
 
-        gameRepository.save(gameState);
+            gameRepository.save(gameState);
+        }
+        notifyChanged(gameState);
     }
 
     private boolean isBiddingComplete(final GameState gameState) {
@@ -352,9 +618,7 @@ public class GameService {
         }
 
         if (declarer == null) {
-            // Распас - начинаем новый раунд
-            gameState.nextRound();
-            startRound(gameState);
+            startRaspasy(gameState);
         } else {
             gameState.setDeclarer(declarer);
             gameState.setContract(maxContract);
@@ -363,108 +627,277 @@ public class GameService {
         }
     }
 
+    /**
+     * Все спасовали: раздача разыгрывается на распасах. Прикуп остаётся на столе и открывается
+     * по карте на каждую из первых взяток
+     */
+    private void startRaspasy(final GameState gameState) {
+        gameState.setRaspasyInRow(gameState.getRaspasyInRow() + 1);
+        gameState.setContract(Contract.PASS);
+        gameState.setPhase(GamePhase.PLAYING);
+        startTrick(gameState, null);
+    }
+
+    /**
+     * Начать следующую взятку: на первых взятках распасов масть задаёт прикуп и заходит первая рука,
+     * иначе заходит взявший предыдущую взятку
+     */
+    private static void startTrick(final GameState gameState, final Player previousWinner) {
+        final int played = gameState.getCompletedTricks().size();
+        if (gameState.isRaspasy() && played < GameState.WIDOW_LED_TRICKS) {
+            gameState.setCurrentTrick(new Trick(gameState.getWidow().get(played).suit()));
+            gameState.setCurrentPlayerIndex((gameState.getDealerIndex() + 1) % 3);
+        } else {
+            gameState.setCurrentTrick(new Trick());
+            gameState.setCurrentPlayerIndex(gameState.getPlayers().indexOf(previousWinner));
+        }
+    }
+
     public void exchangeWidow(final String gameId, final String username, final List<Card> cardsToDiscard) {
         final var gameState = getGame(gameId);
         if (gameState == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        if (gameState.getPhase() != GamePhase.WIDOW_EXCHANGE) {
-            throw new IllegalStateException("Not in widow exchange phase");
-        }
+        synchronized (gameState) {
+            if (gameState.getPhase() != GamePhase.WIDOW_EXCHANGE) {
+                throw new IllegalStateException("Not in widow exchange phase");
+            }
 
-        final var declarer = gameState.getDeclarer();
-        if (!declarer.getUsername().equals(username)) {
-            throw new IllegalStateException("Only declarer can exchange widow");
-        }
+            final var declarer = gameState.getDeclarer();
+            if (!declarer.getUsername().equals(username)) {
+                throw new IllegalStateException("Only declarer can exchange widow");
+            }
 
-        if (cardsToDiscard.size() != 2) {
-            throw new IllegalArgumentException("Must discard exactly 2 cards");
-        }
+            if (cardsToDiscard.size() != 2) {
+                throw new IllegalArgumentException("Must discard exactly 2 cards");
+            }
 
-        // Берем прикуп
-        final var widow = gameState.getWidow();
-        declarer.addCards(widow);
+            // Берем прикуп
+            final var widow = gameState.getWidow();
+            declarer.addCards(widow);
 
-        // Сбрасываем 2 карты
-        for (final var card : cardsToDiscard) {
-            declarer.removeCard(card);
+            // Сбрасываем 2 карты
+            for (final var card : cardsToDiscard) {
+                declarer.removeCard(card);
+            }
+
+            startWhisting(gameState);
+
+            gameRepository.save(gameState);
         }
+        notifyChanged(gameState);
+    }
+
+    /**
+     * После сноса защитники решают, вистовать ли, начиная с игрока слева от разыгрывающего.
+     * Мизер не вистуется, проверяемая десятерная вистуется обоими без торговли
+     */
+    private void startWhisting(final GameState gameState) {
+        final var contract = gameState.getContract();
+        if (contract.isMiser()) {
+            startPlay(gameState);
+            return;
+        }
+        final var players = gameState.getPlayers();
+        final int declarer = players.indexOf(gameState.getDeclarer());
+        if (contract.getTricks() == 10 && gameState.getRules().getTenGameMode() == GameRules.TenGameMode.CHECKED) {
+            gameState.placeWhist(players.get((declarer + 1) % 3), Whist.WHIST);
+            gameState.placeWhist(players.get((declarer + 2) % 3), Whist.WHIST);
+            startPlay(gameState);
+            return;
+        }
+        gameState.setPhase(GamePhase.WHISTING);
+        gameState.setCurrentPlayerIndex((declarer + 1) % 3);
+    }
 
-        // Начинаем розыгрыш
+    /**
+     * Начать розыгрыш: первым ходит разыгрывающий
+     */
+    private static void startPlay(final GameState gameState) {
         gameState.setPhase(GamePhase.PLAYING);
-        gameState.setCurrentPlayerIndex(gameState.getPlayers().indexOf(declarer));
+        gameState.setCurrentPlayerIndex(gameState.getPlayers().indexOf(gameState.getDeclarer()));
         gameState.setCurrentTrick(new Trick());
-
-        gameRepository.save(gameState);
     }
 
-    public void playCard(final String gameId, final String username, final Card card) {
+    public void whist(final String gameId, final String username, final Whist whist) {
         final var gameState = getGame(gameId);
         if (gameState == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        if (gameState.getPhase() != GamePhase.PLAYING) {
-            throw new IllegalStateException("Not in playing phase");
+        synchronized (gameState) {
+            final var player = findPlayer(gameState, username);
+            RulesValidator.validateWhist(gameState, player, whist);
+            gameState.placeWhist(player, whist);
+
+            final var players = gameState.getPlayers();
+            final int declarer = players.indexOf(gameState.getDeclarer());
+            final var whists = gameState.getWhists();
+            final var left = players.get((declarer + 1) % 3);
+            final var right = players.get((declarer + 2) % 3);
+            if (!whists.containsKey(right)) {
+                // Решил защитник слева, очередь защитника справа
+                gameState.setCurrentPlayerIndex((declarer + 2) % 3);
+            } else if (player.equals(right) && whist == Whist.HALF_WHIST
+                    && gameState.getRules().isAllowHalfWhistAfterPass()) {
+                // Пасовавший защитник слева узнаёт о пол-висте и может вистовать сам
+                gameState.setCurrentPlayerIndex((declarer + 1) % 3);
+            } else {
+                if (player.equals(left) && whist == Whist.WHIST && whists.get(right) == Whist.HALF_WHIST) {
+                    // Вист отменяет пол-вист: защитник справа становится пасующим
+                    gameState.placeWhist(right, Whist.PASS);
+                }
+                resolveWhists(gameState, whists);
+            }
+
+            gameRepository.save(gameState);
         }
+        notifyChanged(gameState);
+    }
 
-        final var player = findPlayer(gameState, username);
-        if (!player.equals(gameState.getCurrentPlayer())) {
-            throw new IllegalStateException("Not your turn");
+    /**
+     * Оба защитника решили. Если никто не вистует, игра считается сыгранной без розыгрыша:
+     * разыгрывающему засчитываются заказанные взятки. Один вистующий при открытом висте
+     * ходит за обоих защитников, и их карты открываются
+     */
+    private void resolveWhists(final GameState gameState, final Map<Player, Whist> whists) {
+        final long whisters = whists.values().stream().filter(w -> w == Whist.WHIST).count();
+        if (whisters == 0) {
+            final var declarer = gameState.getDeclarer();
+            for (int trick = 0; trick < gameState.getContract().getTricks(); trick++) {
+                gameState.incrementTricksWon(declarer);
+            }
+            finishDeal(gameState);
+            notifyDealComplete(gameState);
+            return;
         }
+        gameState.setOpenWhist(whisters == 1 && gameState.getRules().getWhistType() == GameRules.WhistType.OPEN);
+        startPlay(gameState);
+    }
 
-        // Validate card play (simplified - should check suit following rules)
-        player.removeCard(card);
-        gameState.getCurrentTrick().playCard(player, card);
+    /**
+     * Раздача закончена: подсчитать очки. Закрытая пуля завершает партию;
+     * счёт игроков к этому моменту — окончательный расчёт
+     */
+    private void finishDeal(final GameState gameState) {
+        scoreRound(gameState);
+        gameState.setPhase(gameState.getRules().getScoreTable().isPoolClosed(gameState.getScoreSheet())
+                ? GamePhase.GAME_COMPLETE : GamePhase.ROUND_COMPLETE);
+    }
 
-        // Check if trick is complete
-        if (gameState.getCurrentTrick().isComplete(3)) {
-            final var winner = gameState.getCurrentTrick().getWinner(
-                    gameState.getContract().getTrumpSuit());
-            gameState.incrementTricksWon(winner);
-            gameState.addCompletedTrick(gameState.getCurrentTrick());
+    public void playCard(final String gameId, final String username, final Card card) {
+        final var gameState = getGame(gameId);
+        if (gameState == null) {
+            throw new IllegalArgumentException("Game not found");
+        }
+        synchronized (gameState) {
+            if (gameState.getPhase() != GamePhase.PLAYING) {
+                throw new IllegalStateException("Not in playing phase");
+            }
 
-            // Check if round is complete
-            if (gameState.getCompletedTricks().size() == 10) {
-                calculateScores(gameState);
-                gameState.setPhase(GamePhase.ROUND_COMPLETE);
+            final var actor = findPlayer(gameState, username);
+            if (!actor.equals(gameState.getActingPlayer())) {
+                throw new IllegalStateException("Not your turn");
+            }
+
+            // При висте в открытую вистующий ходит картой из руки пасующего
+            final var player = gameState.getCurrentPlayer();
+            RulesValidator.validateCardPlay(gameState, player, card);
+            player.removeCard(card);
+            gameState.refreshOpenHand(player);
+            gameState.getCurrentTrick().playCard(player, card);
+
+            // Check if trick is complete
+            if (gameState.getCurrentTrick().isComplete(3)) {
+                final var winner = gameState.getCurrentTrick().getWinner(
+                        gameState.getContract().getTrumpSuit());
+                gameState.incrementTricksWon(winner);
+                gameState.addCompletedTrick(gameState.getCurrentTrick());
+
+                // Check if round is complete
+                if (gameState.getCompletedTricks().size() == 10) {
+                    finishDeal(gameState);
+                    notifyDealComplete(gameState);
+                } else {
+                    startTrick(gameState, winner);
+                }
             } else {
-                gameState.setCurrentTrick(new Trick());
-                gameState.setCurrentPlayerIndex(gameState.getPlayers().indexOf(winner));
+                gameState.nextPlayer();
             }
-        } else {
-            gameState.nextPlayer();
+
+            gameRepository.save(gameState);
         }
+        notifyChanged(gameState);
+    }
 
-        gameRepository.save(gameState);
+    /**
+     * Подсчитать очки раздачи и сообщить подписчикам, насколько изменился расчёт каждого игрока в вистах
+     */
+    private void scoreRound(final GameState gameState) {
+        final var before = new HashMap<String, Integer>();
+        for (final var player : gameState.getPlayers()) {
+            before.put(player.getUsername(), player.getScore());
+        }
+        calculateScores(gameState);
+        final var points = new HashMap<String, Integer>();
+        for (final var player : gameState.getPlayers()) {
+            points.put(player.getUsername(), player.getScore() - before.get(player.getUsername()));
+        }
+        for (final var listener : scoreListeners) {
+            try {
+                listener.onRoundScored(gameState, points);
+            } catch (Exception e) {
+                logger.error("Score listener failed for game {}", gameState.getGameId(), e);
+            }
+        }
     }
 
+    /**
+     * Записать сыгранную раздачу в лист партии по таблице её правил с решениями защитников о висте.
+     * Сыгранная игра выводит из распасов; невыполненная — только если так велят правила
+     */
     private void calculateScores(final GameState gameState) {
-        final var declarer = gameState.getDeclarer();
-        final var tricksNeeded = gameState.getContract().getTricks();
-        final var tricksTaken = gameState.getTricksWon().get(declarer);
-
-        if (gameState.getContract().isMiser()) {
-            // Мизер: не должен взять ни одной взятки
-            if (tricksTaken == 0) {
-                declarer.addScore(10);
-            } else {
-                declarer.addMountain(10);
-            }
-        } else {
-            // Обычный контракт
-            if (tricksTaken >= tricksNeeded) {
-                declarer.addScore(tricksNeeded);
-            } else {
-                declarer.addMountain(tricksNeeded);
+        final var players = gameState.getPlayers();
+        final var tricksWon = gameState.getTricksWon();
+        final var table = gameState.getRules().getScoreTable();
+        if (gameState.isRaspasy()) {
+            final var tricks = new int[3];
+            for (int seat = 0; seat < tricks.length; seat++) {
+                tricks[seat] = tricksWon.getOrDefault(players.get(seat), 0);
             }
+            table.scoreRaspasy(gameState.getScoreSheet(), tricks, gameState.getRaspasyInRow());
+            publishScores(gameState);
+            return;
+        }
+
+        final var contract = gameState.getContract();
+        final int declarer = players.indexOf(gameState.getDeclarer());
+        final int declarerTricks = tricksWon.getOrDefault(gameState.getDeclarer(), 0);
+        final var left = players.get((declarer + 1) % 3);
+        final var right = players.get((declarer + 2) % 3);
+        final var whists = gameState.getWhists();
+        table.scoreGame(gameState.getScoreSheet(), declarer, contract, declarerTricks,
+                tricksWon.getOrDefault(left, 0), tricksWon.getOrDefault(right, 0),
+                whists.getOrDefault(left, Whist.WHIST), whists.getOrDefault(right, Whist.WHIST));
+        publishScores(gameState);
+
+        final boolean made = contract.isMiser() ? declarerTricks == 0 : declarerTricks >= contract.getTricks();
+        if (made || gameState.getRules().isMizerExitOnFailedContract()) {
+            gameState.setRaspasyInRow(0);
+        }
+    }
 
-            // Вистующие
-            for (final var player : gameState.getPlayers()) {
-                if (!player.equals(declarer)) {
-                    final var tricks = gameState.getTricksWon().get(player);
-                    player.addScore(tricks);
-                }
-            }
+    /**
+     * Перенести лист в игроков: пуля и гора как есть, счёт — расчёт в вистах на текущий момент
+     */
+    private static void publishScores(final GameState gameState) {
+        final var sheet = gameState.getScoreSheet();
+        final var balances = gameState.getRules().getScoreTable().settle(sheet, new int[3]);
+        final var players = gameState.getPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            final var player = players.get(seat);
+            player.setBullet(sheet.getBullet(seat));
+            player.setMountain(sheet.getMountain(seat));
+            player.setScore(balances[seat]);
         }
     }
 
@@ -473,13 +906,16 @@ public class GameService {
         if (gameState == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        if (gameState.getPhase() != GamePhase.ROUND_COMPLETE) {
-            throw new IllegalStateException("Round is not complete");
-        }
+        synchronized (gameState) {
+            if (gameState.getPhase() != GamePhase.ROUND_COMPLETE) {
+                throw new IllegalStateException("Round is not complete");
+            }
 
-        gameState.nextRound();
-        startRound(gameState);
-        gameRepository.save(gameState);
+            gameState.nextRound();
+            startRound(gameState);
+            gameRepository.save(gameState);
+        }
+        notifyChanged(gameState);
     }
 
     private Player findPlayer(final GameState gameState, final String username) {
@@ -0,0 +1,23 @@
+package com.prefhub.server.game;
+
+import com.prefhub.core.model.GamePhase;
+
+import java.util.List;
+
+/**
+ * Строка лобби: то, что нужно для выбора стола, без рук, прикупа и взяток
+ *
+ * @param players      имена игроков в порядке посадки
+ * @param lastActivity момент последнего изменения партии, миллисекунды epoch
+ */
+public record GameSummary(String gameId, String ruleId, GamePhase phase, List<String> players, int seatsTaken,
+                          long lastActivity) {
+    public static final int SEATS = 3;
+
+    /**
+     * За столом есть свободное место и игра ещё не началась
+     */
+    public boolean open() {
+        return phase == GamePhase.WAITING_FOR_PLAYERS && seatsTaken < SEATS;
+    }
+}
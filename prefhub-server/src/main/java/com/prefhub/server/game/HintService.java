@@ -0,0 +1,107 @@
+package com.prefhub.server.game;
+
+import com.google.inject.Inject;
+import com.prefhub.core.model.Contract;
+import com.prefhub.core.model.GamePhase;
+import com.prefhub.core.model.GameState;
+import com.prefhub.core.model.Player;
+import com.prefhub.core.model.PlayerView;
+import com.prefhub.core.solver.AdvisorReport;
+import com.prefhub.core.solver.MonteCarloAdvisor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Подсказки игрокам: оценка заявок и виста методом Монте-Карло
+ */
+public class HintService {
+    private static final int DEFAULT_SAMPLES = 2000;
+    private static final Duration DEFAULT_TIME_BUDGET = Duration.ofMillis(750);
+
+    private final GameService gameService;
+    private final ForkJoinPool pool;
+    private final MonteCarloAdvisor advisor;
+
+    @Inject
+    public HintService(final GameService gameService) {
+        this.gameService = gameService;
+        // Половина ядер: подсказки не должны вытеснять обработку ходов
+        final int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.pool = new ForkJoinPool(parallelism);
+        this.advisor = new MonteCarloAdvisor(pool);
+    }
+
+    /**
+     * Оценить доступные заявки игрока в фазе торговли. Заявки известны только тому, чей сейчас ход.
+     * Состояние партии читается под её блокировкой, сама выборка идёт уже без неё
+     */
+    public AdvisorReport adviseBids(final String gameId, final String username) {
+        final var gameState = requireGame(gameId);
+        final PlayerView view;
+        final List<Contract> bids;
+        final MonteCarloAdvisor.Settings settings;
+        synchronized (gameState) {
+            if (gameState.getPhase() != GamePhase.BIDDING) {
+                throw new IllegalStateException("Not in bidding phase");
+            }
+            if (!gameState.getCurrentPlayer().getUsername().equals(username)) {
+                throw new IllegalStateException("Not your turn");
+            }
+            view = gameService.getPlayerView(gameId, username);
+            bids = RulesValidator.getAvailableBids(gameState);
+            settings = settings(gameState, username);
+        }
+        return advisor.adviseBids(view, bids, settings);
+    }
+
+    /**
+     * Оценить контракт разыгрывающего для защитника
+     */
+    public AdvisorReport adviseWhist(final String gameId, final String username) {
+        final var gameState = requireGame(gameId);
+        final PlayerView view;
+        final int declarerOffset;
+        final MonteCarloAdvisor.Settings settings;
+        synchronized (gameState) {
+            // Руки сравнимы только до розыгрыша: во время сноса и решения о висте
+            if (gameState.getPhase() != GamePhase.WIDOW_EXCHANGE && gameState.getPhase() != GamePhase.WHISTING) {
+                throw new IllegalStateException("Not in whisting phase");
+            }
+            if (gameState.getDeclarer() == null || gameState.getContract() == null) {
+                throw new IllegalStateException("No contract to whist against");
+            }
+            if (gameState.getDeclarer().getUsername().equals(username)) {
+                throw new IllegalStateException("Declarer cannot whist");
+            }
+            view = gameService.getPlayerView(gameId, username);
+            final var players = gameState.getPlayers();
+            final int mySeat = players.indexOf(new Player(username));
+            declarerOffset = (players.indexOf(gameState.getDeclarer()) - mySeat + 3) % 3;
+            settings = settings(gameState, username);
+        }
+        return advisor.adviseWhist(view, declarerOffset, settings);
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private GameState requireGame(final String gameId) {
+        final var gameState = gameService.getGame(gameId);
+        if (gameState == null) {
+            throw new IllegalArgumentException("Game not found: " + gameId);
+        }
+        return gameState;
+    }
+
+    /**
+     * Зерно зависит от игры, раунда и игрока: повторный запрос подсказки даёт тот же ответ
+     */
+    private MonteCarloAdvisor.Settings settings(final GameState gameState, final String username) {
+        final long seed = Objects.hash(gameState.getGameId(), gameState.getRoundNumber(), username);
+        return new MonteCarloAdvisor.Settings(DEFAULT_SAMPLES, DEFAULT_TIME_BUDGET, seed);
+    }
+}
@@ -0,0 +1,87 @@
+package com.prefhub.server.game;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Поддерживаемый индекс лобби: сводки всех партий и отдельно столов со свободными местами,
+ * упорядоченные по {@code gameId}, — общие и по каждому варианту правил. Страница — проход по хвосту
+ * упорядоченного отображения от курсора, поэтому её цена зависит от размера страницы, а не от числа партий
+ * на сервере, в том числе при отборе по редким правилам.
+ */
+class LobbyIndex {
+    private final NavigableMap<String, GameSummary> all = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, GameSummary> open = new ConcurrentSkipListMap<>();
+    private final Map<String, NavigableMap<String, GameSummary>> allByRule = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<String, GameSummary>> openByRule = new ConcurrentHashMap<>();
+
+    /**
+     * @return предыдущая сводка этой партии или {@code null}
+     */
+    GameSummary update(final GameSummary summary) {
+        final var gameId = summary.gameId();
+        final var previous = all.put(gameId, summary);
+        if (previous != null && !Objects.equals(previous.ruleId(), summary.ruleId())) {
+            byRule(allByRule, previous.ruleId()).remove(gameId);
+            byRule(openByRule, previous.ruleId()).remove(gameId);
+        }
+        byRule(allByRule, summary.ruleId()).put(gameId, summary);
+        if (summary.open()) {
+            open.put(gameId, summary);
+            byRule(openByRule, summary.ruleId()).put(gameId, summary);
+        } else {
+            open.remove(gameId);
+            byRule(openByRule, summary.ruleId()).remove(gameId);
+        }
+        return previous;
+    }
+
+    GameSummary remove(final String gameId) {
+        open.remove(gameId);
+        final var previous = all.remove(gameId);
+        if (previous != null) {
+            byRule(allByRule, previous.ruleId()).remove(gameId);
+            byRule(openByRule, previous.ruleId()).remove(gameId);
+        }
+        return previous;
+    }
+
+    int openCount() {
+        return open.size();
+    }
+
+    /**
+     * @param openOnly только столы со свободными местами
+     * @param ruleId   только партии по этим правилам; {@code null} — любые
+     * @param cursor   {@code gameId}, после которого начинается страница; {@code null} — с начала
+     */
+    LobbyPage query(final boolean openOnly, final String ruleId, final String cursor, final int limit) {
+        final NavigableMap<String, GameSummary> source;
+        if (ruleId == null) {
+            source = openOnly ? open : all;
+        } else {
+            source = (openOnly ? openByRule : allByRule).get(ruleId);
+            if (source == null) {
+                return new LobbyPage(new ArrayList<>(), null);
+            }
+        }
+        final var tail = cursor == null ? source : source.tailMap(cursor, false);
+        final var games = new ArrayList<GameSummary>(Math.min(limit, 64));
+        for (final var summary : tail.values()) {
+            if (games.size() == limit) {
+                return new LobbyPage(games, games.getLast().gameId());
+            }
+            games.add(summary);
+        }
+        return new LobbyPage(games, null);
+    }
+
+    private static NavigableMap<String, GameSummary> byRule(final Map<String, NavigableMap<String, GameSummary>> index,
+                                                            final String ruleId) {
+        return index.computeIfAbsent(Objects.requireNonNullElse(ruleId, ""), key -> new ConcurrentSkipListMap<>());
+    }
+}
@@ -0,0 +1,13 @@
+package com.prefhub.server.game;
+
+/**
+ * Подписчик на изменения лобби в {@link GameService}.
+ * Вызывается под блокировкой игры, поэтому для одной партии изменения приходят по порядку; обработчик должен быть быстрым.
+ */
+public interface LobbyListener {
+    /**
+     * @param previous сводка до изменения; {@code null}, если партия только что появилась
+     * @param current  сводка после изменения; {@code null}, если партия удалена
+     */
+    void onLobbyChanged(GameSummary previous, GameSummary current);
+}
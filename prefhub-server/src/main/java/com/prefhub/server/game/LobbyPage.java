@@ -0,0 +1,11 @@
+package com.prefhub.server.game;
+
+import java.util.List;
+
+/**
+ * Страница лобби
+ *
+ * @param nextCursor значение {@code cursor} для следующей страницы; {@code null}, если это последняя
+ */
+public record LobbyPage(List<GameSummary> games, String nextCursor) {
+}
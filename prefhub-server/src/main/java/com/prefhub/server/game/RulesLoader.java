@@ -1,5 +1,6 @@
 package com.prefhub.server.game;
 
+import com.prefhub.core.model.CompiledRules;
 import com.prefhub.core.model.GameRules;
 import com.google.inject.Inject;
 import com.prefhub.server.repository.RulesRepository;
@@ -7,20 +8,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
- * Загрузчик конфигураций правил игры из persistence layer
+ * Загрузчик конфигураций правил игры из persistence layer.
+ * <p>
+ * Правила компилируются в {@link CompiledRules} один раз и интернируются по паре ruleId + hash:
+ * все партии на одной версии правил разделяют один экземпляр.
+ * Набор текущих правил — неизменяемый снимок, который {@link #reload} заменяет целиком (copy-on-write):
+ * читатели не блокируются, а начатые партии остаются на своей версии.
  */
 public class RulesLoader {
     private static final Logger logger = LoggerFactory.getLogger(RulesLoader.class);
+    private static final String DEFAULT_RULE_ID = "default";
     private final RulesRepository rulesRepository;
-    private final Map<String, GameRules> availableRules;
+    private volatile Map<String, CompiledRules> availableRules;
+    // Все версии правил, на которые могут ссылаться партии
+    private final Map<String, CompiledRules> versions = new ConcurrentHashMap<>();
 
     @Inject
     public RulesLoader(final RulesRepository rulesRepository) {
         this.rulesRepository = rulesRepository;
-        this.availableRules = new HashMap<>();
         loadAllRules();
     }
 
@@ -29,10 +38,65 @@ public class RulesLoader {
      */
     private void loadAllRules() {
         final var rules = rulesRepository.findAll();
+        final var loaded = new HashMap<String, CompiledRules>();
         for (final var entry : rules) {
-            availableRules.put(entry.ruleId(), entry.rules());
-            logger.info("Loaded rules: {} (ID: {})", entry.rules().getName(), entry.ruleId());
+            try {
+                final var compiled = compile(entry.ruleId(), entry.rules());
+                loaded.put(entry.ruleId(), compiled);
+                logger.info("Loaded rules: {} (ID: {}, hash: {})", compiled.getName(), entry.ruleId(), compiled.getHash());
+            } catch (IllegalArgumentException e) {
+                logger.error("Skipping invalid rules {}: {}", entry.ruleId(), e.getMessage());
+            }
         }
+        availableRules = Map.copyOf(loaded);
+    }
+
+    /**
+     * Перечитать один набор правил из хранилища и опубликовать новую версию.
+     * Если файла больше нет — правила убираются из списка; если он не читается или не проходит проверку —
+     * остаётся прежняя версия.
+     */
+    public synchronized void reload(final String ruleId) {
+        final Optional<GameRules> rules;
+        try {
+            rules = rulesRepository.findById(ruleId);
+        } catch (RuntimeException e) {
+            logger.error("Keeping previous version of rules {}: {}", ruleId, e.getMessage());
+            return;
+        }
+
+        final var next = new HashMap<>(availableRules);
+        if (rules.isEmpty()) {
+            if (next.remove(ruleId) == null) {
+                return;
+            }
+            logger.info("Rules removed: {}", ruleId);
+        } else {
+            final CompiledRules compiled;
+            try {
+                compiled = compile(ruleId, rules.get());
+            } catch (IllegalArgumentException e) {
+                logger.error("Keeping previous version of rules {}: {}", ruleId, e.getMessage());
+                return;
+            }
+            if (next.put(ruleId, compiled) == compiled) {
+                return; // Содержимое не изменилось
+            }
+            logger.info("Rules reloaded: {} (ID: {}, hash: {})", compiled.getName(), ruleId, compiled.getHash());
+        }
+        availableRules = Map.copyOf(next);
+    }
+
+    /**
+     * Скомпилировать правила или вернуть уже скомпилированный экземпляр той же версии
+     */
+    private CompiledRules compile(final String ruleId, final GameRules rules) {
+        final var compiled = CompiledRules.compile(ruleId, rules);
+        return versions.computeIfAbsent(key(ruleId, compiled.getHash()), key -> compiled);
+    }
+
+    private static String key(final String ruleId, final String hash) {
+        return ruleId + ":" + hash;
     }
 
     /**
@@ -42,15 +106,46 @@ public class RulesLoader {
      * @return правила игры
      * @throws IllegalArgumentException если правила не найдены
      */
-    public GameRules getRules(final String ruleId) {
-        final var rules = availableRules.get(ruleId);
+    public CompiledRules getRules(final String ruleId) {
+        final var snapshot = availableRules;
+        final var rules = snapshot.get(ruleId);
         if (rules == null) {
             throw new IllegalArgumentException("Rules not found: " + ruleId +
-                ". Available: " + String.join(", ", availableRules.keySet()));
+                ". Available: " + String.join(", ", snapshot.keySet()));
         }
         return rules;
     }
 
+    /**
+     * Получить конкретную версию правил, на которую ссылается партия
+     *
+     * @return версия правил или {@link Optional#empty()}, если такой версии сервер не знает
+     */
+    public Optional<CompiledRules> getVersion(final String ruleId, final String hash) {
+        return Optional.ofNullable(versions.get(key(ruleId, hash)));
+    }
+
+    /**
+     * Правила для партии, загруженной из хранилища: её версия, если она известна,
+     * иначе текущая версия того же ruleId, иначе правила по умолчанию
+     */
+    public CompiledRules resolve(final String ruleId, final String hash) {
+        if (ruleId == null) {
+            return getDefaultRules();
+        }
+        final var version = versions.get(key(ruleId, hash));
+        if (version != null) {
+            return version;
+        }
+        final var current = availableRules.get(ruleId);
+        if (current != null) {
+            logger.warn("Rules {} version {} is gone, using current version {}", ruleId, hash, current.getHash());
+            return current;
+        }
+        logger.warn("Rules {} not found, using default rules", ruleId);
+        return getDefaultRules();
+    }
+
     /**
      * Получить список всех доступных правил
      *
@@ -69,14 +164,15 @@ public class RulesLoader {
      *
      * @return правила игры по умолчанию
      */
-    public GameRules getDefaultRules() {
-        if (availableRules.containsKey("leningradka")) {
-            return availableRules.get("leningradka");
+    public CompiledRules getDefaultRules() {
+        final var snapshot = availableRules;
+        if (snapshot.containsKey("leningradka")) {
+            return snapshot.get("leningradka");
         }
-        if (!availableRules.isEmpty()) {
-            return availableRules.values().iterator().next();
+        if (!snapshot.isEmpty()) {
+            return snapshot.values().iterator().next();
         }
-        return new GameRules(); // Fallback to default constructor
+        return compile(DEFAULT_RULE_ID, new GameRules()); // Fallback to default constructor
     }
 
     /**
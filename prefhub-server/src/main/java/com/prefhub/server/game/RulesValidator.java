@@ -4,40 +4,50 @@ import com.prefhub.core.model.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Валидатор действий игроков согласно правилам игры
  */
 public class RulesValidator {
+    private static final Contract[] CONTRACTS = Contract.values();
+
+    /**
+     * Доступные заявки после старшей заявки с данным порядковым номером: от правил не зависят
+     */
+    private static final List<List<Contract>> AFTER_BID = new ArrayList<>(CONTRACTS.length);
+
+    /**
+     * Доступные заявки в начале торговли по минимальной заявке (правил или выхода из распасов)
+     */
+    private static final Map<Integer, List<Contract>> OPENING = new ConcurrentHashMap<>();
+
+    static {
+        for (final var highest : CONTRACTS) {
+            AFTER_BID.add(highest.isPass() ? null : availableBids(highest, 0));
+        }
+    }
 
     /**
      * Валидация заявки (бида) игрока
      */
     public static void validateBid(final GameState gameState, final Contract bid) {
-        final var rules = gameState.getRules();
-
         if (bid.isPass()) {
             return; // Пас всегда разрешён
         }
 
-        // Проверка минимальной заявки
-        if (!bid.isMiser() && bid.getTricks() < rules.getMinimumOpeningBid()) {
-            throw new IllegalArgumentException(
-                "Минимальная заявка: " + rules.getMinimumOpeningBid());
+        // Проверка минимальной заявки (после распасов — заказ для выхода)
+        final int minimumBid = minimumBid(gameState);
+        if (!bid.isMiser() && bid.getTricks() < minimumBid) {
+            throw new IllegalArgumentException("Минимальная заявка: " + minimumBid);
         }
 
         // TODO: Проверка тёмной игры и рефа
         // Эти функции будут реализованы позже как модификаторы контрактов
 
         // Проверка, что заявка выше текущей максимальной
-        final var bids = gameState.getBids();
-        Contract maxBid = null;
-        for (final var existingBid : bids.values()) {
-            if (!existingBid.isPass() && (maxBid == null || existingBid.isHigherThan(maxBid))) {
-                maxBid = existingBid;
-            }
-        }
-
+        final var maxBid = gameState.getHighestBid();
         if (maxBid != null && !bid.isHigherThan(maxBid)) {
             throw new IllegalArgumentException(
                 "Заявка должна быть выше текущей: " + maxBid.getDisplayName());
@@ -45,72 +55,120 @@ public class RulesValidator {
     }
 
     /**
-     * Валидация виста
+     * Валидация хода картой: карта должна быть на руке и соответствовать масти захода или козырю
      */
-    public static void validateWhist(final GameState gameState, final Player player,
-                                     final boolean isWhisting, final boolean isHalfWhist) {
-        final var rules = gameState.getRules();
-        final var contract = gameState.getContract();
+    public static void validateCardPlay(final GameState gameState, final Player player, final Card card) {
+        final var hand = player.getHand();
+        if (!hand.contains(card)) {
+            throw new IllegalArgumentException("Card not in hand: " + card);
+        }
+        final var leadSuit = gameState.getCurrentTrick().getLeadSuit();
+        final var trump = gameState.getContract().getTrumpSuit();
+        if (!LegalMoves.isLegal(hand, card, leadSuit, trump)) {
+            if (leadSuit != null && hand.stream().anyMatch(c -> c.suit() == leadSuit)) {
+                throw new IllegalArgumentException("Нужно ходить в масть: " + leadSuit);
+            }
+            throw new IllegalArgumentException("Нужно бить козырем: " + trump);
+        }
+    }
 
-        if (contract == null) {
-            throw new IllegalStateException("Нет контракта для виста");
+    /**
+     * Валидация решения защитника о висте
+     */
+    public static void validateWhist(final GameState gameState, final Player player, final Whist whist) {
+        if (gameState.getPhase() != GamePhase.WHISTING) {
+            throw new IllegalStateException("Not in whisting phase");
+        }
+        if (!player.equals(gameState.getCurrentPlayer())) {
+            throw new IllegalStateException("Not your turn");
         }
+        final var error = whistError(gameState, whist);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
 
-        // Проверка обязательного виста на 6 пик
-        if (rules.isMandatory6SpadesWhist() &&
-            contract.getTricks() == 6 &&
-            contract.getTrumpSuit() == Suit.SPADES &&
-            !isWhisting) {
-            throw new IllegalArgumentException("Вист на 6 пик обязателен");
+    /**
+     * Доступные текущему защитнику решения о висте
+     */
+    public static List<Whist> getAvailableWhists(final GameState gameState) {
+        if (gameState.getPhase() != GamePhase.WHISTING) {
+            return List.of();
+        }
+        final var available = new ArrayList<Whist>(3);
+        for (final var whist : Whist.values()) {
+            if (whistError(gameState, whist) == null) {
+                available.add(whist);
+            }
         }
+        return available;
+    }
+
+    /**
+     * Почему решение о висте недопустимо, или null, если допустимо
+     */
+    private static String whistError(final GameState gameState, final Whist whist) {
+        final var rules = gameState.getRules();
+        final var contract = gameState.getContract();
 
-        // Проверка пол-виста
-        if (isHalfWhist && !rules.isAllowHalfWhist()) {
-            throw new IllegalArgumentException("Пол-вист запрещён в этом варианте правил");
+        if (contract == null) {
+            return "Нет контракта для виста";
         }
 
-        // Проверка пол-виста после паса
-        if (isHalfWhist && !rules.isAllowHalfWhistAfterPass()) {
-            // Нужно проверить, был ли уже пас от другого игрока
-            final var bids = gameState.getBids();
-            final var hasPass = bids.entrySet().stream()
-                .filter(e -> !e.getKey().equals(gameState.getDeclarer()))
-                .anyMatch(e -> e.getValue().isPass());
+        // Обязательный вист на 6 пик
+        if (whist != Whist.WHIST && rules.isMandatory6SpadesWhist() &&
+            contract.getTricks() == 6 && contract.getTrumpSuit() == Suit.SPADES) {
+            return "Вист на 6 пик обязателен";
+        }
 
-            if (hasPass) {
-                throw new IllegalArgumentException(
-                    "Пол-вист после паса запрещён в этом варианте правил");
+        if (whist == Whist.HALF_WHIST) {
+            if (!rules.isAllowHalfWhist()) {
+                return "Пол-вист запрещён в этом варианте правил";
+            }
+            // Пасовавший защитник, отвечающий на пол-вист партнёра, выбирает только между вистом и пасом
+            if (gameState.getWhists().containsKey(gameState.getCurrentPlayer())) {
+                return "После пол-виста партнёра можно только вистовать или пасовать";
+            }
+            if (contract.getTricks() > 7) {
+                return "Пол-вист возможен только на шестерную и семерную";
+            }
+            // Пол-вист объявляется только после паса партнёра
+            final var partnerPassed = gameState.getWhists().containsValue(Whist.PASS);
+            if (!partnerPassed) {
+                return "Пол-вист возможен только после паса партнёра";
             }
         }
+        return null;
     }
 
     /**
-     * Получить список доступных контрактов для заявки
+     * Получить список доступных контрактов для заявки.
+     * Список неизменяемый и общий для всех партий с той же старшей заявкой (или той же минимальной заявкой на открытии)
      */
     public static List<Contract> getAvailableBids(final GameState gameState) {
-        final var rules = gameState.getRules();
-        final var available = new ArrayList<Contract>();
-
-        // Найти максимальную текущую заявку
-        Contract maxBid = null;
-        for (final var bid : gameState.getBids().values()) {
-            if (!bid.isPass() && (maxBid == null || bid.isHigherThan(maxBid))) {
-                maxBid = bid;
-            }
+        final var maxBid = gameState.getHighestBid();
+        if (maxBid != null) {
+            return AFTER_BID.get(maxBid.ordinal());
         }
+        return OPENING.computeIfAbsent(minimumBid(gameState),
+                minimumOpeningBid -> availableBids(null, minimumOpeningBid));
+    }
+
+    private static List<Contract> availableBids(final Contract maxBid, final int minimumOpeningBid) {
+        final var available = new ArrayList<Contract>();
 
         // Пас всегда доступен
         available.add(Contract.PASS);
 
         // Генерируем доступные игровые контракты
-        for (final var contract : Contract.values()) {
+        for (final var contract : CONTRACTS) {
             // Пропускаем пас (уже добавлен)
             if (contract.isPass()) {
                 continue;
             }
 
             // Проверка минимальной заявки
-            if (maxBid == null && contract.getTricks() < rules.getMinimumOpeningBid() && !contract.isMiser()) {
+            if (maxBid == null && contract.getTricks() < minimumOpeningBid && !contract.isMiser()) {
                 continue;
             }
 
@@ -122,54 +180,22 @@ public class RulesValidator {
             available.add(contract);
         }
 
-        return available;
+        return List.copyOf(available);
     }
 
     /**
-     * Валидация выхода из распасов
+     * Минимальная заявка раздачи: минимальная заявка правил, а после распасов подряд — не ниже заказа для выхода.
+     * Мизер разрешён всегда
      */
-    public static boolean canExitMizer(final GameState gameState, final Player player) {
+    public static int minimumBid(final GameState gameState) {
         final var rules = gameState.getRules();
-
-        // Получить количество распасов у игрока
-        final int mizerCount = player.getMountain(); // TODO: нужно отдельное поле для распасов
-
-        if (mizerCount == 0) {
-            return true; // Нет распасов
-        }
-
-        // Определить требуемый контракт для выхода
-        final int requiredTricks;
-        switch (rules.getMizerExitType()) {
-            case FLAT_6:
-                requiredTricks = 6;
-                break;
-            case ESCALATING_678:
-                if (mizerCount == 1) requiredTricks = 6;
-                else if (mizerCount == 2) requiredTricks = 7;
-                else requiredTricks = 8;
-                break;
-            case ESCALATING_677:
-                if (mizerCount == 1) requiredTricks = 6;
-                else requiredTricks = 7;
-                break;
-            default:
-                requiredTricks = 6;
-        }
-
-        // Проверка разрешения "выход без трёх"
-        if (!rules.isAllowExitWithoutThree()) {
-            // Игрок должен взять минимум 3 взятки сверх контракта
-            // Это нужно будет проверить после розыгрыша
-        }
-
-        return true; // Временно разрешаем
+        return Math.max(rules.getMinimumOpeningBid(), rules.getMizerExitTricks(gameState.getRaspasyInRow()));
     }
 
     /**
      * Получить описание правил для клиента
      */
-    public static String getRulesDescription(final GameRules rules) {
+    public static String getRulesDescription(final CompiledRules rules) {
         final var sb = new StringBuilder();
 
         sb.append("Правила: ").append(rules.getName()).append("\n");
@@ -0,0 +1,112 @@
+package com.prefhub.server.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Следит за каталогом правил и перезагружает изменённые файлы без перезапуска сервера.
+ * <p>
+ * Редактор обычно пишет файл в несколько приёмов, поэтому перезагрузка откладывается, пока файл
+ * не перестанет меняться. Разбор и проверка идут в отдельном потоке, а новая версия публикуется
+ * через {@link RulesLoader#reload}.
+ */
+public class RulesWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(RulesWatcher.class);
+    private static final long SETTLE_MILLIS = 250;
+    private static final String SUFFIX = ".json";
+
+    private final Path directory;
+    private final RulesLoader rulesLoader;
+    private final ScheduledExecutorService reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "rules-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    private WatchService watchService;
+
+    public RulesWatcher(final Path directory, final RulesLoader rulesLoader) {
+        this.directory = directory;
+        this.rulesLoader = rulesLoader;
+    }
+
+    public void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        final var thread = new Thread(this::watch, "rules-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching rules directory {}", directory.toAbsolutePath());
+    }
+
+    public void stop() {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to close rules watcher", e);
+        }
+        reloader.shutdownNow();
+    }
+
+    private void watch() {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            for (final var event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    // События потеряны: перечитываем всё, что лежит в каталоге
+                    try (final var files = Files.list(directory)) {
+                        files.map(path -> path.getFileName().toString())
+                                .filter(name -> name.endsWith(SUFFIX))
+                                .forEach(name -> schedule(name.substring(0, name.length() - SUFFIX.length())));
+                    } catch (IOException e) {
+                        logger.error("Failed to list rules directory", e);
+                    }
+                    continue;
+                }
+                final var name = event.context().toString();
+                if (name.endsWith(SUFFIX)) {
+                    schedule(name.substring(0, name.length() - SUFFIX.length()));
+                }
+            }
+            if (!key.reset()) {
+                logger.warn("Rules directory {} is no longer watched", directory);
+                return;
+            }
+        }
+    }
+
+    private void schedule(final String ruleId) {
+        pending.compute(ruleId, (id, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            return reloader.schedule(() -> {
+                pending.remove(id);
+                rulesLoader.reload(id);
+            }, SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package com.prefhub.server.game;
+
+import com.prefhub.core.model.GameState;
+
+import java.util.Map;
+
+/**
+ * Подписчик на подсчёт очков раздачи в {@link GameService}.
+ * Вызывается под блокировкой игры сразу после {@code calculateScores}; обработчик должен быть быстрым.
+ */
+public interface ScoreListener {
+    /**
+     * @param points изменение расчёта каждого игрока за раздачу в вистах (см. {@code ScoreTable#settle})
+     */
+    void onRoundScored(GameState gameState, Map<String, Integer> points);
+}
@@ -0,0 +1,28 @@
+package com.prefhub.server.game;
+
+import java.time.Duration;
+
+/**
+ * Параметры режима зрителя
+ *
+ * @param revealAfterHand показывать зрителям руки и прикуп, когда раздача сыграна
+ * @param catchUpInterval как часто досылать последнее состояние зрителям, пропустившим кадры из-за медленного канала
+ */
+public record SpectatorSettings(boolean revealAfterHand, Duration catchUpInterval) {
+    public SpectatorSettings {
+        if (catchUpInterval == null || catchUpInterval.isNegative() || catchUpInterval.isZero()) {
+            throw new IllegalArgumentException("Catch-up interval must be positive");
+        }
+    }
+
+    /**
+     * Руки открываются после раздачи, отстающие зрители догоняют раз в 200 мс
+     */
+    public static SpectatorSettings defaults() {
+        return new SpectatorSettings(true, Duration.ofMillis(200));
+    }
+
+    public SpectatorSettings withRevealAfterHand(final boolean reveal) {
+        return new SpectatorSettings(reveal, catchUpInterval);
+    }
+}
@@ -0,0 +1,101 @@
+package com.prefhub.server.game;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import com.prefhub.core.model.GameState;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Кэш зрительских кадров: представление партии строится и сериализуется один раз на версию состояния,
+ * а дальше одна и та же строка уходит всем зрителям (WebSocket и REST).
+ * Версия растёт при каждом изменении партии; кадр строится лениво, только если за партией кто-то следит.
+ * Версии начинаются заново после перезапуска и при повторном создании партии с тем же gameId, поэтому
+ * ETag кадра включает ещё эпоху процесса и номер поколения партии.
+ */
+public class SpectatorViews {
+    private final GameService gameService;
+    private final ObjectMapper objectMapper;
+    private final SpectatorSettings settings;
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong lastGeneration = new AtomicLong();
+    // Поколение партии: новое при каждом появлении gameId в этом процессе
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, Frame> frames = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param tag  ETag кадра: эпоха процесса, поколение партии и версия
+     * @param json сообщение {@code {"type":"spectatorState","state":{...}}}
+     */
+    public record Frame(long version, String tag, String json) {
+    }
+
+    @Inject
+    public SpectatorViews(final GameService gameService, final ObjectMapper objectMapper, final SpectatorSettings settings) {
+        this.gameService = gameService;
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+        gameService.addListener(this::onGameChanged);
+        gameService.addLobbyListener((previous, current) -> {
+            if (current == null) {
+                versions.remove(previous.gameId());
+                generations.remove(previous.gameId());
+                frames.remove(previous.gameId());
+            }
+        });
+    }
+
+    /**
+     * Подписаться на смену версии партии; вызывается уже после того, как прежний кадр устарел
+     */
+    public void addListener(final Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Кадр текущей версии партии
+     *
+     * @throws IllegalArgumentException если партии нет
+     */
+    public Frame current(final String gameId) {
+        final var frame = frames.get(gameId);
+        final long version = version(gameId);
+        if (frame != null && frame.version() == version) {
+            return frame;
+        }
+        return frames.compute(gameId, (id, existing) ->
+                existing != null && existing.version() == version ? existing : build(id, version));
+    }
+
+    private void onGameChanged(final GameState gameState) {
+        final var gameId = gameState.getGameId();
+        versions.computeIfAbsent(gameId, id -> new AtomicLong()).incrementAndGet();
+        frames.remove(gameId);
+        for (final var listener : listeners) {
+            listener.accept(gameId);
+        }
+    }
+
+    private long version(final String gameId) {
+        final var version = versions.get(gameId);
+        return version != null ? version.get() : 0;
+    }
+
+    private Frame build(final String gameId, final long version) {
+        final var view = gameService.getSpectatorView(gameId, version, settings.revealAfterHand());
+        final long generation = generations.computeIfAbsent(gameId, id -> lastGeneration.incrementAndGet());
+        try {
+            return new Frame(version, epoch + "-" + generation + "-" + version, objectMapper.writeValueAsString(Map.of("type", "spectatorState", "state", view)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize spectator view", e);
+        }
+    }
+}
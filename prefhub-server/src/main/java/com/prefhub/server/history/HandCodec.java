@@ -0,0 +1,294 @@
+package com.prefhub.server.history;
+
+import com.prefhub.core.model.Card;
+import com.prefhub.core.model.CardSet;
+import com.prefhub.core.model.Contract;
+import com.prefhub.core.model.GameState;
+import com.prefhub.core.model.Player;
+import com.prefhub.core.model.Trick;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Двоичный формат журнала раздач.
+ * <p>
+ * Запись партии ({@link #GAME}) один раз на сегмент связывает короткий номер с gameId, правилами и игроками.
+ * Запись раздачи ({@link #HAND}) ссылается на этот номер и укладывается примерно в 50 байт:
+ * <ul>
+ *     <li>сдача — владелец каждой из 32 карт в двух битах (три руки и прикуп), 8 байт; порядок карт прикупа,
+ *     который важен на распасах, — один бит заголовка;</li>
+ *     <li>заявки и контракт — по байту на номер {@link Contract} + 1;</li>
+ *     <li>снос — два номера карт;</li>
+ *     <li>розыгрыш — номера карт по 5 бит в порядке хода; кто ходил и кто взял, восстанавливается по правилам взятки;</li>
+ *     <li>очки, пуля и гора после раздачи — varint в zigzag-кодировке.</li>
+ * </ul>
+ */
+final class HandCodec {
+    static final byte GAME = 1;
+    static final byte HAND = 2;
+
+    private static final int SEATS = 3;
+    private static final int NONE = 3;
+    private static final int WIDOW = 3;
+    private static final int CARD_BITS = 5;
+    private static final Contract[] CONTRACTS = Contract.values();
+
+    /**
+     * Заголовок партии из записи {@link #GAME}
+     */
+    record GameHeader(int ref, String gameId, String ruleId, List<String> players) {
+    }
+
+    private HandCodec() {
+    }
+
+    static byte[] encodeGame(final GameHeader header) {
+        final var out = new ByteArrayOutputStream(64);
+        out.write(GAME);
+        writeVarint(out, header.ref());
+        writeString(out, header.gameId());
+        writeString(out, header.ruleId() != null ? header.ruleId() : "");
+        writeVarint(out, header.players().size());
+        for (final var player : header.players()) {
+            writeString(out, player);
+        }
+        return out.toByteArray();
+    }
+
+    static GameHeader decodeGame(final ByteBuffer in) {
+        final int ref = readVarint(in);
+        final var gameId = readString(in);
+        final var ruleId = readString(in);
+        final int count = readVarint(in);
+        final var players = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(readString(in));
+        }
+        return new GameHeader(ref, gameId, ruleId.isEmpty() ? null : ruleId, List.copyOf(players));
+    }
+
+    static byte[] encodeHand(final int ref, final HandRecord hand) {
+        final var players = hand.players();
+        if (players.size() != SEATS) {
+            throw new IllegalArgumentException("Hand history supports " + SEATS + " players, got " + players.size());
+        }
+        final var out = new ByteArrayOutputStream(64);
+        out.write(HAND);
+        writeVarint(out, ref);
+        writeVarint(out, hand.round());
+
+        final boolean discarded = !hand.discards().isEmpty();
+        final int firstLeader = hand.tricks().isEmpty() ? 0 : players.indexOf(hand.tricks().getFirst().leader());
+        final var widowCards = hand.widow();
+        final boolean widowReversed = widowCards.size() == 2
+                && CardSet.index(widowCards.get(0)) > CardSet.index(widowCards.get(1));
+        out.write(seat(players, hand.dealer()) | seat(players, hand.declarer()) << 2 | firstLeader << 4
+                | (discarded ? 1 << 6 : 0) | (widowReversed ? 1 << 7 : 0));
+
+        // Сдача: 2 бита на карту — номер руки или прикуп
+        long deal = 0;
+        for (final var card : widowCards) {
+            deal |= (long) WIDOW << 2 * CardSet.index(card);
+        }
+        for (int seat = 0; seat < SEATS; seat++) {
+            for (final var card : hand.hands().get(players.get(seat))) {
+                deal |= (long) seat << 2 * CardSet.index(card);
+            }
+        }
+        for (int i = 0; i < Long.BYTES; i++) {
+            out.write((int) (deal >>> 8 * i));
+        }
+
+        out.write(contractCode(hand.contract()));
+        for (final var player : players) {
+            out.write(contractCode(hand.bids().get(player)));
+        }
+        if (discarded) {
+            for (final var card : hand.discards()) {
+                out.write(CardSet.index(card));
+            }
+        }
+
+        // Розыгрыш: по 5 бит на карту
+        out.write(hand.tricks().size());
+        int bits = 0;
+        int pending = 0;
+        for (final var trick : hand.tricks()) {
+            for (final var play : trick.plays()) {
+                bits |= CardSet.index(play.card()) << pending;
+                pending += CARD_BITS;
+                while (pending >= 8) {
+                    out.write(bits);
+                    bits >>>= 8;
+                    pending -= 8;
+                }
+            }
+        }
+        if (pending > 0) {
+            out.write(bits);
+        }
+
+        for (final var player : players) {
+            writeVarint(out, zigzag(hand.scores().get(player)));
+            writeVarint(out, zigzag(hand.bullets().get(player)));
+            writeVarint(out, zigzag(hand.mountains().get(player)));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Номер партии и раздачи без разбора остального — для построения индекса
+     *
+     * @return {@code ref << 32 | round}
+     */
+    static long peekHand(final ByteBuffer in) {
+        final var copy = in.duplicate();
+        final int ref = readVarint(copy);
+        final int round = readVarint(copy);
+        return (long) ref << 32 | round & 0xFFFFFFFFL;
+    }
+
+    static HandRecord decodeHand(final ByteBuffer in, final GameHeader game) {
+        final var players = game.players();
+        readVarint(in); // номер партии
+        final int round = readVarint(in);
+        final int header = in.get() & 0xFF;
+        final int dealerSeat = header & 3;
+        final int declarerSeat = header >> 2 & 3;
+        final int firstLeader = header >> 4 & 3;
+        final boolean discarded = (header & 1 << 6) != 0;
+        final boolean widowReversed = (header & 1 << 7) != 0;
+
+        long deal = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            deal |= (in.get() & 0xFFL) << 8 * i;
+        }
+        final var hands = new LinkedHashMap<String, List<Card>>();
+        for (final var player : players) {
+            hands.put(player, new ArrayList<>());
+        }
+        final var widow = new ArrayList<Card>(2);
+        for (int index = 0; index < 32; index++) {
+            final int owner = (int) (deal >>> 2 * index & 3);
+            (owner == WIDOW ? widow : hands.get(players.get(owner))).add(CardSet.card(index));
+        }
+        if (widowReversed) {
+            Collections.reverse(widow);
+        }
+
+        final var contract = contract(in.get());
+        final var bids = new LinkedHashMap<String, Contract>();
+        for (final var player : players) {
+            final var bid = contract(in.get());
+            if (bid != null) {
+                bids.put(player, bid);
+            }
+        }
+        final var discards = new ArrayList<Card>(2);
+        if (discarded) {
+            discards.add(CardSet.card(in.get()));
+            discards.add(CardSet.card(in.get()));
+        }
+
+        final int trickCount = in.get();
+        final var trump = contract != null ? contract.getTrumpSuit() : null;
+        final var tricks = new ArrayList<HandRecord.TrickRecord>(trickCount);
+        int bits = 0;
+        int pending = 0;
+        int leader = firstLeader;
+        for (int t = 0; t < trickCount; t++) {
+            // Первые взятки распасов: масть задаёт прикуп, заходит первая рука
+            final boolean widowLed = contract != null && contract.isPass() && t < GameState.WIDOW_LED_TRICKS;
+            final var trick = widowLed ? new Trick(widow.get(t).suit()) : new Trick();
+            final var plays = new ArrayList<HandRecord.Play>(SEATS);
+            for (int i = 0; i < SEATS; i++) {
+                if (pending < CARD_BITS) {
+                    bits |= (in.get() & 0xFF) << pending;
+                    pending += 8;
+                }
+                final var card = CardSet.card(bits & (1 << CARD_BITS) - 1);
+                bits >>>= CARD_BITS;
+                pending -= CARD_BITS;
+                final var player = players.get((leader + i) % SEATS);
+                plays.add(new HandRecord.Play(player, card));
+                trick.playCard(new Player(player), card);
+            }
+            final var winner = trick.getWinner(trump).getUsername();
+            tricks.add(new HandRecord.TrickRecord(players.get(leader), List.copyOf(plays), winner));
+            leader = widowLed && t + 1 < GameState.WIDOW_LED_TRICKS ? firstLeader : players.indexOf(winner);
+        }
+
+        final var scores = new LinkedHashMap<String, Integer>();
+        final var bullets = new LinkedHashMap<String, Integer>();
+        final var mountains = new LinkedHashMap<String, Integer>();
+        for (final var player : players) {
+            scores.put(player, unzigzag(readVarint(in)));
+            bullets.put(player, unzigzag(readVarint(in)));
+            mountains.put(player, unzigzag(readVarint(in)));
+        }
+        return new HandRecord(game.gameId(), game.ruleId(), round, players, players.get(dealerSeat), hands, widow,
+                bids, contract, declarerSeat != NONE ? players.get(declarerSeat) : null, discards, tricks,
+                scores, bullets, mountains);
+    }
+
+    static void writeVarint(final ByteArrayOutputStream out, final int value) {
+        int rest = value;
+        while ((rest & ~0x7F) != 0) {
+            out.write(rest & 0x7F | 0x80);
+            rest >>>= 7;
+        }
+        out.write(rest);
+    }
+
+    static int readVarint(final ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final int b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static int seat(final List<String> players, final String player) {
+        return player != null ? players.indexOf(player) : NONE;
+    }
+
+    private static int contractCode(final Contract contract) {
+        return contract != null ? contract.ordinal() + 1 : 0;
+    }
+
+    private static Contract contract(final byte code) {
+        return code != 0 ? CONTRACTS[code - 1] : null;
+    }
+
+    private static int zigzag(final Integer value) {
+        final int v = value != null ? value : 0;
+        return v << 1 ^ v >> 31;
+    }
+
+    private static int unzigzag(final int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private static void writeString(final ByteArrayOutputStream out, final String value) {
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(final ByteBuffer in) {
+        final var bytes = new byte[readVarint(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
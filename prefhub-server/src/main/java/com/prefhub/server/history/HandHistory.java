@@ -0,0 +1,107 @@
+package com.prefhub.server.history;
+
+import com.google.inject.Inject;
+import com.prefhub.core.model.Contract;
+import com.prefhub.core.model.GameState;
+import com.prefhub.core.model.Player;
+import com.prefhub.server.game.GameService;
+import com.prefhub.server.metrics.Counter;
+import com.prefhub.server.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * История раздач: каждая завершённая раздача записывается в {@link HandLog} до того, как
+ * {@link GameState#nextRound()} очистит взятки, заявки и прикуп.
+ */
+public class HandHistory {
+    private static final Logger logger = LoggerFactory.getLogger(HandHistory.class);
+
+    private final HandLog log;
+    private final Counter handsRecorded;
+    private final Counter bytesWritten;
+
+    @Inject
+    public HandHistory(final GameService gameService, final HandLog log, final MetricsRegistry metrics) {
+        this.log = log;
+        this.handsRecorded = metrics.counter("history_hands_total", "Hands appended to the hand history");
+        this.bytesWritten = metrics.counter("history_bytes_total", "Bytes of hand records appended to the hand history");
+        gameService.addDealListener(this::record);
+    }
+
+    public List<Integer> rounds(final String gameId) {
+        return log.rounds(gameId);
+    }
+
+    public Optional<HandRecord> replay(final String gameId, final int round) {
+        return log.read(gameId, round);
+    }
+
+    public void shutdown() {
+        log.close();
+    }
+
+    private void record(final GameState gameState) {
+        if (gameState.getPlayers().size() != 3) {
+            return;
+        }
+        final var hand = capture(gameState);
+        try {
+            bytesWritten.add(log.append(hand));
+            handsRecorded.increment();
+        } catch (RuntimeException e) {
+            // История не должна мешать игре
+            logger.error("Failed to record hand {}/{}", hand.gameId(), hand.round(), e);
+        }
+    }
+
+    /**
+     * Восстановить раздачу по состоянию в конце розыгрыша (в том числе распасов и игры, которую никто не вистовал).
+     * Сданные руки и снос восстанавливает {@link GameState#getDealtHands()} и {@link GameState#getDiscards()}.
+     */
+    static HandRecord capture(final GameState gameState) {
+        final var players = gameState.getPlayers();
+        final var names = players.stream().map(Player::getUsername).toList();
+        final var contract = gameState.getContract();
+        final var trump = contract != null ? contract.getTrumpSuit() : null;
+
+        final var tricks = new ArrayList<HandRecord.TrickRecord>();
+        for (final var trick : gameState.getCompletedTricks()) {
+            final var cards = trick.getCardsPlayed();
+            final int leader = players.indexOf(trick.getLeadPlayer());
+            final var plays = new ArrayList<HandRecord.Play>(3);
+            for (int i = 0; i < players.size(); i++) {
+                final var player = players.get((leader + i) % players.size());
+                final var card = cards.get(player);
+                plays.add(new HandRecord.Play(player.getUsername(), card));
+            }
+            tricks.add(new HandRecord.TrickRecord(trick.getLeadPlayer().getUsername(), List.copyOf(plays),
+                    trick.getWinner(trump).getUsername()));
+        }
+
+        final var widow = gameState.getWidow();
+        final var declarer = gameState.getDeclarer();
+        final var hands = gameState.getDealtHands();
+        final var discards = gameState.getDiscards();
+
+        final var bids = new LinkedHashMap<String, Contract>();
+        gameState.getBids().forEach((player, bid) -> bids.put(player.getUsername(), bid));
+        final var scores = new LinkedHashMap<String, Integer>();
+        final var bullets = new LinkedHashMap<String, Integer>();
+        final var mountains = new LinkedHashMap<String, Integer>();
+        for (final var player : players) {
+            scores.put(player.getUsername(), player.getScore());
+            bullets.put(player.getUsername(), player.getBullet());
+            mountains.put(player.getUsername(), player.getMountain());
+        }
+        final var dealer = gameState.getDealer();
+        return new HandRecord(gameState.getGameId(), gameState.getRuleId(), gameState.getRoundNumber(), names,
+                dealer != null ? dealer.getUsername() : null, hands, widow, bids, contract,
+                declarer != null ? declarer.getUsername() : null, discards, tricks, scores, bullets, mountains);
+    }
+}
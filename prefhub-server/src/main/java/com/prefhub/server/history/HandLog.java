@@ -0,0 +1,310 @@
+package com.prefhub.server.history;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Журнал сыгранных раздач: файлы-сегменты {@code hands-NNNNNNNN.log}, в которые записи только дописываются.
+ * <p>
+ * Каждая запись — длина (varint) и тело в формате {@link HandCodec}. Индекс gameId → раздача → (сегмент, смещение)
+ * держится в памяти и строится при открытии одним проходом по сегментам; недописанный хвост последнего сегмента
+ * после аварийной остановки отрезается.
+ */
+public class HandLog {
+    private static final Logger logger = LoggerFactory.getLogger(HandLog.class);
+    private static final Pattern SEGMENT = Pattern.compile("hands-(\\d{8})\\.log");
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+    private static final int MAX_VARINT = 5;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Map<String, GameEntry> games = new ConcurrentHashMap<>();
+    // Заголовки партий по сегментам: номер партии действует только внутри своего сегмента
+    private final Map<Integer, Map<Integer, HandCodec.GameHeader>> headers = new ConcurrentHashMap<>();
+    private final Map<Integer, FileChannel> readers = new ConcurrentHashMap<>();
+
+    // Сегмент для записи; поля ниже меняются под this
+    private int segment;
+    private FileChannel writer;
+    private long size;
+    // Партии, уже описанные в текущем сегменте (ключ — заголовок с нулевым номером)
+    private final Map<HandCodec.GameHeader, Integer> segmentRefs = new HashMap<>();
+
+    public HandLog(final Path directory, final HistorySettings settings) {
+        this.directory = directory;
+        this.segmentBytes = settings.segmentBytes();
+        try {
+            Files.createDirectories(directory);
+            open();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open hand history in " + directory, e);
+        }
+        logger.info("Hand history: {} hands of {} games in {}", countHands(), games.size(), directory.toAbsolutePath());
+    }
+
+    /**
+     * Дописать раздачу
+     *
+     * @return сколько байт заняла запись раздачи
+     */
+    public synchronized int append(final HandRecord hand) {
+        try {
+            if (size >= segmentBytes) {
+                roll();
+            }
+            final var key = new HandCodec.GameHeader(0, hand.gameId(), hand.ruleId(), hand.players());
+            var ref = segmentRefs.get(key);
+            if (ref == null) {
+                ref = segmentRefs.size() + 1;
+                final var header = new HandCodec.GameHeader(ref, hand.gameId(), hand.ruleId(), hand.players());
+                write(frame(HandCodec.encodeGame(header)));
+                segmentRefs.put(key, ref);
+                headers.get(segment).put(ref, header);
+            }
+            final var frame = frame(HandCodec.encodeHand(ref, hand));
+            final long offset = write(frame);
+            games.computeIfAbsent(hand.gameId(), id -> new GameEntry()).add(hand.round(), position(segment, offset));
+            return frame.length;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append hand " + hand.gameId() + "/" + hand.round(), e);
+        }
+    }
+
+    /**
+     * Номера записанных раздач партии по возрастанию
+     */
+    public List<Integer> rounds(final String gameId) {
+        final var entry = games.get(gameId);
+        return entry != null ? entry.rounds() : List.of();
+    }
+
+    /**
+     * Прочитать раздачу; если партию с тем же gameId создавали заново, берётся последняя запись
+     */
+    public Optional<HandRecord> read(final String gameId, final int round) {
+        final var entry = games.get(gameId);
+        final long position = entry != null ? entry.find(round) : -1;
+        if (position < 0) {
+            return Optional.empty();
+        }
+        final int number = (int) (position >>> OFFSET_BITS);
+        final long offset = position & OFFSET_MASK;
+        try {
+            final var channel = reader(number);
+            final var prefix = ByteBuffer.allocate(MAX_VARINT);
+            channel.read(prefix, offset);
+            prefix.flip();
+            final int length = HandCodec.readVarint(prefix);
+            final var body = ByteBuffer.allocate(length);
+            while (body.hasRemaining()) {
+                if (channel.read(body, offset + prefix.position() + body.position()) < 0) {
+                    throw new IOException("Unexpected end of segment " + number);
+                }
+            }
+            body.flip();
+            if (body.get() != HandCodec.HAND) {
+                throw new IOException("No hand record at " + number + ":" + offset);
+            }
+            final int ref = (int) (HandCodec.peekHand(body) >>> 32);
+            return Optional.of(HandCodec.decodeHand(body, headers.get(number).get(ref)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read hand " + gameId + "/" + round, e);
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            writer.force(true);
+            writer.close();
+            for (final var channel : readers.values()) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to close hand history", e);
+        }
+    }
+
+    private void open() throws IOException {
+        final var numbers = new ArrayList<Integer>();
+        try (final var files = Files.list(directory)) {
+            files.forEach(file -> {
+                final var matcher = SEGMENT.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    numbers.add(Integer.parseInt(matcher.group(1)));
+                }
+            });
+        }
+        numbers.sort(null);
+        long validSize = 0;
+        for (int i = 0; i < numbers.size(); i++) {
+            validSize = scan(numbers.get(i), i == numbers.size() - 1);
+        }
+        segment = numbers.isEmpty() ? 1 : numbers.getLast();
+        headers.computeIfAbsent(segment, number -> new ConcurrentHashMap<>());
+        writer = FileChannel.open(file(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (writer.size() > validSize) {
+            logger.warn("Truncating hand history segment {} from {} to {} bytes", segment, writer.size(), validSize);
+            writer.truncate(validSize);
+        }
+        size = validSize;
+    }
+
+    /**
+     * Прочитать сегмент в индекс
+     *
+     * @param last для последнего сегмента запоминаются номера партий, чтобы продолжить запись в него
+     * @return длина корректной части сегмента
+     */
+    private long scan(final int number, final boolean last) throws IOException {
+        final var segmentHeaders = headers.computeIfAbsent(number, n -> new ConcurrentHashMap<>());
+        try (final var channel = FileChannel.open(file(number), StandardOpenOption.READ)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int valid = 0;
+            while (buffer.hasRemaining()) {
+                final int start = buffer.position();
+                try {
+                    final int length = HandCodec.readVarint(buffer);
+                    if (length <= 0 || length > buffer.remaining()) {
+                        break;
+                    }
+                    final var body = buffer.slice(buffer.position(), length);
+                    buffer.position(buffer.position() + length);
+                    final byte type = body.get();
+                    if (type == HandCodec.GAME) {
+                        final var header = HandCodec.decodeGame(body);
+                        segmentHeaders.put(header.ref(), header);
+                        if (last) {
+                            segmentRefs.put(new HandCodec.GameHeader(0, header.gameId(), header.ruleId(),
+                                    header.players()), header.ref());
+                        }
+                    } else if (type == HandCodec.HAND) {
+                        final long key = HandCodec.peekHand(body);
+                        final var header = segmentHeaders.get((int) (key >>> 32));
+                        if (header == null) {
+                            break;
+                        }
+                        games.computeIfAbsent(header.gameId(), id -> new GameEntry())
+                                .add((int) key, position(number, start));
+                    } else {
+                        break;
+                    }
+                    valid = buffer.position();
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    break;
+                }
+            }
+            if (valid < buffer.limit()) {
+                logger.warn("Hand history segment {} has {} unreadable bytes at offset {}", number,
+                        buffer.limit() - valid, valid);
+            }
+            return valid;
+        }
+    }
+
+    private void roll() throws IOException {
+        writer.force(true);
+        writer.close();
+        segment++;
+        headers.put(segment, new ConcurrentHashMap<>());
+        segmentRefs.clear();
+        writer = FileChannel.open(file(segment), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        size = 0;
+        logger.info("Hand history rolled to segment {}", segment);
+    }
+
+    /**
+     * @return смещение записи в текущем сегменте
+     */
+    private long write(final byte[] frame) throws IOException {
+        final long offset = size;
+        final var buffer = ByteBuffer.wrap(frame);
+        while (buffer.hasRemaining()) {
+            writer.write(buffer, offset + buffer.position());
+        }
+        size += frame.length;
+        return offset;
+    }
+
+    private FileChannel reader(final int number) {
+        return readers.computeIfAbsent(number, n -> {
+            try {
+                return FileChannel.open(file(n), StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to open hand history segment " + n, e);
+            }
+        });
+    }
+
+    private Path file(final int number) {
+        return directory.resolve(String.format("hands-%08d.log", number));
+    }
+
+    private long countHands() {
+        return games.values().stream().mapToLong(GameEntry::size).sum();
+    }
+
+    private static long position(final int segment, final long offset) {
+        return (long) segment << OFFSET_BITS | offset;
+    }
+
+    private static byte[] frame(final byte[] body) {
+        final var out = new ByteArrayOutputStream(body.length + 2);
+        HandCodec.writeVarint(out, body.length);
+        out.writeBytes(body);
+        return out.toByteArray();
+    }
+
+    /**
+     * Раздачи одной партии: номер раздачи и позиция записи в порядке добавления
+     */
+    private static final class GameEntry {
+        private int[] rounds = new int[4];
+        private long[] positions = new long[4];
+        private int size;
+
+        synchronized void add(final int round, final long position) {
+            if (size == rounds.length) {
+                rounds = Arrays.copyOf(rounds, size * 2);
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            rounds[size] = round;
+            positions[size] = position;
+            size++;
+        }
+
+        synchronized long find(final int round) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (rounds[i] == round) {
+                    return positions[i];
+                }
+            }
+            return -1;
+        }
+
+        synchronized List<Integer> rounds() {
+            return Arrays.stream(rounds, 0, size).distinct().sorted().boxed().toList();
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
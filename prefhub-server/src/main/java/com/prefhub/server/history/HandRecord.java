@@ -0,0 +1,44 @@
+package com.prefhub.server.history;
+
+import com.prefhub.core.model.Card;
+import com.prefhub.core.model.Contract;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сыгранная раздача целиком: сдача, торговля, снос, ход розыгрыша и счёт после раздачи.
+ * Карты в руках — те, что были сданы, до взятия прикупа.
+ *
+ * @param bids      последняя заявка каждого игрока
+ * @param contract  {@link Contract#PASS} на распасах; {@code null} — все спасовали и раздачу пересдали (старые записи)
+ * @param discards  снос разыгрывающего; пусто, если прикуп не брали
+ * @param tricks    взятки в порядке розыгрыша
+ * @param scores    очки игроков после раздачи
+ */
+public record HandRecord(
+    String gameId,
+    String ruleId,
+    int round,
+    List<String> players,
+    String dealer,
+    Map<String, List<Card>> hands,
+    List<Card> widow,
+    Map<String, Contract> bids,
+    Contract contract,
+    String declarer,
+    List<Card> discards,
+    List<TrickRecord> tricks,
+    Map<String, Integer> scores,
+    Map<String, Integer> bullets,
+    Map<String, Integer> mountains
+) {
+    /**
+     * @param plays карты в порядке хода, начиная с заходящего
+     */
+    public record TrickRecord(String leader, List<Play> plays, String winner) {
+    }
+
+    public record Play(String player, Card card) {
+    }
+}
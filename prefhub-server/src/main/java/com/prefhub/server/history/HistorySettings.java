@@ -0,0 +1,21 @@
+package com.prefhub.server.history;
+
+/**
+ * Параметры журнала раздач
+ *
+ * @param segmentBytes размер, после которого журнал переходит в новый файл-сегмент
+ */
+public record HistorySettings(long segmentBytes) {
+    public HistorySettings {
+        if (segmentBytes < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1 KiB");
+        }
+    }
+
+    /**
+     * Сегменты по 64 МиБ — около миллиона раздач
+     */
+    public static HistorySettings defaults() {
+        return new HistorySettings(64L * 1024 * 1024);
+    }
+}
@@ -0,0 +1,189 @@
+package com.prefhub.server.leaderboard;
+
+import com.google.inject.Inject;
+import com.prefhub.core.model.GameState;
+import com.prefhub.server.game.GameService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Общий рейтинг игроков и рейтинги по наборам правил.
+ * <p>
+ * Очки добавляются по мере подсчёта раздач; место, верхушка и соседи игрока считаются по {@link RankTree} за O(log n).
+ * Рейтинги сохраняются снимком в файл, если с прошлого снимка что-то изменилось, и при остановке сервера;
+ * при запуске снимок загружается обратно. Изменения после последнего снимка при аварийной остановке теряются.
+ */
+public class Leaderboard {
+    private static final Logger logger = LoggerFactory.getLogger(Leaderboard.class);
+    private static final int SNAPSHOT_MAGIC = 0x50484C42; // "PHLB"
+    private static final String GLOBAL = "";
+
+    private final Path snapshotFile;
+    // Версии рейтингов начинаются заново после перезапуска, поэтому в ETag входит и момент запуска
+    private final long epoch = System.currentTimeMillis();
+    private final Map<String, Ranking> rankings = new ConcurrentHashMap<>();
+    private final Map<String, Long> savedVersions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "leaderboard-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Inject
+    public Leaderboard(final GameService gameService, final LeaderboardSettings settings) {
+        this.snapshotFile = settings.directory().resolve("leaderboard.snapshot");
+        try {
+            Files.createDirectories(settings.directory());
+            load();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load leaderboard snapshot " + snapshotFile, e);
+        }
+        gameService.addScoreListener(this::onRoundScored);
+        final long interval = settings.snapshotInterval().toMillis();
+        snapshots.scheduleWithFixedDelay(this::saveIfChanged, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param ruleId {@code null} — общий рейтинг
+     */
+    public LeaderboardPage top(final String ruleId, final int offset, final int limit) {
+        return ranking(ruleId).map(ranking -> ranking.top(offset, limit))
+                .orElseGet(() -> new LeaderboardPage(ruleId, 0, 0, List.of()));
+    }
+
+    public Optional<LeaderboardEntry> rank(final String ruleId, final String username) {
+        return ranking(ruleId).flatMap(ranking -> ranking.rank(username));
+    }
+
+    public Optional<LeaderboardPage> around(final String ruleId, final String username, final int radius) {
+        return ranking(ruleId).flatMap(ranking -> ranking.around(username, radius));
+    }
+
+    /**
+     * Метка текущего состояния рейтинга для ETag
+     */
+    public String tag(final String ruleId) {
+        return epoch + "-" + ranking(ruleId).map(Ranking::version).orElse(0L);
+    }
+
+    public void shutdown() {
+        snapshots.shutdownNow();
+        saveIfChanged();
+    }
+
+    private void onRoundScored(final GameState gameState, final Map<String, Integer> points) {
+        final var global = rankings.computeIfAbsent(GLOBAL, id -> new Ranking(null));
+        final var ruleId = gameState.getRuleId();
+        final var byRules = ruleId != null ? rankings.computeIfAbsent(ruleId, Ranking::new) : null;
+        points.forEach((username, delta) -> {
+            global.add(username, delta, 1);
+            if (byRules != null) {
+                byRules.add(username, delta, 1);
+            }
+        });
+    }
+
+    private Optional<Ranking> ranking(final String ruleId) {
+        return Optional.ofNullable(rankings.get(ruleId != null ? ruleId : GLOBAL));
+    }
+
+    private synchronized void saveIfChanged() {
+        final boolean changed = rankings.entrySet().stream()
+                .anyMatch(entry -> entry.getValue().version() != savedVersions.getOrDefault(entry.getKey(), -1L));
+        if (!changed) {
+            return;
+        }
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to save leaderboard snapshot", e);
+        }
+    }
+
+    /**
+     * Снимок пишется во временный файл и атомарно подменяет прежний
+     */
+    private void save() throws IOException {
+        final long start = System.nanoTime();
+        final var temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        final var scopes = new ArrayList<>(rankings.entrySet());
+        final var versions = new ArrayList<Long>(scopes.size());
+        try (final var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(scopes.size());
+            for (final var scope : scopes) {
+                final var ranking = scope.getValue();
+                // Записи копируются под блокировкой рейтинга, пишутся в файл уже без неё
+                final var usernames = new ArrayList<String>();
+                final var points = new ArrayList<Long>();
+                final var hands = new ArrayList<Integer>();
+                final long version;
+                synchronized (ranking) {
+                    version = ranking.version();
+                    ranking.forEach((username, total, count) -> {
+                        usernames.add(username);
+                        points.add(total);
+                        hands.add(count);
+                    });
+                }
+                versions.add(version);
+                out.writeUTF(scope.getKey());
+                out.writeInt(usernames.size());
+                for (int i = 0; i < usernames.size(); i++) {
+                    out.writeUTF(usernames.get(i));
+                    out.writeLong(points.get(i));
+                    out.writeInt(hands.get(i));
+                }
+            }
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (int i = 0; i < scopes.size(); i++) {
+            savedVersions.put(scopes.get(i).getKey(), versions.get(i));
+        }
+        logger.debug("Leaderboard snapshot saved in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        try (final var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a leaderboard snapshot");
+            }
+            final int scopes = in.readInt();
+            int players = 0;
+            for (int s = 0; s < scopes; s++) {
+                final var scope = in.readUTF();
+                final var ranking = new Ranking(scope.equals(GLOBAL) ? null : scope);
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    ranking.add(in.readUTF(), in.readLong(), in.readInt());
+                }
+                rankings.put(scope, ranking);
+                savedVersions.put(scope, ranking.version());
+                if (scope.equals(GLOBAL)) {
+                    players = count;
+                }
+            }
+            logger.info("Leaderboard loaded: {} players, {} rule sets", players, scopes - (players > 0 ? 1 : 0));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.prefhub.server.leaderboard;
+
+/**
+ * @param rank   место, начиная с 1
+ * @param points сумма изменений расчёта в вистах по всем сыгранным раздачам
+ * @param hands  сколько раздач учтено
+ */
+public record LeaderboardEntry(int rank, String username, long points, int hands) {
+}
@@ -0,0 +1,13 @@
+package com.prefhub.server.leaderboard;
+
+import java.util.List;
+
+/**
+ * Фрагмент рейтинга
+ *
+ * @param ruleId  {@code null} — общий рейтинг по всем правилам
+ * @param players сколько игроков в рейтинге
+ * @param version версия рейтинга, растёт при каждом изменении (служит ETag)
+ */
+public record LeaderboardPage(String ruleId, int players, long version, List<LeaderboardEntry> entries) {
+}
@@ -0,0 +1,28 @@
+package com.prefhub.server.leaderboard;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Параметры рейтинга
+ *
+ * @param directory        каталог снимков рейтинга
+ * @param snapshotInterval как часто сохранять снимок рейтинга, если он изменился
+ */
+public record LeaderboardSettings(Path directory, Duration snapshotInterval) {
+    public LeaderboardSettings {
+        if (directory == null) {
+            throw new IllegalArgumentException("Leaderboard directory is required");
+        }
+        if (snapshotInterval == null || snapshotInterval.isNegative() || snapshotInterval.isZero()) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+    }
+
+    /**
+     * Снимок раз в минуту
+     */
+    public static LeaderboardSettings defaults(final Path directory) {
+        return new LeaderboardSettings(directory, Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,184 @@
+package com.prefhub.server.leaderboard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Дерево порядковых статистик (декартово дерево с размерами поддеревьев).
+ * Порядок — по убыванию очков, при равенстве по имени. Вставка, удаление, место по ключу и ключ по месту — O(log n)
+ * в среднем; выборка {@code count} подряд идущих мест — O(log n + count). Не потокобезопасно.
+ */
+final class RankTree {
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    private static final class Node {
+        private final long points;
+        private final String username;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(final long points, final String username, final int priority) {
+            this.points = points;
+            this.username = username;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Обход в порядке мест
+     */
+    interface Visitor {
+        void visit(long points, String username);
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(final long points, final String username) {
+        root = insert(root, new Node(points, username, random.nextInt()));
+    }
+
+    void remove(final long points, final String username) {
+        root = remove(root, points, username);
+    }
+
+    /**
+     * Сколько записей стоит выше ключа (место ключа минус один)
+     */
+    int countBefore(final long points, final String username) {
+        int count = 0;
+        var node = root;
+        while (node != null) {
+            if (compare(points, username, node) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Записи с местами {@code from} .. {@code from + count - 1} (нумерация с нуля)
+     */
+    void range(final int from, final int count, final Visitor visitor) {
+        if (count > 0 && from < size()) {
+            range(root, Math.max(from, 0), count, visitor);
+        }
+    }
+
+    void forEach(final Visitor visitor) {
+        range(0, size(), visitor);
+    }
+
+    private static int range(final Node node, final int from, final int count, final Visitor visitor) {
+        if (node == null || count <= 0) {
+            return 0;
+        }
+        // Сколько ещё нужно выдать после обхода поддерева — возвращается число выданных записей
+        int emitted = 0;
+        final int leftSize = size(node.left);
+        if (from < leftSize) {
+            emitted += range(node.left, from, count, visitor);
+        }
+        if (emitted < count && from <= leftSize) {
+            visitor.visit(node.points, node.username);
+            emitted++;
+        }
+        if (emitted < count) {
+            emitted += range(node.right, Math.max(0, from - leftSize - 1), count - emitted, visitor);
+        }
+        return emitted;
+    }
+
+    private Node insert(final Node node, final Node item) {
+        if (node == null) {
+            return item;
+        }
+        if (item.priority > node.priority) {
+            final var parts = new Node[2];
+            split(node, item.points, item.username, parts);
+            item.left = parts[0];
+            item.right = parts[1];
+            return update(item);
+        }
+        if (compare(item.points, item.username, node) < 0) {
+            node.left = insert(node.left, item);
+        } else {
+            node.right = insert(node.right, item);
+        }
+        return update(node);
+    }
+
+    private static Node remove(final Node node, final long points, final String username) {
+        if (node == null) {
+            return null;
+        }
+        final int cmp = compare(points, username, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, points, username);
+        } else {
+            node.right = remove(node.right, points, username);
+        }
+        return update(node);
+    }
+
+    /**
+     * Разрезать дерево на записи выше ключа ({@code parts[0]}) и остальные ({@code parts[1]})
+     */
+    private static void split(final Node node, final long points, final String username, final Node[] parts) {
+        if (node == null) {
+            parts[0] = null;
+            parts[1] = null;
+            return;
+        }
+        if (compare(points, username, node) > 0) {
+            split(node.right, points, username, parts);
+            node.right = parts[0];
+            parts[0] = update(node);
+        } else {
+            split(node.left, points, username, parts);
+            node.left = parts[1];
+            parts[1] = update(node);
+        }
+    }
+
+    private static Node merge(final Node left, final Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    /**
+     * Отрицательно, если ключ стоит выше узла
+     */
+    private static int compare(final long points, final String username, final Node node) {
+        final int byPoints = Long.compare(node.points, points);
+        return byPoints != 0 ? byPoints : username.compareTo(node.username);
+    }
+
+    private static Node update(final Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(final Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,90 @@
+package com.prefhub.server.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Один рейтинг (общий или по набору правил): очки игроков и дерево мест над ними
+ */
+final class Ranking {
+    private final String ruleId;
+    private final Map<String, Standing> standings = new HashMap<>();
+    private final RankTree tree = new RankTree();
+    private long version;
+
+    private record Standing(long points, int hands) {
+    }
+
+    Ranking(final String ruleId) {
+        this.ruleId = ruleId;
+    }
+
+    synchronized void add(final String username, final long points, final int hands) {
+        final var previous = standings.get(username);
+        final var next = previous == null
+                ? new Standing(points, hands)
+                : new Standing(previous.points() + points, previous.hands() + hands);
+        if (previous != null) {
+            tree.remove(previous.points(), username);
+        }
+        tree.insert(next.points(), username);
+        standings.put(username, next);
+        version++;
+    }
+
+    synchronized long version() {
+        return version;
+    }
+
+    synchronized LeaderboardPage top(final int offset, final int limit) {
+        return page(collect(offset, limit));
+    }
+
+    synchronized Optional<LeaderboardEntry> rank(final String username) {
+        final var standing = standings.get(username);
+        if (standing == null) {
+            return Optional.empty();
+        }
+        final int before = tree.countBefore(standing.points(), username);
+        return Optional.of(new LeaderboardEntry(before + 1, username, standing.points(), standing.hands()));
+    }
+
+    /**
+     * Игрок и до {@code radius} соседей выше и ниже него
+     */
+    synchronized Optional<LeaderboardPage> around(final String username, final int radius) {
+        final var standing = standings.get(username);
+        if (standing == null) {
+            return Optional.empty();
+        }
+        final int index = tree.countBefore(standing.points(), username);
+        final int from = Math.max(0, index - radius);
+        return Optional.of(page(collect(from, index - from + radius + 1)));
+    }
+
+    /**
+     * Все записи в порядке мест — для снимка
+     */
+    synchronized void forEach(final SnapshotVisitor visitor) {
+        tree.forEach((points, username) -> visitor.visit(username, points, standings.get(username).hands()));
+    }
+
+    interface SnapshotVisitor {
+        void visit(String username, long points, int hands);
+    }
+
+    private List<LeaderboardEntry> collect(final int offset, final int limit) {
+        final var entries = new ArrayList<LeaderboardEntry>(Math.min(limit, tree.size()));
+        final int[] rank = {offset};
+        tree.range(offset, limit, (points, username) ->
+                entries.add(new LeaderboardEntry(++rank[0], username, points, standings.get(username).hands())));
+        return entries;
+    }
+
+    private LeaderboardPage page(final List<LeaderboardEntry> entries) {
+        return new LeaderboardPage(ruleId, tree.size(), version, entries);
+    }
+}
@@ -0,0 +1,60 @@
+package com.prefhub.server.lobby;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.prefhub.core.model.GamePhase;
+import com.prefhub.server.game.GameSummary;
+
+import java.util.Locale;
+
+/**
+ * Событие лобби. Несёт состояние стола целиком, поэтому клиенту достаточно последнего события по партии:
+ * {@code created} и {@code seats} — обновить строку, {@code started}, {@code completed} и {@code removed} —
+ * убрать стол из списка свободных.
+ */
+public record LobbyEvent(Kind event, String gameId, String ruleId, GamePhase phase, int seatsTaken) {
+    public enum Kind {
+        // Порядок — приоритет при слиянии событий одного окна
+        SEATS, CREATED, STARTED, COMPLETED, REMOVED;
+
+        @JsonValue
+        public String wireName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Событие для перехода {@code previous → current} или {@code null}, если для лобби ничего не изменилось
+     */
+    static LobbyEvent of(final GameSummary previous, final GameSummary current) {
+        if (current == null) {
+            return previous == null ? null : from(Kind.REMOVED, previous);
+        }
+        if (previous == null) {
+            return from(Kind.CREATED, current);
+        }
+        if (current.phase() == GamePhase.GAME_COMPLETE && previous.phase() != GamePhase.GAME_COMPLETE) {
+            return from(Kind.COMPLETED, current);
+        }
+        if (previous.phase() == GamePhase.WAITING_FOR_PLAYERS && current.phase() != GamePhase.WAITING_FOR_PLAYERS) {
+            return from(Kind.STARTED, current);
+        }
+        if (previous.seatsTaken() != current.seatsTaken()) {
+            return from(Kind.SEATS, current);
+        }
+        return null;
+    }
+
+    /**
+     * Слить с более поздним событием той же партии: состояние берётся из позднего, вид — более значимый.
+     * Позднее {@code created} начинает новую жизнь стола (партию удалили и создали заново под тем же id),
+     * поэтому оно побеждает всё, что было до него
+     */
+    LobbyEvent merge(final LobbyEvent later) {
+        final var kind = later.event == Kind.CREATED || later.event.compareTo(event) >= 0 ? later.event : event;
+        return new LobbyEvent(kind, later.gameId, later.ruleId, later.phase, later.seatsTaken);
+    }
+
+    private static LobbyEvent from(final Kind kind, final GameSummary summary) {
+        return new LobbyEvent(kind, summary.gameId(), summary.ruleId(), summary.phase(), summary.seatsTaken());
+    }
+}
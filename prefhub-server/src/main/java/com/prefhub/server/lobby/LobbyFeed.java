@@ -0,0 +1,134 @@
+package com.prefhub.server.lobby;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import com.prefhub.server.game.GameService;
+import com.prefhub.server.game.GameSummary;
+import com.prefhub.server.game.LobbyListener;
+import com.prefhub.server.metrics.Counter;
+import com.prefhub.server.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Лента лобби: открытие, заполнение, начало и завершение столов.
+ * <p>
+ * Изменения копятся {@link #WINDOW_MILLIS} мс, события одной партии сливаются в одно, затем пакет один раз
+ * сериализуется в кадр {@code {"type":"lobby","events":[...]}} и этот же кадр отдаётся всем каналам
+ * ({@link Sink}: WebSocket, SSE). Клиент подписывается, затем читает {@code /games/list} и применяет события поверх.
+ */
+public class LobbyFeed implements LobbyListener {
+    private static final Logger logger = LoggerFactory.getLogger(LobbyFeed.class);
+    static final long WINDOW_MILLIS = 100;
+    private static final long HEARTBEAT_SECONDS = 15;
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, LobbyEvent> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final List<Sink> sinks = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "lobby-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter batches;
+    private final Counter events;
+
+    /**
+     * Канал доставки кадров подписчикам
+     */
+    public interface Sink {
+        /**
+         * Разослать кадр всем своим подписчикам; вызывается из одного потока ленты
+         */
+        void deliver(String frame);
+
+        /**
+         * Поддержать соединения в простое
+         */
+        default void heartbeat() {
+        }
+    }
+
+    @Inject
+    public LobbyFeed(final GameService gameService, final ObjectMapper objectMapper, final MetricsRegistry metrics) {
+        this.objectMapper = objectMapper;
+        this.batches = metrics.counter("lobby_feed_batches_total", "Coalesced lobby frames sent");
+        this.events = metrics.counter("lobby_feed_events_total", "Lobby events after coalescing");
+        gameService.addLobbyListener(this);
+        scheduler.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void addSink(final Sink sink) {
+        sinks.add(sink);
+    }
+
+    @Override
+    public void onLobbyChanged(final GameSummary previous, final GameSummary current) {
+        final var event = LobbyEvent.of(previous, current);
+        if (event == null) {
+            return;
+        }
+        pending.merge(event.gameId(), event, LobbyEvent::merge);
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        final var batch = new ArrayList<LobbyEvent>(pending.size());
+        for (final var gameId : pending.keySet()) {
+            final var event = pending.remove(gameId);
+            if (event != null) {
+                batch.add(event);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        batch.sort(Comparator.comparing(LobbyEvent::gameId));
+        final String frame;
+        try {
+            frame = objectMapper.writeValueAsString(Map.of("type", "lobby", "events", batch));
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize lobby events", e);
+            return;
+        }
+        batches.increment();
+        events.add(batch.size());
+        for (final var sink : sinks) {
+            try {
+                sink.deliver(frame);
+            } catch (Exception e) {
+                logger.error("Lobby sink failed", e);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (final var sink : sinks) {
+            try {
+                sink.heartbeat();
+            } catch (Exception e) {
+                logger.error("Lobby heartbeat failed", e);
+            }
+        }
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
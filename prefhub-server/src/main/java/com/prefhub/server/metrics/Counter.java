@@ -0,0 +1,25 @@
+package com.prefhub.server.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Монотонный счётчик. {@link LongAdder} разносит запись по ячейкам, так что потоки не конкурируют за одну переменную.
+ */
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(final long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,66 @@
+package com.prefhub.server.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек с фиксированными границами корзин (от 100 мкс до 10 с).
+ * Запись — поиск корзины по массиву границ и два {@link LongAdder}, без блокировок и аллокаций.
+ */
+public final class LatencyHistogram {
+    /**
+     * Верхние границы корзин в секундах, как их видит Prometheus
+     */
+    static final double[] BOUNDS_SECONDS = {
+        0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+    private static final long[] BOUNDS_NANOS = new long[BOUNDS_SECONDS.length];
+
+    static {
+        for (int i = 0; i < BOUNDS_SECONDS.length; i++) {
+            BOUNDS_NANOS[i] = Math.round(BOUNDS_SECONDS[i] * 1e9);
+        }
+    }
+
+    // Последняя корзина — всё, что дольше 10 с (+Inf)
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(final long nanos) {
+        int bucket = 0;
+        while (bucket < BOUNDS_NANOS.length && nanos > BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * Записать время, прошедшее с {@code startNanos} ({@link System#nanoTime()})
+     */
+    public void recordSince(final long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Накопленные (кумулятивные) значения корзин; последний элемент — общее число замеров
+     */
+    long[] cumulativeCounts() {
+        final long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            total += buckets[i].sum();
+            counts[i] = total;
+        }
+        return counts;
+    }
+
+    double sumSeconds() {
+        return sumNanos.sum() / 1e9;
+    }
+}
@@ -0,0 +1,126 @@
+package com.prefhub.server.metrics;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Реестр метрик сервера и их вывод в текстовом формате Prometheus.
+ * <p>
+ * Метрика определяется именем и набором меток. Горячий код держит ссылку на {@link Counter} или
+ * {@link LatencyHistogram}; для меток, известных только во время работы (тип сообщения WebSocket), повторный
+ * поиск — одно чтение из {@link ConcurrentHashMap}.
+ */
+public class MetricsRegistry {
+    private static final String PREFIX = "prefhub_";
+    private static final String[] BUCKET_LABELS = Arrays.stream(LatencyHistogram.BOUNDS_SECONDS)
+            .mapToObj(bound -> "le=\"" + BigDecimal.valueOf(bound).toPlainString() + "\"")
+            .toArray(String[]::new);
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param labels пары «имя метки, значение»
+     */
+    public Counter counter(final String name, final String help, final String... labels) {
+        return (Counter) family(name, help, Type.COUNTER).metrics.computeIfAbsent(labels(labels), key -> new Counter());
+    }
+
+    public LatencyHistogram histogram(final String name, final String help, final String... labels) {
+        return (LatencyHistogram) family(name, help, Type.HISTOGRAM).metrics
+                .computeIfAbsent(labels(labels), key -> new LatencyHistogram());
+    }
+
+    /**
+     * Значение, которое вычисляется при каждом снятии метрик (число игр, соединений)
+     */
+    public void gauge(final String name, final String help, final LongSupplier supplier, final String... labels) {
+        family(name, help, Type.GAUGE).metrics.put(labels(labels), supplier);
+    }
+
+    /**
+     * Все метрики в текстовом формате Prometheus 0.0.4
+     */
+    public String scrape() {
+        final var text = new StringBuilder(4096);
+        families.forEach((name, family) -> {
+            final var fullName = PREFIX + name;
+            text.append("# HELP ").append(fullName).append(' ').append(family.help).append('\n');
+            text.append("# TYPE ").append(fullName).append(' ').append(family.type.name().toLowerCase(Locale.ROOT)).append('\n');
+            new ConcurrentSkipListMap<>(family.metrics).forEach((labels, metric) -> {
+                switch (metric) {
+                    case Counter counter -> sample(text, fullName, labels, null, counter.get());
+                    case LongSupplier gauge -> sample(text, fullName, labels, null, gauge.getAsLong());
+                    case LatencyHistogram histogram -> {
+                        final long[] counts = histogram.cumulativeCounts();
+                        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+                            sample(text, fullName + "_bucket", labels, BUCKET_LABELS[i], counts[i]);
+                        }
+                        final long count = counts[counts.length - 1];
+                        sample(text, fullName + "_bucket", labels, "le=\"+Inf\"", count);
+                        text.append(fullName).append("_sum").append(braces(labels, null)).append(' ')
+                                .append(histogram.sumSeconds()).append('\n');
+                        sample(text, fullName + "_count", labels, null, count);
+                    }
+                    default -> throw new IllegalStateException("Unknown metric: " + metric);
+                }
+            });
+        });
+        return text.toString();
+    }
+
+    private Family family(final String name, final String help, final Type type) {
+        final var family = families.computeIfAbsent(name, key -> new Family(help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as " + family.type);
+        }
+        return family;
+    }
+
+    private static void sample(final StringBuilder text, final String name, final String labels, final String extra,
+                               final long value) {
+        text.append(name).append(braces(labels, extra)).append(' ').append(value).append('\n');
+    }
+
+    private static String braces(final String labels, final String extra) {
+        if (labels.isEmpty() && extra == null) {
+            return "";
+        }
+        if (extra == null) {
+            return "{" + labels + "}";
+        }
+        return labels.isEmpty() ? "{" + extra + "}" : "{" + labels + "," + extra + "}";
+    }
+
+    private static String labels(final String... pairs) {
+        if (pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs");
+        }
+        final var text = new StringBuilder();
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(pairs[i]).append("=\"").append(escape(pairs[i + 1])).append('"');
+        }
+        return text.toString();
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private enum Type {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+
+    private record Family(String help, Type type, Map<String, Object> metrics) {
+        private Family(final String help, final Type type) {
+            this(help, type, new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -105,6 +105,13 @@ public class FileRulesRepository implements RulesRepository {
         return rules;
     }
 
+    /**
+     * Directory holding one {@code <ruleId>.json} file per rule set
+     */
+    public Path getStorageDirectory() {
+        return storageDirectory;
+    }
+
     private File getRuleFile(final String ruleId) {
         return storageDirectory.resolve(ruleId + ".json").toFile();
     }
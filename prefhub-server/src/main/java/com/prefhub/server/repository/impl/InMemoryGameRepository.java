@@ -0,0 +1,42 @@
+package com.prefhub.server.repository.impl;
+
+import com.prefhub.core.model.GameState;
+import com.prefhub.server.repository.GameRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory implementation of GameRepository without persistence (simulations, benchmarks)
+ */
+public class InMemoryGameRepository implements GameRepository {
+    private final Map<String, GameState> games = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(final GameState gameState) {
+        games.put(gameState.getGameId(), gameState);
+    }
+
+    @Override
+    public Optional<GameState> findById(final String gameId) {
+        return Optional.ofNullable(games.get(gameId));
+    }
+
+    @Override
+    public boolean exists(final String gameId) {
+        return games.containsKey(gameId);
+    }
+
+    @Override
+    public void delete(final String gameId) {
+        games.remove(gameId);
+    }
+
+    @Override
+    public List<GameState> findAll() {
+        return new ArrayList<>(games.values());
+    }
+}
@@ -0,0 +1,90 @@
+package com.prefhub.server.repository.impl;
+
+import com.prefhub.core.model.GameState;
+import com.prefhub.server.metrics.LatencyHistogram;
+import com.prefhub.server.metrics.MetricsRegistry;
+import com.prefhub.server.repository.GameRepository;
+import com.prefhub.server.trace.MoveTracer;
+import com.prefhub.server.trace.Stage;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * GameRepository decorator that records the latency of every call
+ * and marks the save stage of the traced command
+ */
+public class MeteredGameRepository implements GameRepository {
+    private static final String METRIC = "repository_seconds";
+    private static final String HELP = "Repository call latency";
+
+    private final GameRepository delegate;
+    private final MoveTracer tracer;
+    private final LatencyHistogram save;
+    private final LatencyHistogram findById;
+    private final LatencyHistogram exists;
+    private final LatencyHistogram delete;
+    private final LatencyHistogram findAll;
+
+    public MeteredGameRepository(final GameRepository delegate, final MetricsRegistry metrics, final MoveTracer tracer) {
+        this.delegate = delegate;
+        this.tracer = tracer;
+        this.save = metrics.histogram(METRIC, HELP, "repository", "game", "operation", "save");
+        this.findById = metrics.histogram(METRIC, HELP, "repository", "game", "operation", "findById");
+        this.exists = metrics.histogram(METRIC, HELP, "repository", "game", "operation", "exists");
+        this.delete = metrics.histogram(METRIC, HELP, "repository", "game", "operation", "delete");
+        this.findAll = metrics.histogram(METRIC, HELP, "repository", "game", "operation", "findAll");
+    }
+
+    @Override
+    public void save(final GameState gameState) {
+        tracer.mark(Stage.APPLY);
+        final long start = System.nanoTime();
+        try {
+            delegate.save(gameState);
+        } finally {
+            save.recordSince(start);
+            tracer.mark(Stage.SAVE);
+        }
+    }
+
+    @Override
+    public Optional<GameState> findById(final String gameId) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.findById(gameId);
+        } finally {
+            findById.recordSince(start);
+        }
+    }
+
+    @Override
+    public boolean exists(final String gameId) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.exists(gameId);
+        } finally {
+            exists.recordSince(start);
+        }
+    }
+
+    @Override
+    public void delete(final String gameId) {
+        final long start = System.nanoTime();
+        try {
+            delegate.delete(gameId);
+        } finally {
+            delete.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<GameState> findAll() {
+        final long start = System.nanoTime();
+        try {
+            return delegate.findAll();
+        } finally {
+            findAll.recordSince(start);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.prefhub.server.repository.impl;
+
+import com.prefhub.server.metrics.LatencyHistogram;
+import com.prefhub.server.metrics.MetricsRegistry;
+import com.prefhub.server.repository.SessionRepository;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * SessionRepository decorator that records the latency of every call
+ */
+public class MeteredSessionRepository implements SessionRepository {
+    private static final String METRIC = "repository_seconds";
+    private static final String HELP = "Repository call latency";
+
+    private final SessionRepository delegate;
+    private final LatencyHistogram save;
+    private final LatencyHistogram findUsernameByToken;
+    private final LatencyHistogram delete;
+    private final LatencyHistogram exists;
+    private final LatencyHistogram findAll;
+
+    public MeteredSessionRepository(final SessionRepository delegate, final MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.save = metrics.histogram(METRIC, HELP, "repository", "session", "operation", "save");
+        this.findUsernameByToken = metrics.histogram(METRIC, HELP, "repository", "session", "operation", "findUsernameByToken");
+        this.delete = metrics.histogram(METRIC, HELP, "repository", "session", "operation", "delete");
+        this.exists = metrics.histogram(METRIC, HELP, "repository", "session", "operation", "exists");
+        this.findAll = metrics.histogram(METRIC, HELP, "repository", "session", "operation", "findAll");
+    }
+
+    @Override
+    public void save(final String token, final String username) {
+        final long start = System.nanoTime();
+        try {
+            delegate.save(token, username);
+        } finally {
+            save.recordSince(start);
+        }
+    }
+
+    @Override
+    public Optional<String> findUsernameByToken(final String token) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.findUsernameByToken(token);
+        } finally {
+            findUsernameByToken.recordSince(start);
+        }
+    }
+
+    @Override
+    public void delete(final String token) {
+        final long start = System.nanoTime();
+        try {
+            delegate.delete(token);
+        } finally {
+            delete.recordSince(start);
+        }
+    }
+
+    @Override
+    public boolean exists(final String token) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.exists(token);
+        } finally {
+            exists.recordSince(start);
+        }
+    }
+
+    @Override
+    public Map<String, String> findAll() {
+        final long start = System.nanoTime();
+        try {
+            return delegate.findAll();
+        } finally {
+            findAll.recordSince(start);
+        }
+    }
+}
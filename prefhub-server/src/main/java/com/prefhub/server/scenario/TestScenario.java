@@ -120,6 +120,9 @@ public class TestScenario {
         @JsonProperty("discard")
         private List<String> discard;
 
+        @JsonProperty("whist")
+        private String whist;
+
         @JsonProperty("card")
         private String card;
 
@@ -158,6 +161,14 @@ public class TestScenario {
             this.discard = discard;
         }
 
+        public String getWhist() {
+            return whist;
+        }
+
+        public void setWhist(final String whist) {
+            this.whist = whist;
+        }
+
         public String getCard() {
             return card;
         }
@@ -0,0 +1,226 @@
+package com.prefhub.server.simulation;
+
+import com.prefhub.core.model.Contract;
+import com.prefhub.core.model.GameState;
+import com.prefhub.core.model.PlayerView;
+import com.prefhub.server.bot.BotPolicy;
+import com.prefhub.server.game.GameService;
+import com.prefhub.server.game.RulesLoader;
+import com.prefhub.server.repository.impl.InMemoryGameRepository;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Прогон партий ботов через {@link GameService} в одном процессе: без сети, без хранилища, без пула ботов.
+ * <p>
+ * Каждый поток играет свою часть партий на собственном {@code GameService}, так что измеряется движок,
+ * а не конкуренция за общие структуры. Время каждого шага копится в потоке и сливается в конце прогона.
+ */
+public class GameSimulator {
+    private static final String[] SEATS = {"bot-1", "bot-2", "bot-3"};
+    private static final int MAX_TRICKS = 10;
+
+    /**
+     * Измеряемые шаги: раздача, построение вида игрока, решение бота и четыре действия движка
+     */
+    public enum Step {
+        DEAL, VIEW, DECIDE, BID, EXCHANGE, WHIST, PLAY
+    }
+
+    private final RulesLoader rulesLoader;
+    private final BotPolicy policy;
+    private final String ruleId;
+
+    public GameSimulator(final RulesLoader rulesLoader, final BotPolicy policy, final String ruleId) {
+        this.rulesLoader = rulesLoader;
+        this.policy = policy;
+        this.ruleId = ruleId;
+    }
+
+    /**
+     * Сыграть {@code games} партий по {@code dealsPerGame} раздач на {@code threads} потоках
+     */
+    public SimulationReport run(final int games, final int dealsPerGame, final int threads)
+            throws InterruptedException, ExecutionException {
+        if (games <= 0 || dealsPerGame <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Games, deals per game and threads must be positive");
+        }
+        final long start = System.nanoTime();
+        final var tally = new Tally();
+        try (final var executor = Executors.newFixedThreadPool(threads)) {
+            final var futures = new ArrayList<Future<Tally>>(threads);
+            for (int worker = 0; worker < threads; worker++) {
+                final int share = games / threads + (worker < games % threads ? 1 : 0);
+                final int workerId = worker;
+                futures.add(executor.submit(() -> play(workerId, share, dealsPerGame)));
+            }
+            for (final var future : futures) {
+                tally.merge(future.get());
+            }
+        }
+        final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        final var stepNanos = new EnumMap<Step, Long>(Step.class);
+        final var stepCalls = new EnumMap<Step, Long>(Step.class);
+        for (final var step : Step.values()) {
+            stepNanos.put(step, tally.stepNanos[step.ordinal()]);
+            stepCalls.put(step, tally.stepCalls[step.ordinal()]);
+        }
+        final var contracts = new EnumMap<Contract, Long>(Contract.class);
+        for (final var contract : Contract.values()) {
+            if (tally.contracts[contract.ordinal()] > 0) {
+                contracts.put(contract, tally.contracts[contract.ordinal()]);
+            }
+        }
+        return new SimulationReport(tally.games, tally.deals, elapsedMillis, stepNanos, stepCalls, contracts,
+                tally.declarerTricks, tally.made, tally.failed);
+    }
+
+    private Tally play(final int workerId, final int games, final int dealsPerGame) {
+        final var gameService = new GameService(new InMemoryGameRepository(), rulesLoader);
+        final var tally = new Tally();
+        for (int game = 0; game < games; game++) {
+            final var gameId = "sim-" + workerId + "-" + game;
+            gameService.createGame(gameId, ruleId);
+            long started = System.nanoTime();
+            for (final var seat : SEATS) {
+                gameService.joinGame(gameId, seat);
+            }
+            tally.time(Step.DEAL, started);
+
+            final var gameState = gameService.getGame(gameId);
+            int deals = 0;
+            boolean poolOpen = true;
+            while (poolOpen && deals < dealsPerGame) {
+                switch (gameState.getPhase()) {
+                    case BIDDING -> {
+                        final var bidder = gameState.getCurrentPlayer().getUsername();
+                        final var view = view(gameService, tally, gameId, bidder);
+                        started = System.nanoTime();
+                        final var bid = policy.chooseBid(view, gameService.getAvailableBids(gameId));
+                        tally.time(Step.DECIDE, started);
+                        started = System.nanoTime();
+                        gameService.placeBid(gameId, bidder, bid);
+                        tally.time(Step.BID, started);
+                    }
+                    case WIDOW_EXCHANGE -> {
+                        final var declarer = gameState.getDeclarer().getUsername();
+                        final var view = view(gameService, tally, gameId, declarer);
+                        started = System.nanoTime();
+                        final var discard = policy.chooseDiscard(view);
+                        tally.time(Step.DECIDE, started);
+                        started = System.nanoTime();
+                        gameService.exchangeWidow(gameId, declarer, discard);
+                        tally.time(Step.EXCHANGE, started);
+                    }
+                    case WHISTING -> {
+                        final var defender = gameState.getCurrentPlayer().getUsername();
+                        final var view = view(gameService, tally, gameId, defender);
+                        started = System.nanoTime();
+                        final var whist = policy.chooseWhist(view, gameService.getAvailableWhists(gameId));
+                        tally.time(Step.DECIDE, started);
+                        started = System.nanoTime();
+                        gameService.whist(gameId, defender, whist);
+                        tally.time(Step.WHIST, started);
+                    }
+                    case PLAYING -> {
+                        // При висте в открытую за пасующего ходит вистующий
+                        final var player = gameState.getActingPlayer().getUsername();
+                        final var view = view(gameService, tally, gameId, player);
+                        started = System.nanoTime();
+                        final var card = policy.chooseCard(view);
+                        tally.time(Step.DECIDE, started);
+                        started = System.nanoTime();
+                        gameService.playCard(gameId, player, card);
+                        tally.time(Step.PLAY, started);
+                    }
+                    case ROUND_COMPLETE -> {
+                        tally.recordOutcome(gameState);
+                        deals++;
+                        if (deals < dealsPerGame) {
+                            started = System.nanoTime();
+                            gameService.startNextRound(gameId);
+                            tally.time(Step.DEAL, started);
+                        }
+                    }
+                    case GAME_COMPLETE -> {
+                        // Пуля закрыта раньше, чем сыграно заданное число раздач
+                        tally.recordOutcome(gameState);
+                        deals++;
+                        poolOpen = false;
+                    }
+                    default -> throw new IllegalStateException("Unexpected phase in simulation: " + gameState.getPhase());
+                }
+            }
+            tally.games++;
+            tally.deals += deals;
+            gameService.removeGame(gameId);
+        }
+        return tally;
+    }
+
+    private static PlayerView view(final GameService gameService, final Tally tally, final String gameId,
+                                   final String username) {
+        final long started = System.nanoTime();
+        final var view = gameService.getPlayerView(gameId, username);
+        tally.time(Step.VIEW, started);
+        return view;
+    }
+
+    /**
+     * Счётчики одного потока
+     */
+    private static final class Tally {
+        private final long[] stepNanos = new long[Step.values().length];
+        private final long[] stepCalls = new long[Step.values().length];
+        private final long[] contracts = new long[Contract.values().length];
+        private final long[] declarerTricks = new long[MAX_TRICKS + 1];
+        private long games;
+        private long deals;
+        private long made;
+        private long failed;
+
+        private void time(final Step step, final long started) {
+            stepNanos[step.ordinal()] += System.nanoTime() - started;
+            stepCalls[step.ordinal()]++;
+        }
+
+        private void recordOutcome(final GameState gameState) {
+            final var contract = gameState.getContract();
+            if (contract.isPass()) {
+                contracts[contract.ordinal()]++; // Распасы
+                return;
+            }
+            final int tricks = gameState.getTricksWon().getOrDefault(gameState.getDeclarer(), 0);
+            contracts[contract.ordinal()]++;
+            declarerTricks[tricks]++;
+            final boolean isMade = contract.isMiser() ? tricks == 0 : tricks >= contract.getTricks();
+            if (isMade) {
+                made++;
+            } else {
+                failed++;
+            }
+        }
+
+        private void merge(final Tally other) {
+            for (int i = 0; i < stepNanos.length; i++) {
+                stepNanos[i] += other.stepNanos[i];
+                stepCalls[i] += other.stepCalls[i];
+            }
+            for (int i = 0; i < contracts.length; i++) {
+                contracts[i] += other.contracts[i];
+            }
+            for (int i = 0; i < declarerTricks.length; i++) {
+                declarerTricks[i] += other.declarerTricks[i];
+            }
+            games += other.games;
+            deals += other.deals;
+            made += other.made;
+            failed += other.failed;
+        }
+    }
+}
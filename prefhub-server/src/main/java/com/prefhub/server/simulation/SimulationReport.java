@@ -0,0 +1,63 @@
+package com.prefhub.server.simulation;
+
+import com.prefhub.core.model.Contract;
+
+import java.util.Map;
+
+/**
+ * Итоги прогона {@link GameSimulator}
+ *
+ * @param games          сыграно партий
+ * @param deals          сыграно раздач, включая распасы
+ * @param elapsedMillis  общее время прогона
+ * @param stepNanos      суммарное время по шагам во всех потоках
+ * @param stepCalls      число вызовов по шагам
+ * @param contracts      сколько раз сыгран каждый контракт; {@link Contract#PASS} — распасы
+ * @param declarerTricks распределение взяток разыгрывающего (индекс — число взяток)
+ * @param made           выполненные контракты
+ * @param failed         невыполненные контракты
+ */
+public record SimulationReport(
+    long games,
+    long deals,
+    long elapsedMillis,
+    Map<GameSimulator.Step, Long> stepNanos,
+    Map<GameSimulator.Step, Long> stepCalls,
+    Map<Contract, Long> contracts,
+    long[] declarerTricks,
+    long made,
+    long failed
+) {
+    public double gamesPerSecond() {
+        return elapsedMillis > 0 ? games * 1000.0 / elapsedMillis : 0;
+    }
+
+    public double dealsPerSecond() {
+        return elapsedMillis > 0 ? deals * 1000.0 / elapsedMillis : 0;
+    }
+
+    /**
+     * Многострочная сводка для лога
+     */
+    public String describe() {
+        final var text = new StringBuilder();
+        text.append(String.format("%d games, %d deals in %d ms: %.1f games/s, %.1f deals/s%n",
+                games, deals, elapsedMillis, gamesPerSecond(), dealsPerSecond()));
+        text.append("Steps (total ms, mean us per call):\n");
+        for (final var step : GameSimulator.Step.values()) {
+            final long calls = stepCalls.getOrDefault(step, 0L);
+            final long nanos = stepNanos.getOrDefault(step, 0L);
+            text.append(String.format("  %-10s %10.1f ms %10.2f us  x%d%n", step, nanos / 1e6,
+                    calls > 0 ? nanos / 1e3 / calls : 0, calls));
+        }
+        text.append("Contracts:\n");
+        contracts.forEach((contract, count) -> text.append(String.format("  %-8s %6.2f%%  x%d%n",
+                contract.getDisplayName(), deals > 0 ? count * 100.0 / deals : 0, count)));
+        text.append(String.format("Made %d, failed %d%n", made, failed));
+        text.append("Declarer tricks:");
+        for (int tricks = 0; tricks < declarerTricks.length; tricks++) {
+            text.append(' ').append(tricks).append('=').append(declarerTricks[tricks]);
+        }
+        return text.toString();
+    }
+}
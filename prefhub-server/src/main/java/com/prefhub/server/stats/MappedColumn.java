@@ -0,0 +1,69 @@
+package com.prefhub.server.stats;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Столбец фиксированной ширины (int или long) в отображённом в память файле.
+ * Файл растёт удвоением; читатели берут снимок буфера через {@link #ints()} / {@link #longs()} и сканируют его
+ * без блокировок — старое и новое отображения смотрят на одни и те же страницы файла.
+ */
+final class MappedColumn {
+    private final FileChannel channel;
+    private final int width;
+    private volatile MappedByteBuffer buffer;
+
+    MappedColumn(final Path file, final int width, final int initialRows) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.width = width;
+        final long existingRows = channel.size() / width;
+        map((int) Math.max(initialRows, existingRows));
+    }
+
+    void putInt(final int row, final int value) {
+        buffer.putInt(row * Integer.BYTES, value);
+    }
+
+    void putLong(final int row, final long value) {
+        buffer.putLong(row * Long.BYTES, value);
+    }
+
+    IntBuffer ints() {
+        return buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    LongBuffer longs() {
+        return buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+    }
+
+    /**
+     * Расширить файл, чтобы в него поместилась строка {@code row}
+     */
+    void ensureRow(final int row) throws IOException {
+        final int capacity = buffer.capacity() / width;
+        if (row >= capacity) {
+            map(Math.max(row + 1, capacity * 2));
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void map(final int rows) throws IOException {
+        final var mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) rows * width);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        buffer = mapped;
+    }
+}
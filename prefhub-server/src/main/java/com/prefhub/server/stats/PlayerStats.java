@@ -0,0 +1,62 @@
+package com.prefhub.server.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Статистика игрока за выбранный период и правила
+ *
+ * @param hands          сыграно раздач
+ * @param declared       сколько раз играл контракт
+ * @param made           из них выполнил
+ * @param defended       раздач в защите с вистом
+ * @param defenderTricks взяток, взятых в защите с вистом
+ * @param misers         сыграно мизеров
+ * @param misersMade     из них чистых
+ * @param allPass        раздач, где все спасовали
+ * @param timeline       очки в партии после каждой раздачи (только в запросе по одному игроку)
+ */
+public record PlayerStats(
+    String username,
+    int hands,
+    int declared,
+    int made,
+    double successRate,
+    int defended,
+    int defenderTricks,
+    double averageDefenderTricks,
+    int misers,
+    int misersMade,
+    int allPass,
+    List<ScorePoint> timeline
+) {
+    /**
+     * @param time  момент окончания раздачи, мс от эпохи
+     * @param score очки игрока в этой партии после раздачи
+     */
+    public record ScorePoint(long time, String gameId, int score, int mountain) {
+    }
+
+    public static PlayerStats of(final String username, final int hands, final int declared, final int made,
+                                 final int defended, final int defenderTricks, final int misers, final int misersMade,
+                                 final int allPass, final List<ScorePoint> timeline) {
+        return new PlayerStats(username, hands, declared, made, declared > 0 ? (double) made / declared : 0,
+                defended, defenderTricks, defended > 0 ? (double) defenderTricks / defended : 0,
+                misers, misersMade, allPass, timeline);
+    }
+
+    /**
+     * Сложить статистику одного игрока с разных узлов кластера; в графике остаются последние {@code timelineLimit} точек
+     */
+    public PlayerStats merge(final PlayerStats other, final int timelineLimit) {
+        final var points = new ArrayList<ScorePoint>(timeline.size() + other.timeline.size());
+        points.addAll(timeline);
+        points.addAll(other.timeline);
+        points.sort(Comparator.comparingLong(ScorePoint::time));
+        return of(username, hands + other.hands, declared + other.declared, made + other.made,
+                defended + other.defended, defenderTricks + other.defenderTricks, misers + other.misers,
+                misersMade + other.misersMade, allPass + other.allPass,
+                List.copyOf(points.subList(Math.max(0, points.size() - timelineLimit), points.size())));
+    }
+}
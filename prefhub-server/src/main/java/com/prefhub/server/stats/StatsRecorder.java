@@ -0,0 +1,58 @@
+package com.prefhub.server.stats;
+
+import com.google.inject.Inject;
+import com.prefhub.core.model.GameState;
+import com.prefhub.core.model.Whist;
+import com.prefhub.server.game.GameService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+
+/**
+ * Пополняет {@link StatsStore} по итогам каждой раздачи, сразу после подсчёта очков
+ */
+public class StatsRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(StatsRecorder.class);
+
+    private final StatsStore store;
+
+    @Inject
+    public StatsRecorder(final GameService gameService, final StatsStore store) {
+        this.store = store;
+        gameService.addDealListener(this::record);
+    }
+
+    private void record(final GameState gameState) {
+        final long now = System.currentTimeMillis();
+        final var contract = gameState.getContract();
+        final var declarer = gameState.getDeclarer();
+        final var tricksWon = gameState.getTricksWon();
+        boolean made = false;
+        if (contract != null && declarer != null) {
+            final int taken = tricksWon.getOrDefault(declarer, 0);
+            made = contract.isMiser() ? taken == 0 : taken >= contract.getTricks();
+        }
+
+        final var whists = gameState.getWhists();
+        final var rows = new ArrayList<StatsStore.Row>(gameState.getPlayers().size());
+        for (final var player : gameState.getPlayers()) {
+            // Мизер не вистуется: его ловят оба защитника, как при висте
+            final int role = contract == null || contract.isPass() ? StatsStore.ROLE_ALL_PASS
+                    : player.equals(declarer) ? StatsStore.ROLE_DECLARER
+                    : whists.getOrDefault(player, Whist.WHIST) == Whist.WHIST ? StatsStore.ROLE_DEFENDER
+                    : StatsStore.ROLE_PASSED;
+            rows.add(new StatsStore.Row(now, player.getUsername(), gameState.getRuleId(), gameState.getGameId(), role,
+                    contract, tricksWon.getOrDefault(player, 0), made, player.getScore(), player.getMountain()));
+        }
+        try {
+            store.append(rows);
+        } catch (RuntimeException e) {
+            logger.error("Failed to record stats for game {}", gameState.getGameId(), e);
+        }
+    }
+
+    public void shutdown() {
+        store.close();
+    }
+}
@@ -0,0 +1,352 @@
+package com.prefhub.server.stats;
+
+import com.prefhub.core.model.Contract;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Столбцовое хранилище статистики: одна строка на игрока в каждой сыгранной раздаче.
+ * <p>
+ * Каждый столбец — отдельный файл фиксированной ширины, отображённый в память ({@link MappedColumn});
+ * имена игроков, правил и партий заменены номерами из словарей. Число строк хранится отдельно и увеличивается
+ * после записи значений, поэтому читатели видят только целые строки. Запросы — один проход по нужным столбцам
+ * без чтения партий.
+ */
+public class StatsStore {
+    private static final Logger logger = LoggerFactory.getLogger(StatsStore.class);
+    private static final int INITIAL_ROWS = 1 << 16;
+
+    public static final int ROLE_DECLARER = 0;
+    public static final int ROLE_DEFENDER = 1;
+    public static final int ROLE_ALL_PASS = 2;
+    // Защитник, который не вистовал (пас или пол-вист): его взятки не входят в статистику защиты
+    public static final int ROLE_PASSED = 3;
+    private static final int NO_CONTRACT = -1;
+
+    private final MappedColumn time;
+    private final MappedColumn player;
+    private final MappedColumn rule;
+    private final MappedColumn game;
+    private final MappedColumn role;
+    private final MappedColumn contract;
+    private final MappedColumn tricks;
+    private final MappedColumn made;
+    private final MappedColumn score;
+    private final MappedColumn mountain;
+    private final List<MappedColumn> columns;
+    private final FileChannel metaChannel;
+    private final MappedByteBuffer meta;
+    private final Dictionary players;
+    private final Dictionary rules;
+    private final Dictionary games;
+    private volatile int rows;
+
+    /**
+     * Строка статистики
+     *
+     * @param contract {@link Contract#PASS} на распасах; {@code null} — все спасовали и раздачу пересдали (старые записи)
+     * @param made     разыгрывающий выполнил контракт (для защитников не важно)
+     */
+    public record Row(long time, String player, String ruleId, String gameId, int role, Contract contract, int tricks,
+                      boolean made, int score, int mountain) {
+    }
+
+    public StatsStore(final Path directory) {
+        try {
+            Files.createDirectories(directory);
+            time = new MappedColumn(directory.resolve("time.col"), Long.BYTES, INITIAL_ROWS);
+            player = new MappedColumn(directory.resolve("player.col"), Integer.BYTES, INITIAL_ROWS);
+            rule = new MappedColumn(directory.resolve("rule.col"), Integer.BYTES, INITIAL_ROWS);
+            game = new MappedColumn(directory.resolve("game.col"), Integer.BYTES, INITIAL_ROWS);
+            role = new MappedColumn(directory.resolve("role.col"), Integer.BYTES, INITIAL_ROWS);
+            contract = new MappedColumn(directory.resolve("contract.col"), Integer.BYTES, INITIAL_ROWS);
+            tricks = new MappedColumn(directory.resolve("tricks.col"), Integer.BYTES, INITIAL_ROWS);
+            made = new MappedColumn(directory.resolve("made.col"), Integer.BYTES, INITIAL_ROWS);
+            score = new MappedColumn(directory.resolve("score.col"), Integer.BYTES, INITIAL_ROWS);
+            mountain = new MappedColumn(directory.resolve("mountain.col"), Integer.BYTES, INITIAL_ROWS);
+            columns = List.of(time, player, rule, game, role, contract, tricks, made, score, mountain);
+            metaChannel = FileChannel.open(directory.resolve("rows.meta"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            meta = metaChannel.map(FileChannel.MapMode.READ_WRITE, 0, Integer.BYTES);
+            meta.order(ByteOrder.LITTLE_ENDIAN);
+            players = new Dictionary(directory.resolve("players.dict"));
+            rules = new Dictionary(directory.resolve("rules.dict"));
+            games = new Dictionary(directory.resolve("games.dict"));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open stats store in " + directory, e);
+        }
+        rows = meta.getInt(0);
+        logger.info("Stats store: {} rows, {} players in {}", rows, players.size(), directory.toAbsolutePath());
+    }
+
+    public synchronized void append(final List<Row> batch) {
+        try {
+            int next = rows;
+            for (final var row : batch) {
+                for (final var column : columns) {
+                    column.ensureRow(next);
+                }
+                time.putLong(next, row.time());
+                player.putInt(next, players.id(row.player()));
+                rule.putInt(next, rules.id(row.ruleId() != null ? row.ruleId() : ""));
+                game.putInt(next, games.id(row.gameId()));
+                role.putInt(next, row.role());
+                contract.putInt(next, row.contract() != null ? row.contract().ordinal() : NO_CONTRACT);
+                tricks.putInt(next, row.tricks());
+                made.putInt(next, row.made() ? 1 : 0);
+                score.putInt(next, row.score());
+                mountain.putInt(next, row.mountain());
+                next++;
+            }
+            meta.putInt(0, next);
+            rows = next;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append stats", e);
+        }
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Статистика всех игроков одним проходом
+     *
+     * @param ruleId {@code null} — все правила
+     * @param from   начало периода включительно, мс от эпохи
+     * @param to     конец периода исключительно
+     */
+    public List<PlayerStats> aggregate(final String ruleId, final long from, final long to) {
+        final int count = rows;
+        final int ruleFilter = ruleId != null ? rules.find(ruleId) : -1;
+        if (ruleId != null && ruleFilter < 0) {
+            return List.of();
+        }
+        final int playerCount = players.size();
+        final int[] hands = new int[playerCount];
+        final int[] declared = new int[playerCount];
+        final int[] madeCount = new int[playerCount];
+        final int[] defended = new int[playerCount];
+        final int[] defenderTricks = new int[playerCount];
+        final int[] misers = new int[playerCount];
+        final int[] misersMade = new int[playerCount];
+        final int[] allPass = new int[playerCount];
+
+        final var timeColumn = time.longs();
+        final var playerColumn = player.ints();
+        final var ruleColumn = rule.ints();
+        final var roleColumn = role.ints();
+        final var contractColumn = contract.ints();
+        final var tricksColumn = tricks.ints();
+        final var madeColumn = made.ints();
+        final int miser = Contract.MISER.ordinal();
+        for (int i = 0; i < count; i++) {
+            final long t = timeColumn.get(i);
+            if (t < from || t >= to || ruleFilter >= 0 && ruleColumn.get(i) != ruleFilter) {
+                continue;
+            }
+            // Счётчики без ветвлений: роль и исход превращаются в 0/1
+            final int p = playerColumn.get(i);
+            final int r = roleColumn.get(i);
+            final int isDeclarer = r == ROLE_DECLARER ? 1 : 0;
+            final int isDefender = r == ROLE_DEFENDER ? 1 : 0;
+            final int isMiser = isDeclarer & (contractColumn.get(i) == miser ? 1 : 0);
+            final int success = madeColumn.get(i);
+            hands[p]++;
+            declared[p] += isDeclarer;
+            madeCount[p] += isDeclarer & success;
+            defended[p] += isDefender;
+            defenderTricks[p] += isDefender * tricksColumn.get(i);
+            misers[p] += isMiser;
+            misersMade[p] += isMiser & success;
+            allPass[p] += r == ROLE_ALL_PASS ? 1 : 0;
+        }
+
+        final var result = new ArrayList<PlayerStats>();
+        for (int p = 0; p < playerCount; p++) {
+            if (hands[p] > 0) {
+                result.add(PlayerStats.of(players.name(p), hands[p], declared[p], madeCount[p], defended[p],
+                        defenderTricks[p], misers[p], misersMade[p], allPass[p], List.of()));
+            }
+        }
+        result.sort(Comparator.comparing(PlayerStats::username));
+        return result;
+    }
+
+    /**
+     * Статистика одного игрока с графиком очков: последние {@code timelineLimit} раздач периода
+     */
+    public PlayerStats player(final String username, final String ruleId, final long from, final long to,
+                              final int timelineLimit) {
+        final int count = rows;
+        final int playerFilter = players.find(username);
+        final int ruleFilter = ruleId != null ? rules.find(ruleId) : -1;
+        if (playerFilter < 0 || ruleId != null && ruleFilter < 0) {
+            return PlayerStats.of(username, 0, 0, 0, 0, 0, 0, 0, 0, List.of());
+        }
+        int hands = 0;
+        int declared = 0;
+        int madeCount = 0;
+        int defended = 0;
+        int defenderTricks = 0;
+        int misers = 0;
+        int misersMade = 0;
+        int allPass = 0;
+        // Кольцо последних строк игрока для графика
+        final int[] recent = new int[Math.max(timelineLimit, 0)];
+        int seen = 0;
+
+        final var timeColumn = time.longs();
+        final var playerColumn = player.ints();
+        final var ruleColumn = rule.ints();
+        final var roleColumn = role.ints();
+        final var contractColumn = contract.ints();
+        final var tricksColumn = tricks.ints();
+        final var madeColumn = made.ints();
+        final int miser = Contract.MISER.ordinal();
+        for (int i = 0; i < count; i++) {
+            if (playerColumn.get(i) != playerFilter) {
+                continue;
+            }
+            final long t = timeColumn.get(i);
+            if (t < from || t >= to || ruleFilter >= 0 && ruleColumn.get(i) != ruleFilter) {
+                continue;
+            }
+            final int r = roleColumn.get(i);
+            final int success = madeColumn.get(i);
+            hands++;
+            if (r == ROLE_DECLARER) {
+                declared++;
+                madeCount += success;
+                if (contractColumn.get(i) == miser) {
+                    misers++;
+                    misersMade += success;
+                }
+            } else if (r == ROLE_DEFENDER) {
+                defended++;
+                defenderTricks += tricksColumn.get(i);
+            } else {
+                allPass++;
+            }
+            if (recent.length > 0) {
+                recent[seen % recent.length] = i;
+            }
+            seen++;
+        }
+
+        final var timeline = new ArrayList<PlayerStats.ScorePoint>();
+        final var gameColumn = game.ints();
+        final var scoreColumn = score.ints();
+        final var mountainColumn = mountain.ints();
+        final int points = Math.min(seen, recent.length);
+        for (int k = seen - points; k < seen; k++) {
+            final int i = recent[k % recent.length];
+            timeline.add(new PlayerStats.ScorePoint(timeColumn.get(i), games.name(gameColumn.get(i)),
+                    scoreColumn.get(i), mountainColumn.get(i)));
+        }
+        return PlayerStats.of(username, hands, declared, madeCount, defended, defenderTricks, misers, misersMade,
+                allPass, timeline);
+    }
+
+    public synchronized void close() {
+        try {
+            for (final var column : columns) {
+                column.close();
+            }
+            meta.force();
+            metaChannel.close();
+        } catch (IOException e) {
+            logger.error("Failed to close stats store", e);
+        }
+    }
+
+    /**
+     * Словарь строк: номер — порядковый номер строки в текстовом файле. Новое имя дописывается в файл
+     * раньше, чем на него сошлётся хоть одна строка статистики. Переводы строк и обратная косая черта
+     * в имени экранируются, чтобы одно имя всегда занимало одну строку и номера не сдвигались.
+     */
+    private static final class Dictionary {
+        private final Path file;
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private volatile String[] names;
+
+        Dictionary(final Path file) throws IOException {
+            this.file = file;
+            final var lines = Files.exists(file) ? Files.readAllLines(file, StandardCharsets.UTF_8) : List.<String>of();
+            names = new String[lines.size()];
+            for (int id = 0; id < names.length; id++) {
+                names[id] = unescape(lines.get(id));
+                ids.putIfAbsent(names[id], id);
+            }
+        }
+
+        /**
+         * Номер имени; новое имя добавляется (вызывается под блокировкой хранилища)
+         */
+        int id(final String name) throws IOException {
+            final var existing = ids.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            Files.writeString(file, escape(name) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            final int id = names.length;
+            final var grown = Arrays.copyOf(names, id + 1);
+            grown[id] = name;
+            names = grown;
+            ids.put(name, id);
+            return id;
+        }
+
+        /**
+         * @return номер или -1, если такого имени нет
+         */
+        int find(final String name) {
+            return ids.getOrDefault(name, -1);
+        }
+
+        String name(final int id) {
+            return names[id];
+        }
+
+        int size() {
+            return names.length;
+        }
+
+        private static String escape(final String name) {
+            return name.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+        }
+
+        private static String unescape(final String line) {
+            if (line.indexOf('\\') < 0) {
+                return line;
+            }
+            final var name = new StringBuilder(line.length());
+            for (int i = 0; i < line.length(); i++) {
+                final char c = line.charAt(i);
+                if (c != '\\' || i + 1 == line.length()) {
+                    name.append(c);
+                    continue;
+                }
+                final char next = line.charAt(++i);
+                name.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            }
+            return name.toString();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.prefhub.server.trace;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+
+/**
+ * Изменяемая трасса одной команды. У каждого потока одна такая трасса, которая переиспользуется
+ * от команды к команде, поэтому на быстром пути ничего не выделяется.
+ */
+final class MoveTrace {
+    private final long[] stageNanos = new long[Stage.VALUES.length];
+    private long traceId;
+    private String command;
+    private String username;
+    private String gameId;
+    private long startNanos;
+    private long lastMarkNanos;
+    private boolean active;
+
+    void start(final long traceId, final String command, final long startNanos) {
+        this.traceId = traceId;
+        this.command = command;
+        this.username = null;
+        this.gameId = null;
+        this.startNanos = startNanos;
+        this.lastMarkNanos = startNanos;
+        this.active = true;
+        Arrays.fill(stageNanos, 0);
+    }
+
+    void mark(final Stage stage) {
+        final long now = System.nanoTime();
+        stageNanos[stage.ordinal()] += now - lastMarkNanos;
+        lastMarkNanos = now;
+    }
+
+    void annotate(final String username, final String gameId) {
+        if (username != null) {
+            this.username = username;
+        }
+        if (gameId != null) {
+            this.gameId = gameId;
+        }
+    }
+
+    /**
+     * Закрыть трассу: остаток времени уходит в {@link Stage#OTHER}
+     *
+     * @return полное время команды
+     */
+    long stop() {
+        mark(Stage.OTHER);
+        active = false;
+        return lastMarkNanos - startNanos;
+    }
+
+    void cancel() {
+        active = false;
+    }
+
+    boolean active() {
+        return active;
+    }
+
+    long traceId() {
+        return traceId;
+    }
+
+    long stageNanos(final Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    SlowTrace snapshot(final long totalNanos) {
+        final var stages = new EnumMap<Stage, Double>(Stage.class);
+        for (final var stage : Stage.VALUES) {
+            if (stageNanos[stage.ordinal()] > 0) {
+                stages.put(stage, stageNanos[stage.ordinal()] / 1e6);
+            }
+        }
+        return new SlowTrace(Long.toHexString(traceId), command, username, gameId, System.currentTimeMillis(),
+                totalNanos / 1e6, stages);
+    }
+}
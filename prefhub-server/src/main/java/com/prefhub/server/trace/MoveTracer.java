@@ -0,0 +1,122 @@
+package com.prefhub.server.trace;
+
+import com.google.inject.Inject;
+import com.prefhub.server.metrics.LatencyHistogram;
+import com.prefhub.server.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Трассировка команд игроков от приёма до последнего кадра рассылки.
+ * <p>
+ * Команда целиком проходит в одном потоке: разбор, {@code GameService}, сохранение и рассылка через слушателей,
+ * поэтому трасса живёт в {@link ThreadLocal}, а этапы отмечаются из любых слоёв без передачи контекста.
+ * Если команда не попала в выборку, {@link #mark} сводится к чтению флага; медленные команды копируются
+ * в кольцевой буфер, и только здесь выделяется память.
+ */
+public class MoveTracer {
+    private static final long NOT_TRACED = -1;
+
+    private final int sampleEvery;
+    private final long slowThresholdNanos;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadLocal<MoveTrace> traces = ThreadLocal.withInitial(MoveTrace::new);
+    private final LatencyHistogram[] stageLatency = new LatencyHistogram[Stage.VALUES.length];
+    private final LatencyHistogram totalLatency;
+
+    private final AtomicReferenceArray<SlowTrace> slow;
+    private final AtomicLong slowCount = new AtomicLong();
+
+    @Inject
+    public MoveTracer(final TraceSettings settings, final MetricsRegistry metrics) {
+        this.sampleEvery = settings.sampleEvery();
+        this.slowThresholdNanos = settings.slowThreshold().toNanos();
+        this.slow = new AtomicReferenceArray<>(settings.capacity());
+        for (final var stage : Stage.VALUES) {
+            stageLatency[stage.ordinal()] = metrics.histogram("command_stage_seconds",
+                    "Traced command time by pipeline stage", "stage", stage.name().toLowerCase(Locale.ROOT));
+        }
+        this.totalLatency = metrics.histogram("command_seconds", "Traced command time from receipt to last frame");
+    }
+
+    /**
+     * Начать трассу команды в текущем потоке, если она попала в выборку
+     *
+     * @param startNanos момент приёма команды ({@link System#nanoTime()}); может быть раньше вызова,
+     *                   если команду сначала нужно разобрать, чтобы узнать её тип
+     * @return идентификатор трассы или -1, если команда не трассируется
+     */
+    public long begin(final String command, final long startNanos) {
+        final var trace = traces.get();
+        final long id = sampleEvery == 0 ? 0 : sequence.incrementAndGet();
+        if (id == 0 || id % sampleEvery != 0) {
+            // Трасса, брошенная предыдущей командой из-за исключения, не должна копить чужие этапы
+            trace.cancel();
+            return NOT_TRACED;
+        }
+        trace.start(id, command, startNanos);
+        return id;
+    }
+
+    /**
+     * Отметить завершение этапа для текущей команды потока
+     */
+    public void mark(final Stage stage) {
+        final var trace = traces.get();
+        if (trace.active()) {
+            trace.mark(stage);
+        }
+    }
+
+    /**
+     * Дописать к трассе игрока и игру, как только они стали известны; {@code null} не затирает значение
+     */
+    public void annotate(final String username, final String gameId) {
+        final var trace = traces.get();
+        if (trace.active()) {
+            trace.annotate(username, gameId);
+        }
+    }
+
+    /**
+     * Завершить трассу текущей команды; без активной трассы ничего не делает
+     */
+    public void finish() {
+        final var trace = traces.get();
+        if (!trace.active()) {
+            return;
+        }
+        final long totalNanos = trace.stop();
+        for (final var stage : Stage.VALUES) {
+            final long nanos = trace.stageNanos(stage);
+            if (nanos > 0) {
+                stageLatency[stage.ordinal()].record(nanos);
+            }
+        }
+        totalLatency.record(totalNanos);
+        if (totalNanos >= slowThresholdNanos) {
+            final long slot = slowCount.getAndIncrement();
+            slow.set((int) (slot % slow.length()), trace.snapshot(totalNanos));
+        }
+    }
+
+    /**
+     * Медленные команды из кольцевого буфера, от самой долгой
+     */
+    public List<SlowTrace> slowTraces() {
+        final var result = new ArrayList<SlowTrace>(slow.length());
+        for (int i = 0; i < slow.length(); i++) {
+            final var trace = slow.get(i);
+            if (trace != null) {
+                result.add(trace);
+            }
+        }
+        result.sort(Comparator.comparingDouble(SlowTrace::totalMillis).reversed());
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package com.prefhub.server.trace;
+
+import java.util.Map;
+
+/**
+ * Медленная команда, попавшая в кольцевой буфер
+ *
+ * @param traceId      идентификатор трассы (hex), тот же, что в заголовке {@code X-Trace-Id}
+ * @param command      команда: тип сообщения WebSocket или метод REST-контроллера
+ * @param finishedAt   время завершения, миллисекунды эпохи
+ * @param totalMillis  полное время от приёма до последнего кадра рассылки
+ * @param stageMillis  время по этапам; этапы без времени опущены
+ */
+public record SlowTrace(String traceId, String command, String username, String gameId, long finishedAt,
+                        double totalMillis, Map<Stage, Double> stageMillis) {
+}
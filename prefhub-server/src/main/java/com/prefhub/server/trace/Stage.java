@@ -0,0 +1,39 @@
+package com.prefhub.server.trace;
+
+/**
+ * Этапы обработки команды игрока, в порядке прохождения.
+ * Время этапа — интервал от предыдущей отметки до отметки этого этапа, поэтому этапы не пересекаются
+ * и в сумме дают полное время команды.
+ */
+public enum Stage {
+    /**
+     * Разбор входящего сообщения
+     */
+    PARSE,
+    /**
+     * Проверка и применение хода в {@code GameService}, до сохранения
+     */
+    APPLY,
+    /**
+     * Запись игры в хранилище
+     */
+    SAVE,
+    /**
+     * Построение вида игрока для рассылки
+     */
+    VIEW,
+    /**
+     * Сериализация кадра в JSON
+     */
+    SERIALIZE,
+    /**
+     * Постановка кадра в очередь отправки соединения
+     */
+    SEND,
+    /**
+     * Всё остальное до завершения команды
+     */
+    OTHER;
+
+    static final Stage[] VALUES = values();
+}
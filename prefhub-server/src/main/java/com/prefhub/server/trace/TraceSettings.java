@@ -0,0 +1,31 @@
+package com.prefhub.server.trace;
+
+import java.time.Duration;
+
+/**
+ * Параметры трассировки команд
+ *
+ * @param sampleEvery   трассируется каждая {@code sampleEvery}-я команда; 1 — все, 0 — трассировка выключена
+ * @param slowThreshold команды дольше этого порога попадают в буфер медленных
+ * @param capacity      размер кольцевого буфера медленных команд
+ */
+public record TraceSettings(int sampleEvery, Duration slowThreshold, int capacity) {
+    public TraceSettings {
+        if (sampleEvery < 0) {
+            throw new IllegalArgumentException("Sample rate must not be negative");
+        }
+        if (slowThreshold == null || slowThreshold.isNegative()) {
+            throw new IllegalArgumentException("Slow threshold must not be negative");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Slow trace capacity must be positive");
+        }
+    }
+
+    /**
+     * Трассируется каждая команда, медленные — дольше 250 мс, в буфере последние 256
+     */
+    public static TraceSettings defaults() {
+        return new TraceSettings(1, Duration.ofMillis(250), 256);
+    }
+}
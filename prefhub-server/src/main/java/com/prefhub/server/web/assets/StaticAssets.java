@@ -0,0 +1,137 @@
+package com.prefhub.server.web.assets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable table of static web assets, read from the classpath once at startup.
+ * Every asset carries its bytes, a gzip variant (when compression pays off), content type, strong ETag
+ * and caching policy, so serving a request is a map lookup and a write.
+ */
+public final class StaticAssets {
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssets.class);
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "json", "application/json",
+            "ico", "image/x-icon",
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "jpeg", "image/jpeg");
+    // Already compressed formats gain nothing from gzip
+    private static final Set<String> COMPRESSED = Set.of("ico", "png", "jpg", "jpeg");
+
+    private final Map<String, Asset> assets;
+
+    private StaticAssets(final Map<String, Asset> assets) {
+        this.assets = Map.copyOf(assets);
+    }
+
+    /**
+     * @param path resource path, e.g. {@code /static/web-v0/index.html}
+     * @return the asset or {@code null} if there is none
+     */
+    public Asset get(final String path) {
+        return assets.get(path);
+    }
+
+    public int size() {
+        return assets.size();
+    }
+
+    /**
+     * Load every file under the classpath directory {@code root} (works for both exploded classes and a jar)
+     */
+    public static StaticAssets load(final String root) {
+        final var url = StaticAssets.class.getResource(root);
+        if (url == null) {
+            logger.warn("No static assets found at {}", root);
+            return new StaticAssets(Map.of());
+        }
+        try {
+            final URI uri = url.toURI();
+            if ("jar".equals(uri.getScheme())) {
+                try (final var fileSystem = FileSystems.newFileSystem(uri, Map.of())) {
+                    return new StaticAssets(read(fileSystem.getPath(root), root));
+                } catch (FileSystemAlreadyExistsException e) {
+                    return new StaticAssets(read(FileSystems.getFileSystem(uri).getPath(root), root));
+                }
+            }
+            return new StaticAssets(read(Path.of(uri), root));
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("Failed to load static assets from " + root, e);
+        }
+    }
+
+    private static Map<String, Asset> read(final Path directory, final String root) throws IOException {
+        final var loaded = new HashMap<String, Asset>();
+        try (final var files = Files.walk(directory)) {
+            for (final var file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                final var relative = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                final var asset = Asset.of(Files.readAllBytes(file), extension(relative));
+                loaded.put(root + "/" + relative, asset);
+            }
+        }
+        logger.info("Loaded {} static assets from {}", loaded.size(), root);
+        return loaded;
+    }
+
+    private static String extension(final String path) {
+        final int dot = path.lastIndexOf('.');
+        return dot < 0 ? "" : path.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param gzip gzip-encoded bytes, or {@code null} when the asset is served uncompressed only
+     */
+    public record Asset(byte[] bytes, byte[] gzip, String contentType, String etag, String gzipEtag, String cacheControl) {
+        static Asset of(final byte[] bytes, final String extension) {
+            final var hash = HexFormat.of().formatHex(sha256(bytes), 0, 8);
+            byte[] gzip = COMPRESSED.contains(extension) ? null : gzip(bytes);
+            if (gzip != null && gzip.length >= bytes.length * 9 / 10) {
+                gzip = null;
+            }
+            // Pages must be revalidated so a deploy shows up at once; scripts and styles may be reused briefly
+            final var cacheControl = "html".equals(extension) ? "no-cache" : "public, max-age=300";
+            return new Asset(bytes, gzip, CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"),
+                    "\"" + hash + "\"", "\"" + hash + "-gz\"", cacheControl);
+        }
+
+        private static byte[] gzip(final byte[] bytes) {
+            final var buffer = new ByteArrayOutputStream(bytes.length / 2 + 64);
+            try (final var out = new GZIPOutputStream(buffer) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+                out.write(bytes);
+            } catch (IOException e) {
+                throw new IllegalStateException("In-memory gzip failed", e);
+            }
+            return buffer.toByteArray();
+        }
+
+        private static byte[] sha256(final byte[] bytes) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(bytes);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
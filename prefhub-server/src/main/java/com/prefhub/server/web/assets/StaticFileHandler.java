@@ -0,0 +1,178 @@
+package com.prefhub.server.web.assets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Serves the web clients from {@link StaticAssets}.
+ * Picks the gzip variant when the client accepts it, answers {@code If-None-Match} with 304
+ * and single byte ranges with 206; nothing is read from disk or compressed per request.
+ */
+public class StaticFileHandler implements HttpHandler {
+    private static final Logger logger = LoggerFactory.getLogger(StaticFileHandler.class);
+    private static final String DEFAULT_WEB_VERSION = "web-v0";
+    private static final int[] UNSATISFIABLE = new int[0];
+
+    private final StaticAssets assets;
+
+    public StaticFileHandler(final StaticAssets assets) {
+        this.assets = assets;
+    }
+
+    @Override
+    public void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final var method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            final var resourcePath = resourcePath(exchange.getRequestURI().getPath());
+            final var asset = assets.get(resourcePath);
+            if (asset == null) {
+                logger.debug("Resource not found: {}", resourcePath);
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            serve(exchange, asset, "HEAD".equals(method));
+        }
+    }
+
+    private void serve(final HttpExchange exchange, final StaticAssets.Asset asset, final boolean head) throws IOException {
+        final var request = exchange.getRequestHeaders();
+        final var rangeHeader = request.getFirst("Range");
+        // Ranges are served from the identity bytes, so a range request never gets the gzip variant
+        final boolean gzip = asset.gzip() != null && rangeHeader == null && acceptsGzip(request.getFirst("Accept-Encoding"));
+        final var etag = gzip ? asset.gzipEtag() : asset.etag();
+
+        final var headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", asset.contentType());
+        headers.set("ETag", etag);
+        headers.set("Cache-Control", asset.cacheControl());
+        headers.set("Accept-Ranges", "bytes");
+        if (asset.gzip() != null) {
+            headers.set("Vary", "Accept-Encoding");
+        }
+
+        if (matches(request.getFirst("If-None-Match"), asset)) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+
+        final byte[] body = gzip ? asset.gzip() : asset.bytes();
+        if (gzip) {
+            headers.set("Content-Encoding", "gzip");
+        }
+        int from = 0;
+        int to = body.length - 1;
+        int status = 200;
+        final var ifRange = request.getFirst("If-Range");
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            final var range = parseRange(rangeHeader, body.length);
+            if (range == UNSATISFIABLE) {
+                headers.set("Content-Range", "bytes */" + body.length);
+                exchange.sendResponseHeaders(416, -1);
+                return;
+            }
+            if (range != null) {
+                from = range[0];
+                to = range[1];
+                status = 206;
+                headers.set("Content-Range", "bytes " + from + "-" + to + "/" + body.length);
+            }
+        }
+
+        final int length = to - from + 1;
+        if (head) {
+            headers.set("Content-Length", Integer.toString(length));
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+        exchange.getResponseBody().write(body, from, length);
+    }
+
+    /**
+     * Single {@code bytes=} range as inclusive bounds; {@code null} for anything else (multiple ranges, other units),
+     * which means the full body is sent
+     */
+    private static int[] parseRange(final String header, final int length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        final var spec = header.substring(6).trim();
+        final int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            final var start = spec.substring(0, dash).trim();
+            final var end = spec.substring(dash + 1).trim();
+            if (start.isEmpty()) {
+                // Suffix range: the last N bytes
+                final long suffix = Long.parseLong(end);
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new int[]{(int) Math.max(0, length - suffix), length - 1};
+            }
+            final long from = Long.parseLong(start);
+            final long to = end.isEmpty() ? length - 1 : Math.min(Long.parseLong(end), length - 1);
+            if (from >= length || to < from) {
+                return UNSATISFIABLE;
+            }
+            return new int[]{(int) from, (int) to};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Weak comparison as required for {@code If-None-Match}: either variant's tag counts as a match
+     */
+    private static boolean matches(final String ifNoneMatch, final StaticAssets.Asset asset) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(asset.etag()) || tag.equals(asset.gzipEtag()));
+    }
+
+    private static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final var coding : acceptEncoding.split(",")) {
+            final var parts = coding.trim().split(";");
+            final var name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0{0,3})?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code /} and unknown prefixes map to the default client, {@code /web-vN/...} to that version
+     */
+    private static String resourcePath(final String path) {
+        if (path.isEmpty() || path.equals("/")) {
+            return "/static/" + DEFAULT_WEB_VERSION + "/index.html";
+        }
+        if (path.startsWith("/web-v")) {
+            if (path.indexOf('/', 1) == -1) {
+                return "/static" + path + "/index.html";
+            }
+            return path.endsWith("/") ? "/static" + path + "index.html" : "/static" + path;
+        }
+        return "/static/" + DEFAULT_WEB_VERSION + path;
+    }
+}
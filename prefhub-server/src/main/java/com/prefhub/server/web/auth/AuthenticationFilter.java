@@ -2,6 +2,8 @@ package com.prefhub.server.web.auth;
 
 import com.google.inject.Inject;
 import com.prefhub.server.auth.AuthService;
+import com.prefhub.server.metrics.Counter;
+import com.prefhub.server.metrics.MetricsRegistry;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
 import jakarta.ws.rs.core.Response;
@@ -13,24 +15,32 @@ import jakarta.ws.rs.ext.Provider;
 @Provider
 public class AuthenticationFilter implements ContainerRequestFilter {
     private final AuthService authService;
+    private final Counter authenticated;
+    private final Counter missingHeader;
+    private final Counter invalidToken;
 
     @Inject
-    public AuthenticationFilter(final AuthService authService) {
+    public AuthenticationFilter(final AuthService authService, final MetricsRegistry metrics) {
         this.authService = authService;
+        final var help = "REST authentication outcomes";
+        this.authenticated = metrics.counter("http_auth_total", help, "result", "ok");
+        this.missingHeader = metrics.counter("http_auth_total", help, "result", "missing");
+        this.invalidToken = metrics.counter("http_auth_total", help, "result", "invalid");
     }
 
     @Override
     public void filter(ContainerRequestContext requestContext) {
         final String path = requestContext.getUriInfo().getPath();
 
-        // Skip authentication for auth endpoints
-        if (path.startsWith("auth/")) {
+        // Skip authentication for auth endpoints and the metrics scrape
+        if (path.startsWith("auth/") || path.equals("metrics")) {
             return;
         }
 
         // Check for Authorization header
         final String authHeader = requestContext.getHeaderString("Authorization");
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            missingHeader.increment();
             requestContext.abortWith(
                     Response.status(Response.Status.UNAUTHORIZED)
                             .entity("{\"error\":\"Missing or invalid Authorization header\"}")
@@ -43,6 +53,7 @@ public class AuthenticationFilter implements ContainerRequestFilter {
         final String token = authHeader.substring(7);
         final String username = authService.validateToken(token);
         if (username == null) {
+            invalidToken.increment();
             requestContext.abortWith(
                     Response.status(Response.Status.UNAUTHORIZED)
                             .entity("{\"error\":\"Invalid token\"}")
@@ -51,6 +62,8 @@ public class AuthenticationFilter implements ContainerRequestFilter {
             return;
         }
 
+        authenticated.increment();
+
         // Store username in request context for parameter injection
         requestContext.setProperty("username", username);
     }
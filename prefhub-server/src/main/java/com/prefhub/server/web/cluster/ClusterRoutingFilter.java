@@ -0,0 +1,124 @@
+package com.prefhub.server.web.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import com.prefhub.server.cluster.ClusterRouter;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * JAX-RS filter sending each request to the node that owns it.
+ * Game calls are routed by {@code gameId} (query parameter or JSON body), register and login by username.
+ * Runs after authentication, so only valid requests cross the network.
+ * A forwarded-by header is trusted only when {@link ClusterRouter#isForwarded} verifies its signature; otherwise it is
+ * stripped, so clients cannot skip routing or the lobby fan-out.
+ * Lobby-wide calls ({@code games/list}, {@code games/active}) are merged by the controllers instead.
+ */
+@Provider
+@Priority(Priorities.USER + 100)
+public class ClusterRoutingFilter implements ContainerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterRoutingFilter.class);
+    private static final Set<String> USER_PATHS = Set.of("auth/register", "auth/login");
+    private static final Set<String> CLUSTER_WIDE_PATHS = Set.of("games/list", "games/active");
+
+    private final ClusterRouter router;
+    private final ObjectMapper objectMapper;
+
+    @Inject
+    public ClusterRoutingFilter(final ClusterRouter router, final ObjectMapper objectMapper) {
+        this.router = router;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        if (!router.isEnabled()) {
+            return;
+        }
+        final String path = requestContext.getUriInfo().getPath();
+        final var query = requestContext.getUriInfo().getRequestUri().getRawQuery();
+        final var pathAndQuery = query == null ? path : path + "?" + query;
+        final var forwarded = requestContext.getHeaderString(ClusterRouter.FORWARDED_HEADER);
+        if (forwarded != null) {
+            if (router.isForwarded(forwarded, requestContext.getMethod(), pathAndQuery)) {
+                return;
+            }
+            // Заголовок поставил клиент или подпись не сходится: контроллеры не должны принять запрос за пересланный
+            logger.warn("Ignoring unauthenticated {} header on {}", ClusterRouter.FORWARDED_HEADER, path);
+            requestContext.getHeaders().remove(ClusterRouter.FORWARDED_HEADER);
+        }
+        final boolean byUser = USER_PATHS.contains(path);
+        if (!byUser && (!path.startsWith("games/") || CLUSTER_WIDE_PATHS.contains(path))) {
+            return;
+        }
+
+        final byte[] body;
+        try {
+            body = requestContext.hasEntity() ? requestContext.getEntityStream().readAllBytes() : new byte[0];
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read request body", e);
+        }
+        requestContext.setEntityStream(new ByteArrayInputStream(body));
+
+        final String key = byUser ? field(body, "username") : gameId(requestContext, body);
+        if (key == null) {
+            return; // Пусть контроллер сам ответит на неполный запрос
+        }
+        final String owner = byUser ? router.ownerOfUser(key) : router.ownerOfGame(key);
+        if (router.isLocal(owner)) {
+            return;
+        }
+
+        try {
+            final var response = router.forward(owner, requestContext.getMethod(), pathAndQuery,
+                    requestContext.getHeaderString(HttpHeaders.AUTHORIZATION), body);
+            requestContext.abortWith(Response.status(response.statusCode())
+                    .entity(response.body())
+                    .type(response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse(MediaType.APPLICATION_JSON))
+                    .header("X-PrefHub-Node", owner)
+                    .build());
+        } catch (IOException e) {
+            logger.warn("Node {} is unavailable: {}", owner, e.getMessage());
+            requestContext.abortWith(unavailable(owner));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            requestContext.abortWith(unavailable(owner));
+        }
+    }
+
+    private String gameId(final ContainerRequestContext requestContext, final byte[] body) {
+        final var fromQuery = requestContext.getUriInfo().getQueryParameters().getFirst("gameId");
+        return fromQuery != null ? fromQuery : field(body, "gameId");
+    }
+
+    private String field(final byte[] body, final String name) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            final var value = objectMapper.readTree(body).get(name);
+            return value != null && value.isTextual() ? value.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Response unavailable(final String nodeId) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .entity("{\"error\":\"Node " + nodeId + " is unavailable\"}")
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
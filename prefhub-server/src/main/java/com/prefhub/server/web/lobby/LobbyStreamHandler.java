@@ -0,0 +1,141 @@
+package com.prefhub.server.web.lobby;
+
+import com.prefhub.server.auth.AuthService;
+import com.prefhub.server.lobby.LobbyFeed;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-Sent Events endpoint for the lobby feed ({@code GET /api/lobby/stream}).
+ * EventSource cannot set headers, so the token may also come as the {@code token} query parameter.
+ * The exchange is left open after {@link #handle} returns; each coalesced frame is encoded once
+ * and the same bytes are queued to every subscriber. Each subscriber has its own bounded queue drained by
+ * its own virtual thread, so a client that stops reading never stalls the feed thread; when its queue is full
+ * it is disconnected and can resubscribe and reload {@code /games/list}.
+ */
+public class LobbyStreamHandler implements HttpHandler, LobbyFeed.Sink {
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final int QUEUE_CAPACITY = 64;
+
+    private final AuthService authService;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public LobbyStreamHandler(final AuthService authService, final LobbyFeed feed) {
+        this.authService = authService;
+        feed.addSink(this);
+    }
+
+    @Override
+    public void handle(final HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+            return;
+        }
+        if (authService.validateToken(token(exchange)) == null) {
+            exchange.sendResponseHeaders(401, -1);
+            exchange.close();
+            return;
+        }
+        final var headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "text/event-stream; charset=utf-8");
+        headers.set("Cache-Control", "no-cache");
+        headers.set("X-Accel-Buffering", "no");
+        exchange.sendResponseHeaders(200, 0);
+        final var body = exchange.getResponseBody();
+        body.write(": connected\n\n".getBytes(StandardCharsets.UTF_8));
+        body.flush();
+        final var subscriber = new Subscriber(exchange);
+        subscribers.add(subscriber);
+        subscriber.writer = Thread.ofVirtual().name("lobby-sse").start(() -> drain(subscriber));
+    }
+
+    @Override
+    public void deliver(final String frame) {
+        if (!subscribers.isEmpty()) {
+            write(("event: lobby\ndata: " + frame + "\n\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void heartbeat() {
+        write(HEARTBEAT);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Queue the frame for every subscriber; a subscriber whose queue is full is too slow and is dropped
+     */
+    private void write(final byte[] bytes) {
+        for (final var subscriber : subscribers) {
+            if (!subscriber.queue.offer(bytes)) {
+                drop(subscriber);
+            }
+        }
+    }
+
+    private void drain(final Subscriber subscriber) {
+        final var body = subscriber.exchange.getResponseBody();
+        try {
+            while (subscribers.contains(subscriber)) {
+                body.write(subscriber.queue.take());
+                body.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            // Subscriber went away or was dropped
+        } finally {
+            subscribers.remove(subscriber);
+            subscriber.exchange.close();
+        }
+    }
+
+    /**
+     * Disconnect a subscriber without touching its socket on the calling thread: the interrupt aborts a blocked
+     * write, and the writer closes the exchange itself
+     */
+    private void drop(final Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            final var writer = subscriber.writer;
+            if (writer != null) {
+                writer.interrupt();
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final HttpExchange exchange;
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private volatile Thread writer;
+
+        private Subscriber(final HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+    }
+
+    private static String token(final HttpExchange exchange) {
+        final var header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring(7);
+        }
+        final var query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (final var parameter : query.split("&")) {
+                if (parameter.startsWith("token=")) {
+                    return URLDecoder.decode(parameter.substring(6), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.prefhub.server.web.metrics;
+
+import com.google.inject.Inject;
+import com.prefhub.server.metrics.MetricsRegistry;
+import com.prefhub.server.trace.MoveTracer;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+
+/**
+ * JAX-RS filter recording the latency of every REST call.
+ * Endpoint label is the resource method ({@code GameController.placeBid}), not the raw path,
+ * so the number of series stays fixed.
+ * POST requests are player commands: they are traced through {@link MoveTracer}
+ * and get the trace id back in the {@code X-Trace-Id} header.
+ */
+@Provider
+@Priority(Priorities.AUTHENTICATION - 1)
+public class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    private static final String START_PROPERTY = "metrics.start";
+    private static final String TRACE_PROPERTY = "metrics.traceId";
+
+    private final MetricsRegistry metrics;
+    private final MoveTracer tracer;
+
+    @Inject
+    public MetricsFilter(final MetricsRegistry metrics, final MoveTracer tracer) {
+        this.metrics = metrics;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        final long start = System.nanoTime();
+        requestContext.setProperty(START_PROPERTY, start);
+        if (HttpMethod.POST.equals(requestContext.getMethod())) {
+            final long traceId = tracer.begin(endpoint(requestContext), start);
+            if (traceId >= 0) {
+                requestContext.setProperty(TRACE_PROPERTY, traceId);
+            }
+        }
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        if (!(requestContext.getProperty(START_PROPERTY) instanceof Long start)) {
+            return;
+        }
+        if (requestContext.getProperty(TRACE_PROPERTY) instanceof Long traceId) {
+            tracer.annotate((String) requestContext.getProperty("username"), null);
+            tracer.finish();
+            responseContext.getHeaders().putSingle("X-Trace-Id", Long.toHexString(traceId));
+        }
+        metrics.histogram("http_request_seconds", "REST call latency by endpoint and status",
+                "endpoint", endpoint(requestContext),
+                "status", Integer.toString(responseContext.getStatus()))
+                .recordSince(start);
+    }
+
+    private static String endpoint(final ContainerRequestContext requestContext) {
+        if (requestContext.getUriInfo() instanceof ExtendedUriInfo uriInfo && uriInfo.getMatchedResourceMethod() != null) {
+            final var method = uriInfo.getMatchedResourceMethod().getInvocable().getDefinitionMethod();
+            return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+        return "unmatched";
+    }
+}
@@ -3,7 +3,17 @@ package com.prefhub.server.websocket;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prefhub.core.model.*;
 import com.prefhub.server.auth.AuthService;
+import com.prefhub.server.bot.BotService;
+import com.prefhub.server.cluster.ClusterRouter;
 import com.prefhub.server.game.GameService;
+import com.prefhub.server.game.SpectatorSettings;
+import com.prefhub.server.game.SpectatorViews;
+import com.prefhub.server.lobby.LobbyFeed;
+import com.prefhub.server.metrics.Counter;
+import com.prefhub.server.metrics.LatencyHistogram;
+import com.prefhub.server.metrics.MetricsRegistry;
+import com.prefhub.server.trace.MoveTracer;
+import com.prefhub.server.trace.Stage;
 import org.java_websocket.WebSocket;
 import org.java_websocket.handshake.ClientHandshake;
 import org.java_websocket.server.WebSocketServer;
@@ -13,23 +23,57 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class GameWebSocketServer extends WebSocketServer {
     private static final Logger logger = LoggerFactory.getLogger(GameWebSocketServer.class);
+    private static final Set<String> KNOWN_TYPES = Set.of(
+        "auth", "join", "getState", "placeBid", "exchangeWidow", "whist", "playCard", "startNextRound", "addBot",
+        "subscribeLobby", "unsubscribeLobby", "spectate", "stopSpectating");
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final AuthService authService;
     private final GameService gameService;
+    private final BotService botService;
+    private final MetricsRegistry metrics;
+    private final MoveTracer tracer;
+    private final ClusterRouter clusterRouter;
+    private final LatencyHistogram broadcastLatency;
+    private final Counter framesSent;
 
     // Track which user is connected to which WebSocket
     private final Map<WebSocket, String> connectionToUsername = new ConcurrentHashMap<>();
     // Track which game each user is in
     private final Map<String, String> usernameToGameId = new ConcurrentHashMap<>();
-
-    public GameWebSocketServer(int port, AuthService authService, GameService gameService) {
+    // Connections subscribed to the lobby feed
+    private final Set<WebSocket> lobbySubscribers = ConcurrentHashMap.newKeySet();
+    private final SpectatorChannel spectators;
+
+    public GameWebSocketServer(int port, AuthService authService, GameService gameService, BotService botService,
+                               MetricsRegistry metrics, MoveTracer tracer, ClusterRouter clusterRouter,
+                               LobbyFeed lobbyFeed, SpectatorViews spectatorViews,
+                               SpectatorSettings spectatorSettings) {
         super(new InetSocketAddress("0.0.0.0", port));
         this.authService = authService;
         this.gameService = gameService;
+        this.botService = botService;
+        this.metrics = metrics;
+        this.tracer = tracer;
+        this.clusterRouter = clusterRouter;
+        this.broadcastLatency = metrics.histogram("ws_broadcast_seconds", "Game state broadcast latency");
+        this.framesSent = metrics.counter("ws_frames_sent_total", "WebSocket frames sent");
+        metrics.gauge("ws_connections", "Open WebSocket connections", () -> getConnections().size());
+        // Рассылаем состояние после любого изменения игры, в том числе после ходов ботов и REST-запросов
+        gameService.addListener(gameState -> broadcastGameState(gameState.getGameId()));
+        // Кадр ленты лобби кодируется один раз на всех подписчиков
+        lobbyFeed.addSink(frame -> {
+            if (!lobbySubscribers.isEmpty()) {
+                broadcast(frame, lobbySubscribers);
+                framesSent.add(lobbySubscribers.size());
+            }
+        });
+        this.spectators = new SpectatorChannel(spectatorViews, this::broadcast, metrics,
+                spectatorSettings.catchUpInterval());
     }
 
     @Override
@@ -39,6 +83,8 @@ public class GameWebSocketServer extends WebSocketServer {
 
     @Override
     public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        lobbySubscribers.remove(conn);
+        spectators.leave(conn);
         final var username = connectionToUsername.remove(conn);
         if (username != null) {
             logger.info("WebSocket connection closed for user: {}", username);
@@ -48,9 +94,14 @@ public class GameWebSocketServer extends WebSocketServer {
 
     @Override
     public void onMessage(WebSocket conn, String message) {
+        final long start = System.nanoTime();
+        String type = null;
         try {
             final var msg = objectMapper.readValue(message, Map.class);
-            final var type = (String) msg.get("type");
+            type = (String) msg.get("type");
+            tracer.begin(type != null ? type : "unknown", start);
+            tracer.mark(Stage.PARSE);
+            tracer.annotate(connectionToUsername.get(conn), null);
 
             switch (type) {
                 case "auth" -> handleAuth(conn, msg);
@@ -58,13 +109,25 @@ public class GameWebSocketServer extends WebSocketServer {
                 case "getState" -> handleGetState(conn);
                 case "placeBid" -> handlePlaceBid(conn, msg);
                 case "exchangeWidow" -> handleExchangeWidow(conn, msg);
+                case "whist" -> handleWhist(conn, msg);
                 case "playCard" -> handlePlayCard(conn, msg);
                 case "startNextRound" -> handleStartNextRound(conn);
+                case "addBot" -> handleAddBot(conn);
+                case "subscribeLobby" -> handleSubscribeLobby(conn);
+                case "unsubscribeLobby" -> lobbySubscribers.remove(conn);
+                case "spectate" -> handleSpectate(conn, msg);
+                case "stopSpectating" -> spectators.leave(conn);
                 default -> sendError(conn, "Unknown message type: " + type);
             }
         } catch (Exception e) {
             logger.error("Error handling message", e);
             sendError(conn, "Error: " + e.getMessage());
+        } finally {
+            tracer.finish();
+            // Неизвестные типы сводим в одну метку, чтобы клиент не мог плодить серии
+            final var label = type != null && KNOWN_TYPES.contains(type) ? type : "unknown";
+            metrics.histogram("ws_message_seconds", "WebSocket message handling latency by type", "type", label)
+                    .recordSince(start);
         }
     }
 
@@ -73,6 +136,12 @@ public class GameWebSocketServer extends WebSocketServer {
         logger.error("WebSocket error", ex);
     }
 
+    @Override
+    public void stop(int timeout, String closeMessage) throws InterruptedException {
+        spectators.shutdown();
+        super.stop(timeout, closeMessage);
+    }
+
     @Override
     public void onStart() {
         logger.info("WebSocket server started on port {}", getPort());
@@ -107,6 +176,16 @@ public class GameWebSocketServer extends WebSocketServer {
 
         try {
             final var gameId = (String) msg.get("gameId");
+            final var owner = clusterRouter.ownerOfGame(gameId);
+            if (clusterRouter.isEnabled() && !clusterRouter.isLocal(owner)) {
+                // Партия живёт на другом узле: клиент переподключается туда и повторяет auth и join
+                sendMessage(conn, Map.of(
+                    "type", "redirect",
+                    "gameId", gameId,
+                    "url", clusterRouter.webSocketUrl(owner)
+                ));
+                return;
+            }
             gameService.joinGame(gameId, username);
             usernameToGameId.put(username, gameId);
 
@@ -117,6 +196,39 @@ public class GameWebSocketServer extends WebSocketServer {
         }
     }
 
+    private void handleSubscribeLobby(WebSocket conn) {
+        if (!connectionToUsername.containsKey(conn)) {
+            sendError(conn, "Not authenticated");
+            return;
+        }
+        lobbySubscribers.add(conn);
+        sendMessage(conn, Map.of("type", "lobbySubscribed"));
+    }
+
+    private void handleSpectate(WebSocket conn, Map<String, Object> msg) {
+        if (!connectionToUsername.containsKey(conn)) {
+            sendError(conn, "Not authenticated");
+            return;
+        }
+
+        try {
+            final var gameId = (String) msg.get("gameId");
+            final var owner = clusterRouter.ownerOfGame(gameId);
+            if (clusterRouter.isEnabled() && !clusterRouter.isLocal(owner)) {
+                sendMessage(conn, Map.of(
+                    "type", "redirect",
+                    "gameId", gameId,
+                    "url", clusterRouter.webSocketUrl(owner)
+                ));
+                return;
+            }
+            // Первый кадр уходит сразу, дальше — на каждую новую версию партии
+            spectators.watch(conn, gameId);
+        } catch (Exception e) {
+            sendError(conn, "Failed to spectate game: " + e.getMessage());
+        }
+    }
+
     private void handleGetState(WebSocket conn) {
         final var username = connectionToUsername.get(conn);
         if (username == null) {
@@ -158,9 +270,6 @@ public class GameWebSocketServer extends WebSocketServer {
             final var contractStr = (String) msg.get("contract");
             final var contract = Contract.valueOf(contractStr);
             gameService.placeBid(gameId, username, contract);
-
-            // Broadcast updated state to all players
-            broadcastGameState(gameId);
         } catch (Exception e) {
             sendError(conn, "Failed to place bid: " + e.getMessage());
         }
@@ -190,14 +299,32 @@ public class GameWebSocketServer extends WebSocketServer {
                 .toList();
 
             gameService.exchangeWidow(gameId, username, cards);
-
-            // Broadcast updated state to all players
-            broadcastGameState(gameId);
         } catch (Exception e) {
             sendError(conn, "Failed to exchange widow: " + e.getMessage());
         }
     }
 
+    private void handleWhist(WebSocket conn, Map<String, Object> msg) {
+        final var username = connectionToUsername.get(conn);
+        if (username == null) {
+            sendError(conn, "Not authenticated");
+            return;
+        }
+
+        final var gameId = usernameToGameId.get(username);
+        if (gameId == null) {
+            sendError(conn, "Not in a game");
+            return;
+        }
+
+        try {
+            final var whist = Whist.valueOf((String) msg.get("whist"));
+            gameService.whist(gameId, username, whist);
+        } catch (Exception e) {
+            sendError(conn, "Failed to whist: " + e.getMessage());
+        }
+    }
+
     private void handlePlayCard(WebSocket conn, Map<String, Object> msg) {
         final var username = connectionToUsername.get(conn);
         if (username == null) {
@@ -220,9 +347,6 @@ public class GameWebSocketServer extends WebSocketServer {
             );
 
             gameService.playCard(gameId, username, card);
-
-            // Broadcast updated state to all players
-            broadcastGameState(gameId);
         } catch (Exception e) {
             sendError(conn, "Failed to play card: " + e.getMessage());
         }
@@ -243,14 +367,31 @@ public class GameWebSocketServer extends WebSocketServer {
 
         try {
             gameService.startNextRound(gameId);
-
-            // Broadcast updated state to all players
-            broadcastGameState(gameId);
         } catch (Exception e) {
             sendError(conn, "Failed to start next round: " + e.getMessage());
         }
     }
 
+    private void handleAddBot(WebSocket conn) {
+        final var username = connectionToUsername.get(conn);
+        if (username == null) {
+            sendError(conn, "Not authenticated");
+            return;
+        }
+
+        final var gameId = usernameToGameId.get(username);
+        if (gameId == null) {
+            sendError(conn, "Not in a game");
+            return;
+        }
+
+        try {
+            botService.addBot(gameId);
+        } catch (Exception e) {
+            sendError(conn, "Failed to add bot: " + e.getMessage());
+        }
+    }
+
     private void broadcastGameState(String gameId) {
         // Get all players in this game
         final var game = gameService.getGame(gameId);
@@ -258,6 +399,9 @@ public class GameWebSocketServer extends WebSocketServer {
             return;
         }
 
+        final long start = System.nanoTime();
+        tracer.annotate(null, gameId);
+
         // Send updated state to each player
         for (final var player : game.getPlayers()) {
             final var username = player.getUsername();
@@ -267,6 +411,7 @@ public class GameWebSocketServer extends WebSocketServer {
                 if (entry.getValue().equals(username)) {
                     try {
                         final var playerView = gameService.getPlayerView(gameId, username);
+                        tracer.mark(Stage.VIEW);
                         sendMessage(entry.getKey(), Map.of(
                             "type", "gameState",
                             "state", playerView
@@ -278,12 +423,16 @@ public class GameWebSocketServer extends WebSocketServer {
                 }
             }
         }
+        broadcastLatency.recordSince(start);
     }
 
     private void sendMessage(WebSocket conn, Object message) {
         try {
             final var json = objectMapper.writeValueAsString(message);
+            tracer.mark(Stage.SERIALIZE);
             conn.send(json);
+            framesSent.increment();
+            tracer.mark(Stage.SEND);
         } catch (IOException e) {
             logger.error("Failed to send message", e);
         }
@@ -0,0 +1,155 @@
+package com.prefhub.server.websocket;
+
+import com.prefhub.server.game.SpectatorViews;
+import com.prefhub.server.metrics.Counter;
+import com.prefhub.server.metrics.MetricsRegistry;
+import org.java_websocket.WebSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Рассылка состояния партий зрителям.
+ * <p>
+ * На каждую версию партии берётся один кадр из {@link SpectatorViews} и кодируется один раз на всех готовых
+ * зрителей. Зритель, у которого ещё не ушёл предыдущий кадр, промежуточные версии пропускает: он помечается
+ * отстающим и получает последнюю версию, когда его буфер опустеет.
+ */
+class SpectatorChannel {
+    private static final Logger logger = LoggerFactory.getLogger(SpectatorChannel.class);
+
+    private final SpectatorViews views;
+    private final BiConsumer<String, Collection<WebSocket>> broadcast;
+    private final Map<String, Set<WebSocket>> spectatorsByGame = new ConcurrentHashMap<>();
+    private final Map<WebSocket, String> gameBySpectator = new ConcurrentHashMap<>();
+    // Последняя отправленная зрителю версия
+    private final Map<WebSocket, Long> sentVersions = new ConcurrentHashMap<>();
+    private final Set<WebSocket> lagging = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService catchUp = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "spectator-catch-up");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter framesSent;
+    private final Counter framesDropped;
+
+    /**
+     * @param broadcast рассылка одного текста набору соединений с однократным кодированием кадра
+     */
+    SpectatorChannel(final SpectatorViews views, final BiConsumer<String, Collection<WebSocket>> broadcast,
+                     final MetricsRegistry metrics, final Duration catchUpInterval) {
+        this.views = views;
+        this.broadcast = broadcast;
+        this.framesSent = metrics.counter("spectator_frames_total", "Spectator frames by outcome", "outcome", "sent");
+        this.framesDropped = metrics.counter("spectator_frames_total", "Spectator frames by outcome", "outcome", "dropped");
+        metrics.gauge("spectators", "Connections watching a game", gameBySpectator::size);
+        views.addListener(this::publish);
+        catchUp.scheduleWithFixedDelay(this::catchUp, catchUpInterval.toMillis(), catchUpInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Начать показ партии соединению (прежняя партия этого соединения перестаёт показываться)
+     *
+     * @throws IllegalArgumentException если партии нет
+     */
+    void watch(final WebSocket conn, final String gameId) {
+        final var frame = views.current(gameId);
+        leave(conn);
+        gameBySpectator.put(conn, gameId);
+        spectatorsByGame.computeIfAbsent(gameId, id -> ConcurrentHashMap.newKeySet()).add(conn);
+        conn.send(frame.json());
+        sentVersions.put(conn, frame.version());
+        framesSent.increment();
+    }
+
+    void leave(final WebSocket conn) {
+        final var gameId = gameBySpectator.remove(conn);
+        sentVersions.remove(conn);
+        lagging.remove(conn);
+        if (gameId != null) {
+            spectatorsByGame.computeIfPresent(gameId, (id, spectators) -> {
+                spectators.remove(conn);
+                return spectators.isEmpty() ? null : spectators;
+            });
+        }
+    }
+
+    void shutdown() {
+        catchUp.shutdownNow();
+    }
+
+    private void publish(final String gameId) {
+        final var spectators = spectatorsByGame.get(gameId);
+        if (spectators == null || spectators.isEmpty()) {
+            return;
+        }
+        final SpectatorViews.Frame frame;
+        try {
+            frame = views.current(gameId);
+        } catch (IllegalArgumentException e) {
+            return; // Партию уже убрали
+        }
+        final var ready = new ArrayList<WebSocket>(spectators.size());
+        for (final var conn : spectators) {
+            if (!conn.isOpen()) {
+                continue;
+            }
+            if (conn.hasBufferedData()) {
+                lagging.add(conn);
+                framesDropped.increment();
+            } else {
+                ready.add(conn);
+            }
+        }
+        send(frame, ready);
+    }
+
+    /**
+     * Дослать последнюю версию отстающим, чей буфер уже опустел
+     */
+    private void catchUp() {
+        try {
+            for (final var conn : lagging) {
+                final var gameId = gameBySpectator.get(conn);
+                if (gameId == null || !conn.isOpen()) {
+                    lagging.remove(conn);
+                    continue;
+                }
+                if (conn.hasBufferedData()) {
+                    continue;
+                }
+                lagging.remove(conn);
+                final var frame = views.current(gameId);
+                final var sent = sentVersions.get(conn);
+                if (sent == null || sent < frame.version()) {
+                    send(frame, List.of(conn));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Spectator catch-up failed", e);
+        }
+    }
+
+    private void send(final SpectatorViews.Frame frame, final Collection<WebSocket> connections) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        broadcast.accept(frame.json(), connections);
+        for (final var conn : connections) {
+            sentVersions.put(conn, frame.version());
+        }
+        framesSent.add(connections.size());
+    }
+}
@@ -212,11 +212,11 @@ class PrefHubClient {
 
     async listGames() {
         try {
-            const data = await this.apiCall('/api/games/list', 'GET');
+            const data = await this.apiCall('/api/games/list?open=true', 'GET');
             this.log('Список игр получен', 'success');
 
-            if (Array.isArray(data) && data.length > 0) {
-                const gamesList = data.map(g => `- ${g.gameId} (${g.players?.length || 0} игроков)`).join('\n');
+            if (data.games && data.games.length > 0) {
+                const gamesList = data.games.map(g => `- ${g.gameId} (${g.seatsTaken}/3 игроков, ${g.ruleId})`).join('\n');
                 this.log(`Доступные игры:\n${gamesList}`, 'info');
             } else {
                 this.log('Нет доступных игр', 'info');
@@ -245,9 +245,14 @@ class PrefHubClient {
     async displayGameState(state) {
         $('#game-state').show();
 
-        // Store rules
-        if (state.rules) {
-            this.currentRules = state.rules;
+        // Rules are referenced by id and version: fetch them once per version
+        if (state.ruleId && (!this.currentRules || this.currentRules.hash !== state.rulesHash)) {
+            try {
+                this.currentRules = await this.apiCall(
+                    `/api/rules/${encodeURIComponent(state.ruleId)}?hash=${encodeURIComponent(state.rulesHash)}`);
+            } catch (error) {
+                this.log(`Ошибка получения правил: ${error.message}`, 'error');
+            }
         }
 
         let html = '';
@@ -372,8 +377,12 @@ class PrefHubClient {
         } else if (state.phase === 'WIDOW_EXCHANGE') {
             this.renderWidowExchange(state.hand || [], state.widow || []);
             $('#widow-exchange-controls').show();
+        } else if (state.phase === 'WHISTING') {
+            await this.renderWhistControls();
+            $('#bid-controls').show();
         } else if (state.phase === 'PLAYING') {
-            this.renderHandCards(state.hand || []);
+            // При висте в открытую ходим картами пасующего
+            this.renderHandCards(state.playingFor ? state.openHands[state.playingFor] : (state.hand || []));
             $('#play-controls').show();
         } else if (state.phase === 'ROUND_ENDED') {
             $('#next-round-controls').show();
@@ -407,6 +416,24 @@ class PrefHubClient {
         }
     }
 
+    async renderWhistControls() {
+        try {
+            const availableWhists = await this.apiCall(`/api/games/available-whists?gameId=${this.currentGameId}`, 'GET');
+            const labels = { WHIST: 'ВИСТ', PASS: 'ПАС', HALF_WHIST: 'ПОЛВИСТА' };
+            const container = $('#bid-buttons');
+            container.empty();
+            (availableWhists || []).forEach(whist => {
+                const button = $('<button>')
+                    .addClass(whist === 'PASS' ? 'bid-button pass-button' : 'bid-button')
+                    .text(labels[whist] || whist)
+                    .click(() => this.whist(whist));
+                container.append(button);
+            });
+        } catch (error) {
+            this.log(`Ошибка загрузки вистов: ${error.message}`, 'error');
+        }
+    }
+
     renderWidowExchange(hand, widow) {
         const container = $('#widow-exchange');
         container.empty();
@@ -504,6 +531,19 @@ class PrefHubClient {
         }
     }
 
+    async whist(whist) {
+        try {
+            await this.apiCall('/api/games/whist', 'POST', {
+                gameId: this.currentGameId,
+                whist: whist
+            });
+            this.log(`Решение о висте: ${whist}`, 'success');
+            await this.getGameState();
+        } catch (error) {
+            this.log(`Ошибка виста: ${error.message}`, 'error');
+        }
+    }
+
     async exchangeWidow(cards) {
         try {
             await this.apiCall('/api/games/exchange', 'POST', {